@@ -0,0 +1,145 @@
+package com.document.parsing.benchmarks;
+
+import com.document.parsing.core.model.Document;
+import com.document.parsing.core.model.DocumentType;
+import com.document.parsing.core.parser.ParseOptions;
+import com.document.parsing.core.parser.ParseRequest;
+import com.document.parsing.pdf.PdfDocumentParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Dense statement pages: columns are positioned with right-aligned numbers and single-space text runs,
+// as produced by typical reporting tools.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PdfTableDetectionBenchmark {
+
+    @Param({"50", "200"})
+    private int pages;
+
+    private byte[] pdf;
+    private PdfDocumentParser parser;
+    private ParseOptions options;
+
+    @Setup
+    public void setUp() throws IOException {
+        pdf = createStatementPdf(pages);
+        parser = new PdfDocumentParser();
+        options = ParseOptions.builder().enableOcr(false).build();
+    }
+
+    // Previous approach: strip text, then split lines and run per-line regexes.
+    @Benchmark
+    public List<List<List<String>>> legacyRegexHeuristic() throws IOException {
+        try (PDDocument document = PDDocument.load(pdf)) {
+            String text = new PDFTextStripper().getText(document);
+            List<List<List<String>>> tables = new ArrayList<>();
+            List<List<String>> current = new ArrayList<>();
+            for (String line : text.split("\\R")) {
+                List<String> row = legacyRow(line);
+                if (row != null) {
+                    current.add(row);
+                } else {
+                    if (current.size() >= 2) {
+                        tables.add(new ArrayList<>(current));
+                    }
+                    current.clear();
+                }
+            }
+            if (current.size() >= 2) {
+                tables.add(current);
+            }
+            return tables;
+        }
+    }
+
+    // Coordinate-based detection runs inside the parser's single text pass.
+    @Benchmark
+    public Document coordinateDetection() {
+        return parser.parse(ParseRequest.builder()
+            .stream(new ByteArrayInputStream(pdf))
+            .fileName("statement.pdf")
+            .hintedType(DocumentType.PDF)
+            .options(options)
+            .build()).getDocument();
+    }
+
+    private static List<String> legacyRow(String line) {
+        String normalized = line.trim();
+        if (normalized.isBlank()) {
+            return null;
+        }
+        String[] rawCells;
+        if (normalized.contains("|") && normalized.chars().filter(ch -> ch == '|').count() >= 2) {
+            rawCells = normalized.split("\\|");
+        } else if (normalized.contains("\t")) {
+            rawCells = normalized.split("\\t");
+        } else if (normalized.matches(".*\\S\\s{2,}\\S.*")) {
+            rawCells = normalized.split("\\s{2,}");
+        } else {
+            return null;
+        }
+        List<String> cells = Arrays.stream(rawCells).map(String::trim).filter(cell -> !cell.isBlank()).toList();
+        if (cells.size() < 2 || cells.stream().allMatch(cell -> cell.matches("[-:]+"))) {
+            return null;
+        }
+        return cells;
+    }
+
+    private static byte[] createStatementPdf(int pages) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int i = 1; i <= pages; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream stream = new PDPageContentStream(document, page)) {
+                    stream.setFont(PDType1Font.HELVETICA, 9);
+                    float y = 740;
+                    for (int line = 0; line < 60; line++) {
+                        show(stream, "Line item " + line + " of schedule " + i, 40, y);
+                        for (int column = 0; column < 4; column++) {
+                            String amount = String.format("%,d", (line + 1) * (column + 7) * 131 + i);
+                            float right = 300 + column * 75;
+                            show(stream, amount, right - PDType1Font.HELVETICA.getStringWidth(amount) / 1000 * 9, y);
+                        }
+                        y -= 11;
+                    }
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static void show(PDPageContentStream stream, String text, float x, float y) throws IOException {
+        stream.beginText();
+        stream.newLineAtOffset(x, y);
+        stream.showText(text);
+        stream.endText();
+    }
+}
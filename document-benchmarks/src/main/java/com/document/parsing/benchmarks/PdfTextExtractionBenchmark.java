@@ -0,0 +1,150 @@
+package com.document.parsing.benchmarks;
+
+import com.document.parsing.core.model.Document;
+import com.document.parsing.core.model.DocumentType;
+import com.document.parsing.core.parser.ParseOptions;
+import com.document.parsing.core.parser.ParseRequest;
+import com.document.parsing.pdf.PdfDocumentParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PdfTextExtractionBenchmark {
+
+    @Param({"100", "1000"})
+    private int pages;
+
+    private byte[] pdf;
+    private PdfDocumentParser parser;
+    private ParseOptions options;
+    private ParseOptions parallelOptions;
+    private ParseOptions textOnlyOptions;
+    private ForkJoinPool workers;
+
+    @Setup
+    public void setUp() throws IOException {
+        pdf = createPdf(pages);
+        parser = new PdfDocumentParser();
+        options = ParseOptions.builder().enableOcr(false).build();
+        parallelOptions = ParseOptions.builder().enableOcr(false).parallelPagesEnabled(true).build();
+        textOnlyOptions = ParseOptions.builder().textOnly(true).build();
+        workers = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        workers.shutdown();
+    }
+
+    // Previous approach: one getText() call per page, each re-walking the document.
+    @Benchmark
+    public List<String> perPageGetText() throws IOException {
+        try (PDDocument document = PDDocument.load(pdf)) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            List<String> texts = new ArrayList<>(pages);
+            for (int page = 1; page <= document.getNumberOfPages(); page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                texts.add(stripper.getText(document).trim());
+            }
+            return texts;
+        }
+    }
+
+    // Lower bound for text extraction: a single traversal of all pages.
+    @Benchmark
+    public String singlePassGetText() throws IOException {
+        try (PDDocument document = PDDocument.load(pdf)) {
+            return new PDFTextStripper().getText(document);
+        }
+    }
+
+    @Benchmark
+    public Document parse() {
+        return parser.parse(request()).getDocument();
+    }
+
+    @Benchmark
+    public Document parseParallel() {
+        return parser.parse(ParseRequest.builder()
+            .stream(new ByteArrayInputStream(pdf))
+            .fileName("benchmark.pdf")
+            .hintedType(DocumentType.PDF)
+            .options(parallelOptions)
+            .workerExecutor(workers)
+            .build()).getDocument();
+    }
+
+    @Benchmark
+    public Document parseTextOnly() {
+        return parser.parse(ParseRequest.builder()
+            .stream(new ByteArrayInputStream(pdf))
+            .fileName("benchmark.pdf")
+            .hintedType(DocumentType.PDF)
+            .options(textOnlyOptions)
+            .build()).getDocument();
+    }
+
+    @Benchmark
+    public long parseStream() {
+        return parser.parseStream(request()).orElseThrow().count();
+    }
+
+    private ParseRequest request() {
+        return ParseRequest.builder()
+            .stream(new ByteArrayInputStream(pdf))
+            .fileName("benchmark.pdf")
+            .hintedType(DocumentType.PDF)
+            .options(options)
+            .build();
+    }
+
+    private static byte[] createPdf(int pages) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int i = 1; i <= pages; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream stream = new PDPageContentStream(document, page)) {
+                    stream.beginText();
+                    stream.setFont(PDType1Font.HELVETICA, 11);
+                    stream.newLineAtOffset(50, 720);
+                    for (int line = 0; line < 40; line++) {
+                        stream.showText("Page " + i + " line " + line + " lorem ipsum dolor sit amet consectetur");
+                        stream.newLineAtOffset(0, -16);
+                    }
+                    stream.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+}
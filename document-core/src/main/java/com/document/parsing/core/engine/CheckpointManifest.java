@@ -0,0 +1,144 @@
+package com.document.parsing.core.engine;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+final class CheckpointManifest implements Closeable {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final BufferedWriter writer;
+    // Completed paths are held as 64-bit hashes rather than Strings to keep millions of entries compact.
+    private long[] table = new long[1024];
+    private int size;
+
+    private CheckpointManifest(BufferedWriter writer) {
+        this.writer = writer;
+    }
+
+    static CheckpointManifest open(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        if (Files.exists(file)) {
+            dropIncompleteTail(file);
+        }
+        BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        CheckpointManifest manifest = new CheckpointManifest(writer);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    manifest.add(hash(line));
+                }
+            }
+        } catch (IOException e) {
+            writer.close();
+            throw e;
+        }
+        return manifest;
+    }
+
+    synchronized boolean contains(String entry) {
+        long key = hash(entry);
+        int mask = table.length - 1;
+        for (int i = mix(key) & mask; table[i] != 0; i = (i + 1) & mask) {
+            if (table[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    synchronized void record(String entry) throws IOException {
+        if (add(hash(entry))) {
+            writer.write(entry);
+            writer.write('\n');
+            writer.flush();
+        }
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    private boolean add(long key) {
+        if ((size + 1) * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        int mask = table.length - 1;
+        int i = mix(key) & mask;
+        while (table[i] != 0) {
+            if (table[i] == key) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        table[i] = key;
+        size++;
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = table;
+        table = new long[capacity];
+        int mask = capacity - 1;
+        for (long key : old) {
+            if (key != 0) {
+                int i = mix(key) & mask;
+                while (table[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = key;
+            }
+        }
+    }
+
+    private static long hash(String entry) {
+        long hash = FNV_OFFSET;
+        for (byte b : entry.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        // Zero marks an empty slot in the table.
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static int mix(long key) {
+        return (int) (key ^ (key >>> 32));
+    }
+
+    private static void dropIncompleteTail(Path file) throws IOException {
+        // A crash mid-append can leave a partial last line; truncate back to the last complete entry.
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long position = channel.size();
+            ByteBuffer single = ByteBuffer.allocate(1);
+            while (position > 0) {
+                single.clear();
+                channel.read(single, position - 1);
+                if (single.get(0) == '\n') {
+                    break;
+                }
+                position--;
+            }
+            if (position < channel.size()) {
+                channel.truncate(position);
+            }
+        }
+    }
+}
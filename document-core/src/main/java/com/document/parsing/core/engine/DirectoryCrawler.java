@@ -0,0 +1,203 @@
+package com.document.parsing.core.engine;
+
+import com.document.parsing.core.exception.ParseException;
+import com.document.parsing.core.model.Document;
+import com.document.parsing.core.parser.ParseOptions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+
+final class DirectoryCrawler {
+    private final BiFunction<File, ParseOptions, Document> parseFunction;
+    private final Executor executor;
+
+    DirectoryCrawler(BiFunction<File, ParseOptions, Document> parseFunction, Executor executor) {
+        this.parseFunction = parseFunction;
+        this.executor = executor;
+    }
+
+    DirectoryParseSummary crawl(Path root,
+                                DirectoryParseOptions options,
+                                ParseOptions parseOptions,
+                                FileParseListener listener) {
+        if (!Files.isDirectory(root)) {
+            throw new ParseException("Not a directory: " + root.toAbsolutePath());
+        }
+        try (CheckpointManifest manifest = options.getCheckpointFile() == null
+            ? null
+            : CheckpointManifest.open(options.getCheckpointFile())) {
+            Run run = new Run(root, options, parseOptions, listener, manifest);
+            run.walk();
+            RuntimeException listenerError = run.listenerError.get();
+            if (listenerError != null) {
+                throw new ParseException("File listener failed while crawling directory: " + root.toAbsolutePath(),
+                    listenerError);
+            }
+            IOException checkpointError = run.checkpointError.get();
+            if (checkpointError != null) {
+                throw new ParseException("Failed to write checkpoint: " + options.getCheckpointFile().toAbsolutePath(),
+                    checkpointError);
+            }
+            return run.summary();
+        } catch (IOException e) {
+            throw new ParseException("Failed to crawl directory: " + root.toAbsolutePath(), e);
+        }
+    }
+
+    private final class Run extends SimpleFileVisitor<Path> {
+        private final Path root;
+        private final ParseOptions parseOptions;
+        private final FileParseListener listener;
+        private final CheckpointManifest manifest;
+        private final PathFilter filter;
+        private final boolean followLinks;
+        private final int maxInFlight;
+        private final Semaphore inFlight;
+        private final AtomicLong matched = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicLong succeeded = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicReference<IOException> checkpointError = new AtomicReference<>();
+        private final AtomicReference<RuntimeException> listenerError = new AtomicReference<>();
+
+        private Run(Path root,
+                    DirectoryParseOptions options,
+                    ParseOptions parseOptions,
+                    FileParseListener listener,
+                    CheckpointManifest manifest) {
+            this.root = root;
+            this.parseOptions = parseOptions;
+            this.listener = listener;
+            this.manifest = manifest;
+            this.filter = new PathFilter(root, options.getIncludeGlobs(), options.getExcludeGlobs());
+            this.followLinks = options.isFollowLinks();
+            this.maxInFlight = options.getMaxInFlight();
+            this.inFlight = new Semaphore(maxInFlight);
+        }
+
+        private void walk() throws IOException {
+            Set<FileVisitOption> visitOptions = followLinks
+                ? EnumSet.of(FileVisitOption.FOLLOW_LINKS)
+                : EnumSet.noneOf(FileVisitOption.class);
+            try {
+                Files.walkFileTree(root, visitOptions, Integer.MAX_VALUE, this);
+            } finally {
+                awaitInFlight();
+            }
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            if (!filter.acceptsDirectory(dir)) {
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            if (!attrs.isRegularFile()) {
+                return FileVisitResult.CONTINUE;
+            }
+            if (!filter.acceptsFile(file)) {
+                return FileVisitResult.CONTINUE;
+            }
+            // A checkpoint that cannot be written would make a rerun parse everything again; stop early instead.
+            if (checkpointError.get() != null || listenerError.get() != null) {
+                return FileVisitResult.TERMINATE;
+            }
+            matched.incrementAndGet();
+
+            String entry = filter.relativeName(file);
+            if (manifest != null && manifest.contains(entry)) {
+                skipped.incrementAndGet();
+                listener.onSkipped(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ParseException("Interrupted while crawling directory: " + root.toAbsolutePath(), e);
+            }
+            try {
+                CompletableFuture.runAsync(() -> parseOne(file, entry), executor)
+                    .whenComplete((ignored, error) -> inFlight.release());
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException exc) {
+            matched.incrementAndGet();
+            failed.incrementAndGet();
+            listener.onFailure(file, exc);
+            return FileVisitResult.CONTINUE;
+        }
+
+        // Each file gets exactly one of onDocument or onFailure. The checkpoint is written only after delivery,
+        // and a failed write fails the crawl rather than the file.
+        private void parseOne(Path file, String entry) {
+            Document document;
+            try {
+                document = parseFunction.apply(file.toFile(), parseOptions);
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                deliver(() -> listener.onFailure(file, e));
+                return;
+            }
+            succeeded.incrementAndGet();
+            if (!deliver(() -> listener.onDocument(file, document)) || manifest == null) {
+                return;
+            }
+            try {
+                manifest.record(entry);
+            } catch (IOException e) {
+                if (!checkpointError.compareAndSet(null, e)) {
+                    checkpointError.get().addSuppressed(e);
+                }
+            }
+        }
+
+        // Likewise a listener that throws fails the crawl rather than the file: its error is not passed back to
+        // onFailure, and the file stays out of the checkpoint so a rerun delivers it again.
+        private boolean deliver(Runnable callback) {
+            try {
+                callback.run();
+                return true;
+            } catch (RuntimeException e) {
+                if (!listenerError.compareAndSet(null, e)) {
+                    listenerError.get().addSuppressed(e);
+                }
+                return false;
+            }
+        }
+
+        private void awaitInFlight() {
+            inFlight.acquireUninterruptibly(maxInFlight);
+            inFlight.release(maxInFlight);
+        }
+
+        private DirectoryParseSummary summary() {
+            return new DirectoryParseSummary(matched.get(), skipped.get(), succeeded.get(), failed.get());
+        }
+    }
+}
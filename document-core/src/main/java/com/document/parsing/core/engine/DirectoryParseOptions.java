@@ -0,0 +1,103 @@
+package com.document.parsing.core.engine;
+
+import com.document.parsing.core.parser.ParseOptions;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DirectoryParseOptions {
+    private final List<String> includeGlobs;
+    private final List<String> excludeGlobs;
+    private final int maxInFlight;
+    private final Path checkpointFile;
+    private final boolean followLinks;
+    private final ParseOptions parseOptions;
+
+    private DirectoryParseOptions(Builder builder) {
+        this.includeGlobs = List.copyOf(builder.includeGlobs);
+        this.excludeGlobs = List.copyOf(builder.excludeGlobs);
+        this.maxInFlight = builder.maxInFlight;
+        this.checkpointFile = builder.checkpointFile;
+        this.followLinks = builder.followLinks;
+        this.parseOptions = builder.parseOptions;
+    }
+
+    public static DirectoryParseOptions defaultOptions() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public List<String> getIncludeGlobs() {
+        return includeGlobs;
+    }
+
+    public List<String> getExcludeGlobs() {
+        return excludeGlobs;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public Path getCheckpointFile() {
+        return checkpointFile;
+    }
+
+    public boolean isFollowLinks() {
+        return followLinks;
+    }
+
+    public ParseOptions getParseOptions() {
+        return parseOptions;
+    }
+
+    public static final class Builder {
+        private final List<String> includeGlobs = new ArrayList<>();
+        private final List<String> excludeGlobs = new ArrayList<>();
+        private int maxInFlight = Runtime.getRuntime().availableProcessors() * 2;
+        private Path checkpointFile;
+        private boolean followLinks;
+        private ParseOptions parseOptions;
+
+        public Builder include(String glob) {
+            this.includeGlobs.add(glob);
+            return this;
+        }
+
+        public Builder exclude(String glob) {
+            this.excludeGlobs.add(glob);
+            return this;
+        }
+
+        public Builder maxInFlight(int maxInFlight) {
+            if (maxInFlight <= 0) {
+                throw new IllegalArgumentException("maxInFlight must be positive");
+            }
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        public Builder checkpointFile(Path checkpointFile) {
+            this.checkpointFile = checkpointFile;
+            return this;
+        }
+
+        public Builder followLinks(boolean followLinks) {
+            this.followLinks = followLinks;
+            return this;
+        }
+
+        public Builder parseOptions(ParseOptions parseOptions) {
+            this.parseOptions = parseOptions;
+            return this;
+        }
+
+        public DirectoryParseOptions build() {
+            return new DirectoryParseOptions(this);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.document.parsing.core.engine;
+
+public record DirectoryParseSummary(long matched, long skipped, long succeeded, long failed) {
+}
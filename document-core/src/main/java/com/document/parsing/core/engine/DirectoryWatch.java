@@ -0,0 +1,11 @@
+package com.document.parsing.core.engine;
+
+public interface DirectoryWatch extends AutoCloseable {
+
+    DirectoryWatchMetrics metrics();
+
+    boolean isRunning();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,16 @@
+package com.document.parsing.core.engine;
+
+public record DirectoryWatchMetrics(
+    long eventsReceived,
+    long eventsCoalesced,
+    long overflows,
+    long filesDispatched,
+    long filesParsed,
+    long filesFailed,
+    long filesDeferred,
+    long filesRejected,
+    int pending,
+    int inFlight,
+    long averageIntakeLatencyMillis
+) {
+}
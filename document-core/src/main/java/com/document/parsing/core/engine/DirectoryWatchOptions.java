@@ -0,0 +1,118 @@
+package com.document.parsing.core.engine;
+
+import com.document.parsing.core.parser.ParseOptions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DirectoryWatchOptions {
+    private final List<String> includeGlobs;
+    private final List<String> excludeGlobs;
+    private final Duration quietPeriod;
+    private final int maxBacklog;
+    private final boolean recursive;
+    private final boolean processExisting;
+    private final ParseOptions parseOptions;
+
+    private DirectoryWatchOptions(Builder builder) {
+        this.includeGlobs = List.copyOf(builder.includeGlobs);
+        this.excludeGlobs = List.copyOf(builder.excludeGlobs);
+        this.quietPeriod = builder.quietPeriod;
+        this.maxBacklog = builder.maxBacklog;
+        this.recursive = builder.recursive;
+        this.processExisting = builder.processExisting;
+        this.parseOptions = builder.parseOptions;
+    }
+
+    public static DirectoryWatchOptions defaultOptions() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public List<String> getIncludeGlobs() {
+        return includeGlobs;
+    }
+
+    public List<String> getExcludeGlobs() {
+        return excludeGlobs;
+    }
+
+    public Duration getQuietPeriod() {
+        return quietPeriod;
+    }
+
+    public int getMaxBacklog() {
+        return maxBacklog;
+    }
+
+    public boolean isRecursive() {
+        return recursive;
+    }
+
+    public boolean isProcessExisting() {
+        return processExisting;
+    }
+
+    public ParseOptions getParseOptions() {
+        return parseOptions;
+    }
+
+    public static final class Builder {
+        private final List<String> includeGlobs = new ArrayList<>();
+        private final List<String> excludeGlobs = new ArrayList<>();
+        private Duration quietPeriod = Duration.ofMillis(500);
+        private int maxBacklog = 10_000;
+        private boolean recursive = true;
+        private boolean processExisting;
+        private ParseOptions parseOptions;
+
+        public Builder include(String glob) {
+            this.includeGlobs.add(glob);
+            return this;
+        }
+
+        public Builder exclude(String glob) {
+            this.excludeGlobs.add(glob);
+            return this;
+        }
+
+        public Builder quietPeriod(Duration quietPeriod) {
+            if (quietPeriod == null || quietPeriod.isNegative()) {
+                throw new IllegalArgumentException("quietPeriod must not be negative");
+            }
+            this.quietPeriod = quietPeriod;
+            return this;
+        }
+
+        public Builder maxBacklog(int maxBacklog) {
+            if (maxBacklog <= 0) {
+                throw new IllegalArgumentException("maxBacklog must be positive");
+            }
+            this.maxBacklog = maxBacklog;
+            return this;
+        }
+
+        public Builder recursive(boolean recursive) {
+            this.recursive = recursive;
+            return this;
+        }
+
+        public Builder processExisting(boolean processExisting) {
+            this.processExisting = processExisting;
+            return this;
+        }
+
+        public Builder parseOptions(ParseOptions parseOptions) {
+            this.parseOptions = parseOptions;
+            return this;
+        }
+
+        public DirectoryWatchOptions build() {
+            return new DirectoryWatchOptions(this);
+        }
+    }
+}
@@ -0,0 +1,460 @@
+package com.document.parsing.core.engine;
+
+import com.document.parsing.core.exception.ParseException;
+import com.document.parsing.core.model.Document;
+import com.document.parsing.core.parser.ParseOptions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+final class DirectoryWatcher implements DirectoryWatch {
+    private static final long MIN_TICK_MILLIS = 20;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final DirectoryWatchOptions options;
+    private final ParseOptions parseOptions;
+    private final FileParseListener listener;
+    private final BiFunction<File, ParseOptions, Document> parseFunction;
+    private final Executor executor;
+    private final PathFilter filter;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+    // Only touched by the watch thread: events for the same path collapse into one entry until it settles.
+    private final Map<Path, PendingFile> pending = new HashMap<>();
+    // Files that arrived while the backlog was full, in arrival order; queued again as the backlog drains. Holds
+    // at most maxBacklog paths; past that only the directory is kept and read again, as after an OVERFLOW.
+    private final Set<Path> deferred = new LinkedHashSet<>();
+    private final Set<Path> overflowedDirectories = new LinkedHashSet<>();
+    // The overflowed directory being read back, one entry at a time as the backlog has room.
+    private Path rescanDirectory;
+    private DirectoryStream<Path> rescanStream;
+    private Iterator<Path> rescanEntries;
+    private final long quietNanos;
+    private final long tickMillis;
+    private final Thread thread;
+
+    private final AtomicLong eventsReceived = new AtomicLong();
+    private final AtomicLong eventsCoalesced = new AtomicLong();
+    private final AtomicLong overflows = new AtomicLong();
+    private final AtomicLong filesDispatched = new AtomicLong();
+    private final AtomicLong filesParsed = new AtomicLong();
+    private final AtomicLong filesFailed = new AtomicLong();
+    private final AtomicLong filesDeferred = new AtomicLong();
+    private final AtomicLong filesRejected = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile boolean running = true;
+
+    DirectoryWatcher(Path root,
+                     DirectoryWatchOptions options,
+                     ParseOptions parseOptions,
+                     FileParseListener listener,
+                     BiFunction<File, ParseOptions, Document> parseFunction,
+                     Executor executor) {
+        if (!Files.isDirectory(root)) {
+            throw new ParseException("Not a directory: " + root.toAbsolutePath());
+        }
+        this.options = options;
+        this.parseOptions = parseOptions;
+        this.listener = listener;
+        this.parseFunction = parseFunction;
+        this.executor = executor;
+        this.filter = new PathFilter(root, options.getIncludeGlobs(), options.getExcludeGlobs());
+        this.quietNanos = options.getQuietPeriod().toNanos();
+        this.tickMillis = Math.max(MIN_TICK_MILLIS, options.getQuietPeriod().toMillis() / 4);
+        try {
+            this.watchService = root.getFileSystem().newWatchService();
+            register(root, options.isProcessExisting());
+        } catch (IOException e) {
+            throw new ParseException("Failed to watch directory: " + root.toAbsolutePath(), e);
+        }
+        this.thread = new Thread(this::run, "document-engine-watch-" + THREAD_COUNTER.incrementAndGet());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public DirectoryWatchMetrics metrics() {
+        long parsed = filesParsed.get();
+        long failed = filesFailed.get();
+        long completed = parsed + failed;
+        return new DirectoryWatchMetrics(
+            eventsReceived.get(),
+            eventsCoalesced.get(),
+            overflows.get(),
+            filesDispatched.get(),
+            parsed,
+            failed,
+            filesDeferred.get(),
+            filesRejected.get(),
+            pendingCount.get(),
+            inFlight.get(),
+            completed == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatencyNanos.get() / completed)
+        );
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+            // Closing the watch service only unblocks the watch thread.
+        }
+        if (Thread.currentThread() != thread) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                WatchKey key = watchService.poll(tickMillis, TimeUnit.MILLISECONDS);
+                while (key != null) {
+                    handle(key);
+                    key = watchService.poll();
+                }
+                promoteDeferred();
+                dispatchSettled();
+            }
+        } catch (ClosedWatchServiceException ignored) {
+            // close() was called.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running = false;
+            pending.clear();
+            deferred.clear();
+            overflowedDirectories.clear();
+            closeRescan();
+            pendingCount.set(0);
+        }
+    }
+
+    private void handle(WatchKey key) {
+        Path dir = watchedDirectories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            eventsReceived.incrementAndGet();
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Events were dropped by the OS; rescan just this directory once to pick them up.
+                overflows.incrementAndGet();
+                if (dir != null) {
+                    rescan(dir);
+                }
+                continue;
+            }
+            if (dir == null) {
+                continue;
+            }
+            Path path = dir.resolve((Path) event.context());
+            if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && options.isRecursive()) {
+                    try {
+                        // Files may land in a new directory before it is registered, so enqueue its contents too.
+                        register(path, true);
+                    } catch (IOException e) {
+                        listener.onFailure(path, e);
+                    }
+                }
+                continue;
+            }
+            enqueue(path);
+        }
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+        }
+    }
+
+    private void enqueue(Path path) {
+        if (!filter.acceptsFile(path)) {
+            return;
+        }
+        long now = System.nanoTime();
+        PendingFile existing = pending.get(path);
+        if (existing != null) {
+            existing.lastEventNanos = now;
+            eventsCoalesced.incrementAndGet();
+            return;
+        }
+        if (!hasRoom()) {
+            if (deferred.contains(path)) {
+                eventsCoalesced.incrementAndGet();
+            } else {
+                filesDeferred.incrementAndGet();
+                if (deferred.size() < options.getMaxBacklog()) {
+                    deferred.add(path);
+                } else if (overflowedDirectories.add(path.getParent())) {
+                    overflows.incrementAndGet();
+                }
+            }
+            updatePendingCount();
+            return;
+        }
+        PendingFile file = new PendingFile(now);
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            file.size = attrs.size();
+            file.modified = attrs.lastModifiedTime().toMillis();
+        } catch (IOException ignored) {
+            // Re-checked once the quiet period has elapsed.
+        }
+        pending.put(path, file);
+        updatePendingCount();
+    }
+
+    private void promoteDeferred() {
+        Iterator<Path> iterator = deferred.iterator();
+        while (iterator.hasNext() && hasRoom()) {
+            Path path = iterator.next();
+            iterator.remove();
+            enqueue(path);
+        }
+        // Overflowed directories are read back only once the deferred files are in, and never faster than the
+        // backlog drains, so reading them cannot defer anything again.
+        while (deferred.isEmpty() && hasRoom() && nextRescanEntry()) {
+            Path entry = rescanEntries.next();
+            if (Files.isRegularFile(entry)) {
+                enqueue(entry);
+            }
+        }
+        updatePendingCount();
+    }
+
+    private boolean nextRescanEntry() {
+        while (true) {
+            try {
+                if (rescanEntries != null && rescanEntries.hasNext()) {
+                    return true;
+                }
+            } catch (DirectoryIteratorException e) {
+                listener.onFailure(rescanDirectory, e.getCause());
+            }
+            closeRescan();
+            Iterator<Path> directories = overflowedDirectories.iterator();
+            if (!directories.hasNext()) {
+                return false;
+            }
+            Path dir = directories.next();
+            directories.remove();
+            try {
+                rescanStream = Files.newDirectoryStream(dir);
+                rescanEntries = rescanStream.iterator();
+                rescanDirectory = dir;
+            } catch (IOException e) {
+                listener.onFailure(dir, e);
+            }
+        }
+    }
+
+    private void closeRescan() {
+        if (rescanStream != null) {
+            try {
+                rescanStream.close();
+            } catch (IOException ignored) {
+                // Only the directory handle is released here.
+            }
+        }
+        rescanDirectory = null;
+        rescanStream = null;
+        rescanEntries = null;
+    }
+
+    private boolean hasRoom() {
+        return pending.size() + inFlight.get() < options.getMaxBacklog();
+    }
+
+    private void updatePendingCount() {
+        pendingCount.set(pending.size() + deferred.size());
+    }
+
+    private void dispatchSettled() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        Map.Entry<Path, PendingFile> held = null;
+        Iterator<Map.Entry<Path, PendingFile>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Path, PendingFile> entry = iterator.next();
+            Path path = entry.getKey();
+            PendingFile file = entry.getValue();
+            if (now - file.lastEventNanos < quietNanos) {
+                continue;
+            }
+            BasicFileAttributes attrs;
+            try {
+                attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (IOException e) {
+                // Deleted or renamed before it settled.
+                iterator.remove();
+                continue;
+            }
+            if (!attrs.isRegularFile()) {
+                iterator.remove();
+                continue;
+            }
+            long size = attrs.size();
+            long modified = attrs.lastModifiedTime().toMillis();
+            if (size != file.size || modified != file.modified) {
+                // Still being written even though no event arrived; wait another quiet period.
+                file.size = size;
+                file.modified = modified;
+                file.lastEventNanos = now;
+                continue;
+            }
+            iterator.remove();
+            if (!dispatch(path, file.firstEventNanos)) {
+                // The executor is saturated; keep the file settled and try again next tick.
+                held = entry;
+                break;
+            }
+        }
+        if (held != null) {
+            pending.put(held.getKey(), held.getValue());
+        }
+        updatePendingCount();
+    }
+
+    // The engine executor runs rejected tasks on the submitting thread, which would stall event handling here,
+    // so a task that finds itself on the watch thread backs out and the file is retried instead.
+    private boolean dispatch(Path path, long firstEventNanos) {
+        inFlight.incrementAndGet();
+        // Counted before submitting, since the listener may already have seen the document when runAsync returns.
+        filesDispatched.incrementAndGet();
+        boolean[] declined = new boolean[1];
+        try {
+            CompletableFuture.runAsync(() -> {
+                if (Thread.currentThread() == thread) {
+                    declined[0] = true;
+                    return;
+                }
+                parseOne(path, firstEventNanos);
+            }, executor).whenComplete((ignored, error) -> inFlight.decrementAndGet());
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            declined[0] = true;
+        }
+        if (declined[0]) {
+            filesDispatched.decrementAndGet();
+            filesRejected.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private void parseOne(Path path, long firstEventNanos) {
+        try {
+            Document document = parseFunction.apply(path.toFile(), parseOptions);
+            listener.onDocument(path, document);
+            filesParsed.incrementAndGet();
+        } catch (RuntimeException e) {
+            filesFailed.incrementAndGet();
+            listener.onFailure(path, e);
+        } finally {
+            totalLatencyNanos.addAndGet(System.nanoTime() - firstEventNanos);
+        }
+    }
+
+    private void register(Path start, boolean enqueueFiles) throws IOException {
+        if (!options.isRecursive()) {
+            registerDirectory(start);
+            if (enqueueFiles) {
+                rescan(start);
+            }
+            return;
+        }
+        Files.walkFileTree(start, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!filter.acceptsDirectory(dir)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                registerDirectory(dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (enqueueFiles && attrs.isRegularFile()) {
+                    enqueue(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void registerDirectory(Path dir) throws IOException {
+        WatchKey key = dir.register(watchService,
+            StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+        watchedDirectories.put(key, dir);
+    }
+
+    private void rescan(Path dir) {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (Path entry : entries) {
+                if (Files.isRegularFile(entry)) {
+                    enqueue(entry);
+                }
+            }
+        } catch (IOException e) {
+            listener.onFailure(dir, e);
+        }
+    }
+
+    private static final class PendingFile {
+        private final long firstEventNanos;
+        private long lastEventNanos;
+        private long size = -1;
+        private long modified = -1;
+
+        private PendingFile(long now) {
+            this.firstEventNanos = now;
+            this.lastEventNanos = now;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.document.parsing.core.format.FormatDetector;
 import com.document.parsing.core.model.Block;
 import com.document.parsing.core.model.Document;
 import com.document.parsing.core.model.DocumentType;
+import com.document.parsing.core.model.Metadata;
 import com.document.parsing.core.model.Page;
 import com.document.parsing.core.model.ParseWarning;
 import com.document.parsing.core.parser.DocumentParser;
@@ -23,16 +24,21 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.ServiceLoader;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 public class DocumentEngine implements AutoCloseable {
@@ -42,6 +48,11 @@ public class DocumentEngine implements AutoCloseable {
     private final ExecutorService executor;
     private final ParseOptions defaultOptions;
     private final boolean shutdownExecutor;
+    private final ForkJoinPool workerPool;
+    private final ExecutorService ocrPool;
+    private final EmbeddedDocumentDispatcher embeddedDispatcher;
+    private final DirectoryCrawler directoryCrawler;
+    private final List<DirectoryWatch> watches = new CopyOnWriteArrayList<>();
 
     private DocumentEngine(Builder builder) {
         this.parserRegistry = builder.buildRegistry();
@@ -50,6 +61,15 @@ public class DocumentEngine implements AutoCloseable {
         this.executor = builder.executorService == null ? builder.defaultExecutor() : builder.executorService;
         this.shutdownExecutor = builder.shutdownExecutor;
         this.defaultOptions = builder.defaultOptions;
+        this.workerPool = new ForkJoinPool(builder.workerParallelism);
+        AtomicInteger ocrThreads = new AtomicInteger();
+        this.ocrPool = Executors.newFixedThreadPool(builder.ocrParallelism, runnable -> {
+            Thread thread = new Thread(runnable, "document-ocr-" + ocrThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.embeddedDispatcher = new EmbeddedDocumentDispatcher(this::parseInternal, workerPool);
+        this.directoryCrawler = new DirectoryCrawler(this::parse, executor);
     }
 
     public static Builder builder() {
@@ -71,6 +91,10 @@ public class DocumentEngine implements AutoCloseable {
                 .size(file.length())
                 .hintedType(DocumentType.UNKNOWN)
                 .options(effectiveOptions)
+                .embeddedResolver(embeddedDispatcher)
+                .sourceFile(file.toPath())
+                .workerExecutor(workerPool)
+                .ocrExecutor(ocrPool)
                 .build();
             return parseInternal(request);
         } catch (IOException e) {
@@ -89,10 +113,51 @@ public class DocumentEngine implements AutoCloseable {
             .fileName(fileName)
             .hintedType(DocumentType.UNKNOWN)
             .options(effectiveOptions)
+            .embeddedResolver(embeddedDispatcher)
+            .workerExecutor(workerPool)
+            .ocrExecutor(ocrPool)
             .build();
         return parseInternal(request);
     }
 
+    public Metadata probe(File file) {
+        return probe(file, defaultOptions);
+    }
+
+    public Metadata probe(File file, ParseOptions options) {
+        Objects.requireNonNull(file, "file must not be null");
+        ParseOptions effectiveOptions = options == null ? defaultOptions : options;
+
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            ParseRequest request = ParseRequest.builder()
+                .stream(in)
+                .fileName(file.getName())
+                .size(file.length())
+                .hintedType(DocumentType.UNKNOWN)
+                .options(effectiveOptions)
+                .sourceFile(file.toPath())
+                .build();
+            return probeInternal(request);
+        } catch (IOException e) {
+            throw new ParseException("Failed to probe file: " + file.getAbsolutePath(), e);
+        }
+    }
+
+    public Metadata probe(InputStream inputStream, String fileName) {
+        return probe(inputStream, fileName, defaultOptions);
+    }
+
+    public Metadata probe(InputStream inputStream, String fileName, ParseOptions options) {
+        ParseOptions effectiveOptions = options == null ? defaultOptions : options;
+        ParseRequest request = ParseRequest.builder()
+            .stream(inputStream)
+            .fileName(fileName)
+            .hintedType(DocumentType.UNKNOWN)
+            .options(effectiveOptions)
+            .build();
+        return probeInternal(request);
+    }
+
     public List<Document> parseBatch(List<File> files) {
         return parseBatch(files, defaultOptions);
     }
@@ -135,6 +200,37 @@ public class DocumentEngine implements AutoCloseable {
             .toList());
     }
 
+    public DirectoryParseSummary parseDirectory(Path root, FileParseListener listener) {
+        return parseDirectory(root, DirectoryParseOptions.defaultOptions(), listener);
+    }
+
+    public DirectoryParseSummary parseDirectory(Path root, DirectoryParseOptions options, FileParseListener listener) {
+        Objects.requireNonNull(root, "root must not be null");
+        Objects.requireNonNull(listener, "listener must not be null");
+        DirectoryParseOptions effectiveOptions = options == null ? DirectoryParseOptions.defaultOptions() : options;
+        ParseOptions parseOptions = effectiveOptions.getParseOptions() == null
+            ? defaultOptions
+            : effectiveOptions.getParseOptions();
+        return directoryCrawler.crawl(root, effectiveOptions, parseOptions, listener);
+    }
+
+    public DirectoryWatch watchDirectory(Path root, FileParseListener listener) {
+        return watchDirectory(root, DirectoryWatchOptions.defaultOptions(), listener);
+    }
+
+    public DirectoryWatch watchDirectory(Path root, DirectoryWatchOptions options, FileParseListener listener) {
+        Objects.requireNonNull(root, "root must not be null");
+        Objects.requireNonNull(listener, "listener must not be null");
+        DirectoryWatchOptions effectiveOptions = options == null ? DirectoryWatchOptions.defaultOptions() : options;
+        ParseOptions parseOptions = effectiveOptions.getParseOptions() == null
+            ? defaultOptions
+            : effectiveOptions.getParseOptions();
+        DirectoryWatch watch = new DirectoryWatcher(root, effectiveOptions, parseOptions, listener, this::parse, executor);
+        watches.removeIf(existing -> !existing.isRunning());
+        watches.add(watch);
+        return watch;
+    }
+
     public Stream<BlockEvent> parseStream(InputStream inputStream, String fileName) {
         return parseStream(inputStream, fileName, defaultOptions);
     }
@@ -146,6 +242,9 @@ public class DocumentEngine implements AutoCloseable {
             .fileName(fileName)
             .hintedType(DocumentType.UNKNOWN)
             .options(effectiveOptions)
+            .embeddedResolver(embeddedDispatcher)
+            .workerExecutor(workerPool)
+            .ocrExecutor(ocrPool)
             .build();
 
         DocumentType type = formatDetector.detect(request);
@@ -190,6 +289,18 @@ public class DocumentEngine implements AutoCloseable {
         return document;
     }
 
+    // Parsers without a probe still answer, at the cost of a full parse without the processor pipeline.
+    private Metadata probeInternal(ParseRequest request) {
+        DocumentType type = formatDetector.detect(request);
+        DocumentParser parser = parserRegistry.findParser(type)
+            .orElseThrow(() -> new UnsupportedFormatException("No parser available for document type: " + type));
+
+        Metadata metadata = parser.probe(request)
+            .orElseGet(() -> parser.parse(request).getDocument().getMetadata());
+        metadata.setDocumentType(type);
+        return metadata;
+    }
+
     private Stream<BlockEvent> adaptDocumentToEvents(Document document) {
         List<BlockEvent> events = new ArrayList<>();
         for (Page page : document.getPages()) {
@@ -204,9 +315,25 @@ public class DocumentEngine implements AutoCloseable {
 
     @Override
     public void close() {
+        for (DirectoryWatch watch : watches) {
+            watch.close();
+        }
+        watches.clear();
         if (shutdownExecutor) {
             executor.shutdown();
         }
+        workerPool.shutdown();
+        ocrPool.shutdown();
+        // Parsers that keep engine resources between documents, such as pooled OCR handles, release them here.
+        for (DocumentParser parser : parserRegistry.getParsers()) {
+            if (parser instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ignored) {
+                    // One parser failing to release must not keep the others open.
+                }
+            }
+        }
     }
 
     public static final class Builder {
@@ -220,6 +347,8 @@ public class DocumentEngine implements AutoCloseable {
         private int asyncCorePoolSize = 4;
         private int asyncMaxPoolSize = 16;
         private int asyncQueueCapacity = 200;
+        private int workerParallelism = Runtime.getRuntime().availableProcessors();
+        private int ocrParallelism = Runtime.getRuntime().availableProcessors();
 
         public Builder autoRegister() {
             this.autoRegister = true;
@@ -259,6 +388,23 @@ public class DocumentEngine implements AutoCloseable {
             return this;
         }
 
+        public Builder workerParallelism(int workerParallelism) {
+            if (workerParallelism <= 0) {
+                throw new IllegalArgumentException("workerParallelism must be positive");
+            }
+            this.workerParallelism = workerParallelism;
+            return this;
+        }
+
+        // Threads of the OCR pool, sized apart from the worker pool because recognition blocks in native code.
+        public Builder ocrParallelism(int ocrParallelism) {
+            if (ocrParallelism <= 0) {
+                throw new IllegalArgumentException("ocrParallelism must be positive");
+            }
+            this.ocrParallelism = ocrParallelism;
+            return this;
+        }
+
         public Builder defaultOptions(ParseOptions defaultOptions) {
             this.defaultOptions = defaultOptions;
             return this;
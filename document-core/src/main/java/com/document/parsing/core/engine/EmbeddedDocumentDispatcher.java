@@ -0,0 +1,105 @@
+package com.document.parsing.core.engine;
+
+import com.document.parsing.core.model.Document;
+import com.document.parsing.core.model.DocumentType;
+import com.document.parsing.core.model.ParseWarning;
+import com.document.parsing.core.parser.EmbeddedDocumentResolver;
+import com.document.parsing.core.parser.EmbeddedResource;
+import com.document.parsing.core.parser.ParseOptions;
+import com.document.parsing.core.parser.ParseRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+final class EmbeddedDocumentDispatcher implements EmbeddedDocumentResolver {
+    private final Function<ParseRequest, Document> parseFunction;
+    private final Executor executor;
+
+    EmbeddedDocumentDispatcher(Function<ParseRequest, Document> parseFunction, Executor executor) {
+        this.parseFunction = parseFunction;
+        this.executor = executor;
+    }
+
+    @Override
+    public List<Document> resolve(ParseRequest parent, List<EmbeddedResource> resources, List<ParseWarning> warnings) {
+        if (!parent.getOptions().isEmbeddedDocumentsEnabled()) {
+            return List.of();
+        }
+        return dispatch(parent, resources, warnings);
+    }
+
+    @Override
+    public List<Document> resolveAttachments(ParseRequest parent, List<EmbeddedResource> attachments,
+                                             List<ParseWarning> warnings) {
+        if (!parent.getOptions().isAttachmentParsingEnabled()) {
+            return List.of();
+        }
+        return dispatch(parent, attachments, warnings);
+    }
+
+    private List<Document> dispatch(ParseRequest parent, List<EmbeddedResource> resources, List<ParseWarning> warnings) {
+        ParseOptions options = parent.getOptions();
+        if (resources == null || resources.isEmpty()) {
+            return List.of();
+        }
+        if (parent.getDepth() >= options.getMaxEmbeddedDepth()) {
+            warnings.add(new ParseWarning("EMBEDDED_DEPTH_EXCEEDED",
+                "Skipped " + resources.size() + " embedded object(s) of " + parent.getFileName()
+                    + " at depth " + parent.getDepth()));
+            return List.of();
+        }
+
+        List<CompletableFuture<ChildOutcome>> futures = new ArrayList<>(resources.size());
+        for (EmbeddedResource resource : resources) {
+            if (options.getMaxEmbeddedSize() > 0 && resource.size() > options.getMaxEmbeddedSize()) {
+                warnings.add(new ParseWarning("EMBEDDED_TOO_LARGE",
+                    "Embedded object " + resource.name() + " exceeds " + options.getMaxEmbeddedSize() + " bytes"));
+                continue;
+            }
+            futures.add(CompletableFuture.supplyAsync(() -> parseChild(parent, resource), executor));
+        }
+
+        List<Document> documents = new ArrayList<>(futures.size());
+        for (CompletableFuture<ChildOutcome> future : futures) {
+            ChildOutcome outcome = future.join();
+            if (outcome.document() != null) {
+                documents.add(outcome.document());
+            } else {
+                warnings.add(outcome.warning());
+            }
+        }
+        return documents;
+    }
+
+    private ChildOutcome parseChild(ParseRequest parent, EmbeddedResource resource) {
+        try (InputStream in = resource.openStream()) {
+            ParseRequest request = ParseRequest.builder()
+                .stream(in)
+                .fileName(resource.name())
+                .size(resource.size())
+                .hintedType(DocumentType.UNKNOWN)
+                .options(parent.getOptions())
+                .depth(parent.getDepth() + 1)
+                .embeddedResolver(this)
+                .workerExecutor(parent.getWorkerExecutor())
+                .ocrExecutor(parent.getOcrExecutor())
+                .build();
+            Document document = parseFunction.apply(request);
+            document.getMetadata().getCustomProperties().put("embeddedName", resource.name());
+            document.getMetadata().getCustomProperties().put("embeddedContentType", resource.contentType());
+            document.getMetadata().getCustomProperties().put("embeddedDepth", request.getDepth());
+            return new ChildOutcome(document, null);
+        } catch (IOException | RuntimeException ex) {
+            return new ChildOutcome(null, new ParseWarning("EMBEDDED_PARSE_FAILED",
+                "Failed to parse embedded object " + resource.name() + ": " + ex.getMessage()));
+        }
+    }
+
+    private record ChildOutcome(Document document, ParseWarning warning) {
+    }
+}
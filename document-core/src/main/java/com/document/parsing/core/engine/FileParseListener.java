@@ -0,0 +1,16 @@
+package com.document.parsing.core.engine;
+
+import com.document.parsing.core.model.Document;
+
+import java.nio.file.Path;
+
+public interface FileParseListener {
+
+    void onDocument(Path file, Document document);
+
+    default void onFailure(Path file, Throwable error) {
+    }
+
+    default void onSkipped(Path file) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.document.parsing.core.engine;
+
+import java.nio.file.FileSystem;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+
+final class PathFilter {
+    private final Path root;
+    private final List<PathMatcher> includes;
+    private final List<PathMatcher> excludes;
+
+    PathFilter(Path root, List<String> includeGlobs, List<String> excludeGlobs) {
+        this.root = root;
+        this.includes = matchers(root.getFileSystem(), includeGlobs);
+        this.excludes = matchers(root.getFileSystem(), excludeGlobs);
+    }
+
+    boolean acceptsDirectory(Path dir) {
+        return dir.equals(root) || !matchesAny(excludes, root.relativize(dir));
+    }
+
+    boolean acceptsFile(Path file) {
+        Path relative = root.relativize(file);
+        if (matchesAny(excludes, relative)) {
+            return false;
+        }
+        return includes.isEmpty() || matchesAny(includes, relative);
+    }
+
+    String relativeName(Path file) {
+        return root.relativize(file).toString().replace('\\', '/');
+    }
+
+    private static List<PathMatcher> matchers(FileSystem fileSystem, List<String> globs) {
+        List<PathMatcher> matchers = new ArrayList<>(globs.size());
+        for (String glob : globs) {
+            matchers.add(fileSystem.getPathMatcher("glob:" + glob));
+        }
+        return matchers;
+    }
+
+    private static boolean matchesAny(List<PathMatcher> matchers, Path relative) {
+        for (PathMatcher matcher : matchers) {
+            if (matcher.matches(relative)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,20 @@
+package com.document.parsing.core.exception;
+
+public class ResourceLimitExceededException extends ParseException {
+    private final String limit;
+    private final long threshold;
+
+    public ResourceLimitExceededException(String limit, long threshold, String message) {
+        super(message);
+        this.limit = limit;
+        this.threshold = threshold;
+    }
+
+    public String getLimit() {
+        return limit;
+    }
+
+    public long getThreshold() {
+        return threshold;
+    }
+}
@@ -0,0 +1,186 @@
+package com.document.parsing.core.format;
+
+import com.document.parsing.core.model.Metadata;
+import com.document.parsing.core.parser.ParseRequest;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+// Metadata of an OOXML package from docProps/core.xml, docProps/app.xml, the workbook sheet list and the
+// slide part names. Sheets, slides and the document body are never parsed. A password-protected package is
+// an OLE2 compound file wrapping the encrypted ZIP, so it is recognised from its header alone.
+public final class OoxmlProbe {
+    private static final byte[] OLE2_HEADER = {
+        (byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1
+    };
+    private static final Pattern SLIDE_PART = Pattern.compile("ppt/slides/slide\\d+\\.xml");
+    private static final String CORE_PART = "docProps/core.xml";
+    private static final String APP_PART = "docProps/app.xml";
+    private static final String WORKBOOK_PART = "xl/workbook.xml";
+    private static final XMLInputFactory XML_FACTORY = createFactory();
+
+    private OoxmlProbe() {
+    }
+
+    public static Metadata probe(ParseRequest request) throws IOException {
+        Path sourceFile = request.getSourceFile();
+        if (sourceFile != null && Files.isRegularFile(sourceFile)) {
+            return probe(sourceFile);
+        }
+        // A ZipInputStream would inflate every entry just to step over it, so a stream is copied to disk as is
+        // and read through the central directory like a file: only the parts read here are ever inflated.
+        Path spooled = Files.createTempFile("document-probe-", ".zip");
+        try {
+            Files.copy(request.getStream(), spooled, StandardCopyOption.REPLACE_EXISTING);
+            return probe(spooled);
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    private static Metadata probe(Path file) throws IOException {
+        Metadata metadata = new Metadata();
+        try (InputStream in = Files.newInputStream(file)) {
+            if (isEncrypted(in.readNBytes(OLE2_HEADER.length), metadata)) {
+                return metadata;
+            }
+        }
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            Counts counts = new Counts();
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (readsPart(entry.getName())) {
+                    try (InputStream part = zip.getInputStream(entry)) {
+                        readPart(entry.getName(), part, metadata, counts);
+                    }
+                } else {
+                    counts.countPartName(entry.getName());
+                }
+            }
+            return counts.apply(metadata);
+        }
+    }
+
+    private static boolean isEncrypted(byte[] header, Metadata metadata) {
+        boolean encrypted = Arrays.equals(header, OLE2_HEADER);
+        metadata.setEncrypted(encrypted);
+        return encrypted;
+    }
+
+    private static boolean readsPart(String name) {
+        return CORE_PART.equals(name) || APP_PART.equals(name) || WORKBOOK_PART.equals(name);
+    }
+
+    private static void readPart(String name, InputStream part, Metadata metadata, Counts counts) throws IOException {
+        counts.workbook |= WORKBOOK_PART.equals(name);
+        try {
+            XMLStreamReader reader = XML_FACTORY.createXMLStreamReader(part);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+                    String element = reader.getLocalName();
+                    switch (name) {
+                        case CORE_PART -> readCoreProperty(element, reader, metadata);
+                        case APP_PART -> {
+                            if ("Pages".equals(element)) {
+                                counts.pages = parseCount(reader.getElementText());
+                            }
+                        }
+                        default -> {
+                            if ("sheet".equals(element)) {
+                                counts.sheets++;
+                            }
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to read package part " + name, e);
+        }
+    }
+
+    private static void readCoreProperty(String element, XMLStreamReader reader, Metadata metadata)
+        throws XMLStreamException {
+        switch (element) {
+            case "title" -> metadata.setTitle(blankToNull(reader.getElementText()));
+            case "creator" -> metadata.setAuthor(blankToNull(reader.getElementText()));
+            case "lastModifiedBy" -> metadata.setCreator(blankToNull(reader.getElementText()));
+            case "created" -> metadata.setCreatedAt(parseInstant(reader.getElementText()));
+            case "modified" -> metadata.setModifiedAt(parseInstant(reader.getElementText()));
+            default -> {
+            }
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static Instant parseInstant(String value) {
+        try {
+            return value == null || value.isBlank() ? null : Instant.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static Integer parseCount(String value) {
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static final class Counts {
+        private int slides;
+        private int sheets;
+        private boolean workbook;
+        private Integer pages;
+
+        private void countPartName(String name) {
+            if (SLIDE_PART.matcher(name).matches()) {
+                slides++;
+            }
+        }
+
+        private Metadata apply(Metadata metadata) {
+            if (slides > 0) {
+                metadata.setSlideCount(slides);
+                metadata.setPageCount(slides);
+            } else if (workbook || sheets > 0) {
+                metadata.setSheetCount(sheets);
+                metadata.setPageCount(sheets);
+            } else if (pages != null) {
+                metadata.setPageCount(pages);
+            }
+            return metadata;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.document.parsing.core.model;
+
+import java.util.Arrays;
+
+// Bounding boxes for the pieces of a block (words, lines or image placements), packed into primitive arrays
+// instead of one object per box. Coordinates are PDF points with the origin at the top-left of the page;
+// text spans are [start, end) offsets into the block text, and -1 for image placements.
+public final class BlockLayout {
+    private static final int BOX_STRIDE = 4;
+    private static final int SPAN_STRIDE = 2;
+
+    private final float[] boxes;
+    private final int[] spans;
+    private final int size;
+
+    private BlockLayout(float[] boxes, int[] spans, int size) {
+        this.boxes = boxes;
+        this.spans = spans;
+        this.size = size;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public float x0(int index) {
+        return boxes[checked(index) * BOX_STRIDE];
+    }
+
+    public float y0(int index) {
+        return boxes[checked(index) * BOX_STRIDE + 1];
+    }
+
+    public float x1(int index) {
+        return boxes[checked(index) * BOX_STRIDE + 2];
+    }
+
+    public float y1(int index) {
+        return boxes[checked(index) * BOX_STRIDE + 3];
+    }
+
+    public int textStart(int index) {
+        return spans[checked(index) * SPAN_STRIDE];
+    }
+
+    public int textEnd(int index) {
+        return spans[checked(index) * SPAN_STRIDE + 1];
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    // Drops entries whose text lies beyond textLength, for blocks whose text was cut by a resource limit.
+    public BlockLayout truncate(int textLength) {
+        int kept = 0;
+        while (kept < size && spans[kept * SPAN_STRIDE + 1] <= textLength) {
+            kept++;
+        }
+        return kept == size ? this : new BlockLayout(boxes, spans, kept);
+    }
+
+    private int checked(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("layout index " + index + " out of " + size);
+        }
+        return index;
+    }
+
+    // Reusable iterator over the packed arrays; advancing it allocates nothing.
+    public final class Cursor {
+        private int index = -1;
+
+        public boolean next() {
+            if (index + 1 >= size) {
+                return false;
+            }
+            index++;
+            return true;
+        }
+
+        public void reset() {
+            index = -1;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public float x0() {
+            return boxes[index * BOX_STRIDE];
+        }
+
+        public float y0() {
+            return boxes[index * BOX_STRIDE + 1];
+        }
+
+        public float x1() {
+            return boxes[index * BOX_STRIDE + 2];
+        }
+
+        public float y1() {
+            return boxes[index * BOX_STRIDE + 3];
+        }
+
+        public int textStart() {
+            return spans[index * SPAN_STRIDE];
+        }
+
+        public int textEnd() {
+            return spans[index * SPAN_STRIDE + 1];
+        }
+    }
+
+    public static final class Builder {
+        private float[] boxes = new float[16 * BOX_STRIDE];
+        private int[] spans = new int[16 * SPAN_STRIDE];
+        private int size;
+
+        public Builder add(float x0, float y0, float x1, float y1, int textStart, int textEnd) {
+            if (size * BOX_STRIDE == boxes.length) {
+                boxes = Arrays.copyOf(boxes, boxes.length * 2);
+                spans = Arrays.copyOf(spans, spans.length * 2);
+            }
+            int box = size * BOX_STRIDE;
+            boxes[box] = x0;
+            boxes[box + 1] = y0;
+            boxes[box + 2] = x1;
+            boxes[box + 3] = y1;
+            spans[size * SPAN_STRIDE] = textStart;
+            spans[size * SPAN_STRIDE + 1] = textEnd;
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public BlockLayout build() {
+            return new BlockLayout(
+                Arrays.copyOf(boxes, size * BOX_STRIDE),
+                Arrays.copyOf(spans, size * SPAN_STRIDE),
+                size
+            );
+        }
+    }
+}
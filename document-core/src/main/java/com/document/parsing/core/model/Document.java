@@ -13,6 +13,7 @@ public class Document {
     private String rawText;
     private List<ParseWarning> warnings;
     private Map<String, Object> extensions;
+    private List<Document> embeddedDocuments;
 
     private Document(Builder builder) {
         this.metadata = builder.metadata;
@@ -22,6 +23,7 @@ public class Document {
         this.rawText = builder.rawText;
         this.warnings = builder.warnings;
         this.extensions = builder.extensions;
+        this.embeddedDocuments = builder.embeddedDocuments;
     }
 
     public static Builder builder() {
@@ -84,6 +86,14 @@ public class Document {
         this.extensions = extensions;
     }
 
+    public List<Document> getEmbeddedDocuments() {
+        return embeddedDocuments;
+    }
+
+    public void setEmbeddedDocuments(List<Document> embeddedDocuments) {
+        this.embeddedDocuments = embeddedDocuments;
+    }
+
     public static final class Builder {
         private Metadata metadata = new Metadata();
         private List<Page> pages = new ArrayList<>();
@@ -92,6 +102,7 @@ public class Document {
         private String rawText = "";
         private List<ParseWarning> warnings = new ArrayList<>();
         private Map<String, Object> extensions = new HashMap<>();
+        private List<Document> embeddedDocuments = new ArrayList<>();
 
         public Builder metadata(Metadata metadata) {
             this.metadata = metadata;
@@ -128,6 +139,11 @@ public class Document {
             return this;
         }
 
+        public Builder embeddedDocuments(List<Document> embeddedDocuments) {
+            this.embeddedDocuments = new ArrayList<>(embeddedDocuments);
+            return this;
+        }
+
         public Document build() {
             return new Document(this);
         }
@@ -11,6 +11,7 @@ public enum DocumentType {
     MARKDOWN,
     HTML,
     IMAGE,
+    EMAIL,
     UNKNOWN;
 
     public static DocumentType fromFileName(String fileName) {
@@ -33,6 +34,7 @@ public enum DocumentType {
             case "md", "markdown" -> MARKDOWN;
             case "html", "htm" -> HTML;
             case "png", "jpg", "jpeg", "bmp", "tif", "tiff", "gif", "webp" -> IMAGE;
+            case "eml", "mbox", "mbx" -> EMAIL;
             default -> UNKNOWN;
         };
     }
@@ -4,15 +4,26 @@ import java.util.Objects;
 
 public class ImageBlock implements Block {
     private final ImageElement image;
+    private final BlockLayout layout;
 
     public ImageBlock(ImageElement image) {
+        this(image, null);
+    }
+
+    public ImageBlock(ImageElement image, BlockLayout layout) {
         this.image = Objects.requireNonNull(image, "image must not be null");
+        this.layout = layout;
     }
 
     public ImageElement getImage() {
         return image;
     }
 
+    // One box per placement of the image on the page; null unless layout capture was requested.
+    public BlockLayout getLayout() {
+        return layout;
+    }
+
     @Override
     public BlockType getType() {
         return BlockType.IMAGE;
@@ -1,20 +1,59 @@
 package com.document.parsing.core.model;
 
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 public class ImageElement {
     private final String id;
     private final int pageNumber;
     private final String mimeType;
     private final int width;
     private final int height;
-    private final byte[] content;
+    private final Supplier<byte[]> contentLoader;
+    private final Supplier<BufferedImage> rasterLoader;
+    private final Function<Rectangle, BufferedImage> regionLoader;
+    private volatile byte[] content;
 
     public ImageElement(String id, int pageNumber, String mimeType, int width, int height, byte[] content) {
+        this(id, pageNumber, mimeType, width, height, content == null ? null : content.clone(), null, null, null);
+    }
+
+    private ImageElement(String id, int pageNumber, String mimeType, int width, int height, byte[] content,
+                         Supplier<byte[]> contentLoader, Supplier<BufferedImage> rasterLoader,
+                         Function<Rectangle, BufferedImage> regionLoader) {
         this.id = id;
         this.pageNumber = pageNumber;
         this.mimeType = mimeType;
         this.width = width;
         this.height = height;
-        this.content = content == null ? null : content.clone();
+        this.content = content;
+        this.contentLoader = contentLoader;
+        this.rasterLoader = rasterLoader;
+        this.regionLoader = regionLoader;
+    }
+
+    // Content is produced on first access and kept afterwards, so images nobody reads are never encoded.
+    public static ImageElement lazy(String id, int pageNumber, String mimeType, int width, int height,
+                                    Supplier<byte[]> contentLoader) {
+        return lazy(id, pageNumber, mimeType, width, height, contentLoader, null);
+    }
+
+    // For producers that start from decoded pixels: consumers such as OCR can take the raster instead of
+    // encoding it into content only to decode it again.
+    public static ImageElement lazy(String id, int pageNumber, String mimeType, int width, int height,
+                                    Supplier<byte[]> contentLoader, Supplier<BufferedImage> rasterLoader) {
+        return lazy(id, pageNumber, mimeType, width, height, contentLoader, rasterLoader, null);
+    }
+
+    // For producers that can decode part of an image on its own, so very large images are read a region at a time.
+    public static ImageElement lazy(String id, int pageNumber, String mimeType, int width, int height,
+                                    Supplier<byte[]> contentLoader, Supplier<BufferedImage> rasterLoader,
+                                    Function<Rectangle, BufferedImage> regionLoader) {
+        return new ImageElement(id, pageNumber, mimeType, width, height, null,
+            Objects.requireNonNull(contentLoader, "contentLoader must not be null"), rasterLoader, regionLoader);
     }
 
     public String getId() {
@@ -38,6 +77,43 @@ public class ImageElement {
     }
 
     public byte[] getContent() {
-        return content == null ? null : content.clone();
+        byte[] loaded = loadContent();
+        return loaded == null ? null : loaded.clone();
+    }
+
+    // Decoded pixels, or null when the element only has encoded content. Not retained by the element.
+    public BufferedImage getRaster() {
+        return rasterLoader == null ? null : rasterLoader.get();
+    }
+
+    // Decoded pixels of one region, or null when the element cannot decode regions on its own.
+    public BufferedImage getRegion(Rectangle region) {
+        return regionLoader == null ? null : regionLoader.apply(region);
+    }
+
+    public boolean hasRegionLoader() {
+        return regionLoader != null;
+    }
+
+    // True while the raster is at hand and the encoded content has not been produced yet.
+    public boolean prefersRaster() {
+        return rasterLoader != null && content == null;
+    }
+
+    public boolean isContentLoaded() {
+        return content != null || contentLoader == null;
+    }
+
+    private byte[] loadContent() {
+        byte[] current = content;
+        if (current != null || contentLoader == null) {
+            return current;
+        }
+        synchronized (this) {
+            if (content == null) {
+                content = contentLoader.get();
+            }
+            return content;
+        }
     }
 }
@@ -12,6 +12,9 @@ public class Metadata {
     private Instant modifiedAt;
     private Integer pageCount;
     private Integer sheetCount;
+    private Integer slideCount;
+    private DocumentType documentType;
+    private Boolean encrypted;
     private final Map<String, Object> customProperties = new HashMap<>();
 
     public String getTitle() {
@@ -70,6 +73,30 @@ public class Metadata {
         this.sheetCount = sheetCount;
     }
 
+    public Integer getSlideCount() {
+        return slideCount;
+    }
+
+    public void setSlideCount(Integer slideCount) {
+        this.slideCount = slideCount;
+    }
+
+    public DocumentType getDocumentType() {
+        return documentType;
+    }
+
+    public void setDocumentType(DocumentType documentType) {
+        this.documentType = documentType;
+    }
+
+    public Boolean getEncrypted() {
+        return encrypted;
+    }
+
+    public void setEncrypted(Boolean encrypted) {
+        this.encrypted = encrypted;
+    }
+
     public Map<String, Object> getCustomProperties() {
         return customProperties;
     }
@@ -4,15 +4,26 @@ import java.util.Objects;
 
 public class TextBlock implements Block {
     private final String text;
+    private final BlockLayout layout;
 
     public TextBlock(String text) {
+        this(text, null);
+    }
+
+    public TextBlock(String text, BlockLayout layout) {
         this.text = Objects.requireNonNullElse(text, "");
+        this.layout = layout;
     }
 
     public String getText() {
         return text;
     }
 
+    // Null unless layout capture was requested and the format provides coordinates.
+    public BlockLayout getLayout() {
+        return layout;
+    }
+
     @Override
     public BlockType getType() {
         return BlockType.TEXT;
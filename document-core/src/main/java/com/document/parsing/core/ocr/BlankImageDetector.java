@@ -0,0 +1,57 @@
+package com.document.parsing.core.ocr;
+
+import java.awt.image.BufferedImage;
+
+// Decides from a sample grid of at most SAMPLES x SAMPLES pixels whether an image carries anything worth
+// recognising. The most common gray level is taken as the background, so white sheets, dark backgrounds and
+// flat colour fills all count; ink is any sample that differs from it by more than INK_CONTRAST.
+public final class BlankImageDetector {
+    private static final int SAMPLES = 512;
+    private static final int INK_CONTRAST = 48;
+
+    private BlankImageDetector() {
+    }
+
+    public static boolean isBlank(BufferedImage image, double inkThreshold) {
+        return image != null && inkThreshold > 0 && inkCoverage(image) < inkThreshold;
+    }
+
+    // Share of sampled pixels that differ from the background, between 0 and 1.
+    public static double inkCoverage(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int stepX = Math.max(1, width / SAMPLES);
+        int stepY = Math.max(1, height / SAMPLES);
+        int columns = (width + stepX - 1) / stepX;
+        int rows = (height + stepY - 1) / stepY;
+
+        byte[] samples = new byte[columns * rows];
+        int[] histogram = new int[256];
+        // Sampled rows go through OcrImagePreprocessor.grayscale as one-row sub-images, which reads the common
+        // raster layouts from their backing arrays and converts exactly as the OCR input is converted.
+        byte[] row = new byte[width];
+        int index = 0;
+        for (int y = 0; y < height; y += stepY) {
+            OcrImagePreprocessor.grayscale(image.getSubimage(0, y, width, 1), row);
+            for (int x = 0; x < width; x += stepX) {
+                int luma = row[x] & 0xFF;
+                samples[index++] = (byte) luma;
+                histogram[luma]++;
+            }
+        }
+
+        int background = 0;
+        for (int level = 1; level < histogram.length; level++) {
+            if (histogram[level] > histogram[background]) {
+                background = level;
+            }
+        }
+        int ink = 0;
+        for (byte sample : samples) {
+            if (Math.abs((sample & 0xFF) - background) > INK_CONTRAST) {
+                ink++;
+            }
+        }
+        return samples.length == 0 ? 0 : (double) ink / samples.length;
+    }
+}
@@ -0,0 +1,371 @@
+package com.document.parsing.core.ocr;
+
+import com.document.parsing.core.exception.ParseException;
+import com.document.parsing.core.model.ImageElement;
+import com.document.parsing.core.parser.ParseOptions;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// Remembers OCR text by SHA-256 of the image bytes (or of the pixels, for rasters) plus every option that
+// changes the result (data path, language, engine and segmentation mode, preprocessing). Lookups go to a
+// bounded in-memory LRU first and then, when ocrCacheDirectory is set, to one small text file per entry
+// there. The disk tier is best effort: an entry that cannot be read or written is simply recognised again.
+// Its size is estimated from a scan on first use plus what this process writes; past ocrCacheMaxDiskBytes the
+// least recently used files are deleted until it is back under 90% of the bound.
+public class CachingOcrService implements OcrService {
+    private static final double DISK_PRUNE_TARGET = 0.9;
+
+    private final OcrService delegate;
+    private final int maxEntries;
+    private final Map<String, String> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Path, AtomicLong> diskUsage = new ConcurrentHashMap<>();
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    // The memory tier follows ocrCacheMaxEntries of each call.
+    public CachingOcrService(OcrService delegate) {
+        this.delegate = delegate;
+        this.maxEntries = 0;
+    }
+
+    public CachingOcrService(OcrService delegate, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public String extractText(byte[] imageData, String mimeType, ParseOptions options) throws ParseException {
+        if (!options.isOcrCacheEnabled() || imageData == null || imageData.length == 0) {
+            return delegate.extractText(imageData, mimeType, options);
+        }
+        String key = cacheKey(imageData, options);
+        String cached = lookup(key, options);
+        if (cached != null) {
+            return cached;
+        }
+        String text = delegate.extractText(imageData, mimeType, options);
+        store(key, text, options);
+        return text;
+    }
+
+    @Override
+    public String extractText(BufferedImage image, ParseOptions options) throws ParseException {
+        if (!options.isOcrCacheEnabled() || image == null) {
+            return delegate.extractText(image, options);
+        }
+        String key = cacheKey(image, options);
+        String cached = lookup(key, options);
+        if (cached != null) {
+            return cached;
+        }
+        String text = delegate.extractText(image, options);
+        store(key, text, options);
+        return text;
+    }
+
+    // Only the misses reach the delegate, still as one batch so it can pipeline them; an image repeated
+    // within the batch is recognised once. A raster decoded for its key is handed on rather than decoded again.
+    @Override
+    public List<String> extractTextBatch(List<ImageElement> images, ParseOptions options) throws ParseException {
+        if (!options.isOcrCacheEnabled()) {
+            return delegate.extractTextBatch(images, options);
+        }
+        String[] keys = new String[images.size()];
+        String[] texts = new String[images.size()];
+        Map<String, Integer> missing = new LinkedHashMap<>();
+        List<ImageElement> missingImages = new ArrayList<>();
+        for (int i = 0; i < images.size(); i++) {
+            ImageElement image = images.get(i);
+            BufferedImage raster = image.prefersRaster() ? image.getRaster() : null;
+            keys[i] = raster == null ? cacheKey(image.getContent(), options) : cacheKey(raster, options);
+            if (!missing.containsKey(keys[i])) {
+                texts[i] = lookup(keys[i], options);
+                if (texts[i] == null) {
+                    missing.put(keys[i], missingImages.size());
+                    missingImages.add(raster == null ? image : ImageElement.lazy(image.getId(), image.getPageNumber(),
+                        image.getMimeType(), image.getWidth(), image.getHeight(), image::getContent, () -> raster));
+                }
+            }
+        }
+        if (!missingImages.isEmpty()) {
+            List<String> recognized = delegate.extractTextBatch(missingImages, options);
+            for (Map.Entry<String, Integer> entry : missing.entrySet()) {
+                store(entry.getKey(), recognized.get(entry.getValue()), options);
+            }
+            for (int i = 0; i < texts.length; i++) {
+                Integer index = missing.get(keys[i]);
+                if (index != null) {
+                    texts[i] = recognized.get(index);
+                }
+            }
+        }
+        return Arrays.asList(texts);
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return delegate.isAvailable();
+    }
+
+    @Override
+    public int getPriority() {
+        return delegate.getPriority();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    public Stats stats() {
+        return new Stats(memoryHits.sum(), diskHits.sum(), misses.sum());
+    }
+
+    private String lookup(String key, ParseOptions options) {
+        String text;
+        synchronized (memory) {
+            text = memory.get(key);
+        }
+        if (text != null) {
+            memoryHits.increment();
+            return text;
+        }
+        Path file = diskEntry(key, options);
+        if (file != null && Files.isRegularFile(file)) {
+            try {
+                text = Files.readString(file, StandardCharsets.UTF_8);
+                remember(key, text, options);
+                touch(file);
+                diskHits.increment();
+                return text;
+            } catch (IOException ignored) {
+                // Treated as a miss.
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    private void store(String key, String text, ParseOptions options) {
+        if (text == null) {
+            return;
+        }
+        remember(key, text, options);
+        Path file = diskEntry(key, options);
+        if (file == null) {
+            return;
+        }
+        try {
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), key, ".tmp");
+            Files.write(temp, bytes);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            long maxBytes = options.getOcrCacheMaxDiskBytes();
+            if (maxBytes > 0) {
+                Path directory = options.getOcrCacheDirectory();
+                AtomicLong used = diskUsage.computeIfAbsent(directory, CachingOcrService::scanUsage);
+                if (used.addAndGet(bytes.length) > maxBytes) {
+                    prune(directory, used, (long) (maxBytes * DISK_PRUNE_TARGET));
+                }
+            }
+        } catch (IOException ignored) {
+            // The memory tier still holds the entry.
+        }
+    }
+
+    private void remember(String key, String text, ParseOptions options) {
+        int limit = maxEntries > 0 ? maxEntries : options.getOcrCacheMaxEntries();
+        synchronized (memory) {
+            memory.put(key, text);
+            Iterator<String> eldest = memory.keySet().iterator();
+            while (memory.size() > limit && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    // Files are touched on every hit, so the modification time orders them by last use.
+    private static void prune(Path directory, AtomicLong used, long target) {
+        synchronized (used) {
+            if (used.get() <= target) {
+                return;
+            }
+            List<Path> files = entries(directory);
+            files.sort(Comparator.comparing(CachingOcrService::lastModified));
+            long total = 0;
+            for (Path file : files) {
+                total += size(file);
+            }
+            for (Iterator<Path> it = files.iterator(); it.hasNext() && total > target; ) {
+                Path file = it.next();
+                long size = size(file);
+                try {
+                    if (Files.deleteIfExists(file)) {
+                        total -= size;
+                    }
+                } catch (IOException ignored) {
+                    // Left for the next pass.
+                }
+            }
+            used.set(total);
+        }
+    }
+
+    private static AtomicLong scanUsage(Path directory) {
+        long total = 0;
+        for (Path file : entries(directory)) {
+            total += size(file);
+        }
+        return new AtomicLong(total);
+    }
+
+    private static List<Path> entries(Path directory) {
+        try (Stream<Path> files = Files.walk(directory, 2)) {
+            return new ArrayList<>(files.filter(file -> file.getFileName().toString().endsWith(".txt")).toList());
+        } catch (IOException | RuntimeException e) {
+            return new ArrayList<>();
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ignored) {
+            // Only affects the pruning order.
+        }
+    }
+
+    private Path diskEntry(String key, ParseOptions options) {
+        Path directory = options.getOcrCacheDirectory();
+        return directory == null ? null : directory.resolve(key.substring(0, 2)).resolve(key + ".txt");
+    }
+
+    private String cacheKey(byte[] imageData, ParseOptions options) {
+        MessageDigest digest = sha256();
+        digest.update(imageData);
+        return cacheKey(digest, options);
+    }
+
+    // Pixels are read row by row in the raster's own transfer type, so no RGB conversion or full copy is made.
+    private String cacheKey(BufferedImage image, ParseOptions options) {
+        MessageDigest digest = sha256();
+        Raster raster = image.getRaster();
+        int width = raster.getWidth();
+        digest.update(ByteBuffer.allocate(12).putInt(width).putInt(raster.getHeight()).putInt(image.getType()).array());
+        if (image.getColorModel() instanceof IndexColorModel palette) {
+            int[] rgbs = new int[palette.getMapSize()];
+            palette.getRGBs(rgbs);
+            digest.update(toBytes(rgbs, null).array());
+        }
+        Object row = null;
+        ByteBuffer scratch = null;
+        for (int y = 0; y < raster.getHeight(); y++) {
+            row = raster.getDataElements(raster.getMinX(), raster.getMinY() + y, width, 1, row);
+            if (row instanceof byte[] bytes) {
+                digest.update(bytes);
+            } else {
+                scratch = toBytes(row, scratch);
+                digest.update(scratch.array(), 0, scratch.limit());
+            }
+        }
+        return cacheKey(digest, options);
+    }
+
+    private String cacheKey(MessageDigest digest, ParseOptions options) {
+        String settings = options.getOcrDataPath() + '\u0000' + options.getOcrLanguage() + '\u0000'
+            + options.getOcrEngineMode() + '\u0000' + options.getOcrPageSegMode() + '\u0000'
+            + options.isOcrPreprocessEnabled() + '\u0000' + options.getOcrTargetDpi() + '\u0000' + options.isOcrBinarize();
+        digest.update(settings.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static ByteBuffer toBytes(Object elements, ByteBuffer scratch) {
+        int size;
+        if (elements instanceof short[] shorts) {
+            size = shorts.length * Short.BYTES;
+        } else if (elements instanceof int[] ints) {
+            size = ints.length * Integer.BYTES;
+        } else if (elements instanceof float[] floats) {
+            size = floats.length * Float.BYTES;
+        } else if (elements instanceof double[] doubles) {
+            size = doubles.length * Double.BYTES;
+        } else {
+            throw new IllegalArgumentException("Unsupported raster transfer type");
+        }
+        ByteBuffer buffer = scratch != null && scratch.capacity() >= size ? scratch.clear() : ByteBuffer.allocate(size);
+        if (elements instanceof short[] shorts) {
+            buffer.asShortBuffer().put(shorts);
+        } else if (elements instanceof int[] ints) {
+            buffer.asIntBuffer().put(ints);
+        } else if (elements instanceof float[] floats) {
+            buffer.asFloatBuffer().put(floats);
+        } else {
+            buffer.asDoubleBuffer().put((double[]) elements);
+        }
+        return buffer.limit(size);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public record Stats(long memoryHits, long diskHits, long misses) {
+        public long requests() {
+            return memoryHits + diskHits + misses;
+        }
+
+        public double hitRate() {
+            long requests = requests();
+            return requests == 0 ? 0 : (double) (memoryHits + diskHits) / requests;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.document.parsing.core.ocr;
+
+import com.document.parsing.core.model.ImageElement;
+import com.document.parsing.core.model.ParseWarning;
+import com.document.parsing.core.parser.ParseOptions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Splits the images of one call into at most ocrMaxConcurrency contiguous batches and runs them on the OCR
+// executor, with the calling thread taking the first batch and any batch no pool thread has started yet, so
+// a saturated or shared pool delays recognition but never deadlocks it. Results come back in image order.
+// Without failOnOcrError a failed batch is retried image by image, and each failing image becomes a warning.
+// Images above ocrTileThresholdPixels take part as their OcrTiling strips.
+public final class OcrDispatcher {
+    private final OcrService service;
+    private final Executor executor;
+
+    public OcrDispatcher(OcrService service, Executor executor) {
+        this.service = service;
+        this.executor = executor;
+    }
+
+    public List<String> recognize(List<ImageElement> images, ParseOptions options, List<ParseWarning> warnings) {
+        if (images.isEmpty()) {
+            return List.of();
+        }
+        // Oversized images are recognised as strips spread over the batches like any other image, then rejoined.
+        List<ImageElement> units = new ArrayList<>(images.size());
+        int[] stripCounts = new int[images.size()];
+        for (int i = 0; i < images.size(); i++) {
+            List<ImageElement> strips = OcrTiling.split(images.get(i), options);
+            units.addAll(strips);
+            stripCounts[i] = strips.size();
+        }
+        List<String> unitTexts = recognizeUnits(units, options, warnings);
+        if (units.size() == images.size()) {
+            return unitTexts;
+        }
+        List<String> texts = new ArrayList<>(images.size());
+        int next = 0;
+        for (int count : stripCounts) {
+            texts.add(count == 1 ? unitTexts.get(next) : OcrTiling.merge(unitTexts.subList(next, next + count)));
+            next += count;
+        }
+        return texts;
+    }
+
+    private List<String> recognizeUnits(List<ImageElement> images, ParseOptions options, List<ParseWarning> warnings) {
+        int batches = executor == null ? 1 : Math.min(images.size(), options.getOcrMaxConcurrency());
+        int batchSize = (images.size() + batches - 1) / batches;
+
+        List<Batch> pending = new ArrayList<>(batches);
+        for (int start = 0; start < images.size(); start += batchSize) {
+            pending.add(new Batch(images.subList(start, Math.min(images.size(), start + batchSize)), options));
+        }
+        for (int i = 1; i < pending.size(); i++) {
+            Batch batch = pending.get(i);
+            try {
+                executor.execute(batch::run);
+            } catch (RejectedExecutionException ex) {
+                // Left unclaimed; the join below runs it on this thread.
+            }
+        }
+
+        List<String> texts = new ArrayList<>(images.size());
+        for (Batch batch : pending) {
+            texts.addAll(batch.join(warnings));
+        }
+        return texts;
+    }
+
+    private final class Batch {
+        private final List<ImageElement> images;
+        private final ParseOptions options;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<List<String>> result = new CompletableFuture<>();
+        private final List<ParseWarning> warnings = new ArrayList<>();
+
+        private Batch(List<ImageElement> images, ParseOptions options) {
+            this.images = images;
+            this.options = options;
+        }
+
+        private void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                result.complete(recognizeBatch());
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        }
+
+        private List<String> recognizeBatch() {
+            try {
+                List<String> texts = service.extractTextBatch(images, options);
+                if (texts.size() == images.size()) {
+                    return texts;
+                }
+            } catch (RuntimeException ex) {
+                if (options.isFailOnOcrError()) {
+                    throw ex;
+                }
+            }
+            String[] texts = new String[images.size()];
+            Arrays.fill(texts, "");
+            for (int i = 0; i < texts.length; i++) {
+                try {
+                    texts[i] = service.extractText(images.get(i), options);
+                } catch (RuntimeException ex) {
+                    if (options.isFailOnOcrError()) {
+                        throw ex;
+                    }
+                    warnings.add(new ParseWarning("OCR_EXECUTION_FAILED", ex.getMessage()));
+                }
+            }
+            return Arrays.asList(texts);
+        }
+
+        private List<String> join(List<ParseWarning> target) {
+            run();
+            try {
+                List<String> texts = result.join();
+                target.addAll(warnings);
+                return texts;
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (ex.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw ex;
+            }
+        }
+    }
+}
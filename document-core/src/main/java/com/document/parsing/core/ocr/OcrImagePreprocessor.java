@@ -0,0 +1,205 @@
+package com.document.parsing.core.ocr;
+
+import com.document.parsing.core.parser.ParseOptions;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+
+// Brings images into the shape OCR engines work fastest on: 8-bit grayscale, no denser than ocrTargetDpi and,
+// with ocrBinarize, black and white at Otsu's threshold. The common raster layouts are read straight from
+// their backing arrays, sub-images included; anything else goes through getRGB one row at a time.
+// Transparent pixels become white.
+public final class OcrImagePreprocessor {
+    // Image files and decoded PDF images rarely carry a trustworthy resolution (phones write 72 DPI), so the
+    // effective DPI assumes the shorter side spans the short edge of an A4 page. Going by the shorter side
+    // keeps receipts and OcrTiling strips, which are long but narrow, at full resolution.
+    private static final double ASSUMED_PAGE_INCHES = 8.27;
+
+    private OcrImagePreprocessor() {
+    }
+
+    public static BufferedImage preprocess(BufferedImage image, ParseOptions options) {
+        if (image == null || !options.isOcrPreprocessEnabled()) {
+            return image;
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double scale = scale(width, height, options.getOcrTargetDpi());
+        if (scale >= 1 && !options.isOcrBinarize() && image.getType() == BufferedImage.TYPE_BYTE_GRAY) {
+            return image;
+        }
+
+        int targetWidth = scale >= 1 ? width : Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = scale >= 1 ? height : Math.max(1, (int) Math.round(height * scale));
+        BufferedImage result = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_BYTE_GRAY);
+        byte[] target = ((DataBufferByte) result.getRaster().getDataBuffer()).getData();
+        if (scale >= 1) {
+            grayscale(image, target);
+        } else {
+            byte[] gray = new byte[width * height];
+            grayscale(image, gray);
+            downscale(gray, width, height, target, targetWidth, targetHeight);
+        }
+        if (options.isOcrBinarize()) {
+            binarize(target);
+        }
+        return result;
+    }
+
+    static double scale(int width, int height, int targetDpi) {
+        if (targetDpi <= 0) {
+            return 1;
+        }
+        double effectiveDpi = Math.min(width, height) / ASSUMED_PAGE_INCHES;
+        return effectiveDpi > targetDpi ? targetDpi / effectiveDpi : 1;
+    }
+
+    // Writes one luma byte per pixel, row-major without padding, into gray.
+    public static void grayscale(BufferedImage image, byte[] gray) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        WritableRaster raster = image.getRaster();
+        SampleModel model = raster.getSampleModel();
+        boolean plain = raster.getDataBuffer().getNumBanks() == 1;
+        // Non-zero for sub-images, which share the parent's buffer.
+        int originX = -raster.getSampleModelTranslateX();
+        int originY = -raster.getSampleModelTranslateY();
+        int type = image.getType();
+
+        if (plain && raster.getDataBuffer() instanceof DataBufferInt buffer && model instanceof SinglePixelPackedSampleModel packed
+            && (type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_INT_ARGB)) {
+            int[] data = buffer.getData();
+            int stride = packed.getScanlineStride();
+            boolean alpha = type == BufferedImage.TYPE_INT_ARGB;
+            for (int y = 0; y < height; y++) {
+                int in = buffer.getOffset() + (originY + y) * stride + originX;
+                int out = y * width;
+                for (int x = 0; x < width; x++) {
+                    int argb = data[in + x];
+                    int luma = luma((argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF);
+                    gray[out + x] = (byte) (alpha ? overWhite(luma, argb >>> 24) : luma);
+                }
+            }
+            return;
+        }
+
+        if (plain && raster.getDataBuffer() instanceof DataBufferByte buffer && model instanceof ComponentSampleModel component
+            && (type == BufferedImage.TYPE_BYTE_GRAY || type == BufferedImage.TYPE_3BYTE_BGR
+            || type == BufferedImage.TYPE_4BYTE_ABGR)) {
+            byte[] data = buffer.getData();
+            int stride = component.getScanlineStride();
+            int pixelStride = component.getPixelStride();
+            int[] bands = component.getBandOffsets();
+            for (int y = 0; y < height; y++) {
+                int in = buffer.getOffset() + (originY + y) * stride + originX * pixelStride;
+                int out = y * width;
+                if (type == BufferedImage.TYPE_BYTE_GRAY && pixelStride == 1) {
+                    System.arraycopy(data, in + bands[0], gray, out, width);
+                    continue;
+                }
+                for (int x = 0; x < width; x++, in += pixelStride) {
+                    int luma = type == BufferedImage.TYPE_BYTE_GRAY
+                        ? data[in + bands[0]] & 0xFF
+                        : luma(data[in + bands[0]] & 0xFF, data[in + bands[1]] & 0xFF, data[in + bands[2]] & 0xFF);
+                    gray[out + x] = (byte) (bands.length > 3 ? overWhite(luma, data[in + bands[3]] & 0xFF) : luma);
+                }
+            }
+            return;
+        }
+
+        boolean alpha = image.getColorModel().hasAlpha();
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            int out = y * width;
+            for (int x = 0; x < width; x++) {
+                int argb = row[x];
+                int luma = luma((argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF);
+                gray[out + x] = (byte) (alpha ? overWhite(luma, argb >>> 24) : luma);
+            }
+        }
+    }
+
+    // Box filter: each target pixel averages the source pixels it covers, which keeps thin strokes visible.
+    private static void downscale(byte[] source, int width, int height, byte[] target, int targetWidth, int targetHeight) {
+        int[] columns = new int[targetWidth + 1];
+        for (int x = 0; x <= targetWidth; x++) {
+            columns[x] = (int) ((long) x * width / targetWidth);
+        }
+        int[] sums = new int[targetWidth];
+        for (int ty = 0; ty < targetHeight; ty++) {
+            int y0 = (int) ((long) ty * height / targetHeight);
+            int y1 = (int) ((long) (ty + 1) * height / targetHeight);
+            Arrays.fill(sums, 0);
+            for (int y = y0; y < y1; y++) {
+                int row = y * width;
+                for (int tx = 0; tx < targetWidth; tx++) {
+                    int sum = 0;
+                    for (int x = columns[tx]; x < columns[tx + 1]; x++) {
+                        sum += source[row + x] & 0xFF;
+                    }
+                    sums[tx] += sum;
+                }
+            }
+            int out = ty * targetWidth;
+            for (int tx = 0; tx < targetWidth; tx++) {
+                target[out + tx] = (byte) (sums[tx] / ((y1 - y0) * (columns[tx + 1] - columns[tx])));
+            }
+        }
+    }
+
+    private static void binarize(byte[] gray) {
+        int[] histogram = new int[256];
+        for (byte value : gray) {
+            histogram[value & 0xFF]++;
+        }
+        int threshold = otsuThreshold(histogram, gray.length);
+        for (int i = 0; i < gray.length; i++) {
+            gray[i] = (gray[i] & 0xFF) > threshold ? (byte) 0xFF : 0;
+        }
+    }
+
+    // The threshold that maximises the between-class variance of the two halves of the histogram.
+    static int otsuThreshold(int[] histogram, int total) {
+        long sum = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            sum += (long) i * histogram[i];
+        }
+        long backgroundSum = 0;
+        long backgroundWeight = 0;
+        double best = -1;
+        int threshold = 0;
+        for (int t = 0; t < histogram.length; t++) {
+            backgroundWeight += histogram[t];
+            if (backgroundWeight == 0) {
+                continue;
+            }
+            long foregroundWeight = total - backgroundWeight;
+            if (foregroundWeight == 0) {
+                break;
+            }
+            backgroundSum += (long) t * histogram[t];
+            double difference = (double) backgroundSum / backgroundWeight - (double) (sum - backgroundSum) / foregroundWeight;
+            double between = (double) backgroundWeight * foregroundWeight * difference * difference;
+            if (between > best) {
+                best = between;
+                threshold = t;
+            }
+        }
+        return threshold;
+    }
+
+    private static int luma(int red, int green, int blue) {
+        return (77 * red + 150 * green + 29 * blue) >> 8;
+    }
+
+    private static int overWhite(int luma, int alpha) {
+        return (luma * alpha + 0xFF * (0xFF - alpha)) / 0xFF;
+    }
+}
@@ -1,12 +1,52 @@
 package com.document.parsing.core.ocr;
 
+import com.document.parsing.core.exception.OcrUnavailableException;
 import com.document.parsing.core.exception.ParseException;
+import com.document.parsing.core.model.ImageElement;
 import com.document.parsing.core.parser.ParseOptions;
 
-public interface OcrService {
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public interface OcrService extends AutoCloseable {
 
     String extractText(byte[] imageData, String mimeType, ParseOptions options) throws ParseException;
 
+    // For callers that already hold decoded pixels. Engines that recognise rasters override this; the default
+    // encodes PNG for implementations that only understand bytes.
+    default String extractText(BufferedImage image, ParseOptions options) throws ParseException {
+        if (image == null) {
+            return "";
+        }
+        try (ByteArrayOutputStream png = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "png", png);
+            return extractText(png.toByteArray(), "image/png", options);
+        } catch (IOException e) {
+            throw new OcrUnavailableException("Failed to encode image for OCR", e);
+        }
+    }
+
+    default String extractText(ImageElement image, ParseOptions options) throws ParseException {
+        if (image.prefersRaster()) {
+            return extractText(image.getRaster(), options);
+        }
+        return extractText(image.getContent(), image.getMimeType(), options);
+    }
+
+    // One result per image, in input order. Implementations that can pipeline several images through one
+    // engine override this; a failure fails the whole batch and OcrDispatcher retries its images one by one.
+    default List<String> extractTextBatch(List<ImageElement> images, ParseOptions options) throws ParseException {
+        List<String> texts = new ArrayList<>(images.size());
+        for (ImageElement image : images) {
+            texts.add(extractText(image, options));
+        }
+        return texts;
+    }
+
     default boolean isAvailable() {
         return true;
     }
@@ -14,4 +54,10 @@ public interface OcrService {
     default int getPriority() {
         return 100;
     }
+
+    // Releases engine resources kept between calls, such as initialised native handles. Called when the
+    // owning parser is closed; the service may still be used afterwards and reacquires what it needs.
+    @Override
+    default void close() {
+    }
 }
@@ -0,0 +1,161 @@
+package com.document.parsing.core.ocr;
+
+import com.document.parsing.core.exception.OcrUnavailableException;
+import com.document.parsing.core.model.ImageElement;
+import com.document.parsing.core.parser.ParseOptions;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Images above ocrTileThresholdPixels are cut into full-width horizontal strips that overlap by STRIP_OVERLAP
+// rows, so a text line cut by one strip boundary is read whole by the neighbouring strip. Each strip holds about
+// a quarter of the threshold and is recognised as an image of its own; images with a region loader and
+// encoded images are decoded one strip region at a time, so the full raster is never held. Strip texts are joined top to bottom, dropping
+// the lines a strip repeats from the end of the one above it.
+public final class OcrTiling {
+    static final int STRIP_OVERLAP = 160;
+    private static final int MIN_STRIP_HEIGHT = 4 * STRIP_OVERLAP;
+    private static final int MAX_OVERLAP_LINES = 8;
+
+    private OcrTiling() {
+    }
+
+    public static boolean isTiled(long width, long height, ParseOptions options) {
+        long threshold = options.getOcrTileThresholdPixels();
+        return threshold > 0 && width > 0 && height > 0 && width * height > threshold
+            && height > stripHeight(width, threshold);
+    }
+
+    static List<ImageElement> split(ImageElement image, ParseOptions options) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (!isTiled(width, height, options)) {
+            return List.of(image);
+        }
+        int stripHeight = stripHeight(width, options.getOcrTileThresholdPixels());
+        RegionSource source;
+        if (image.hasRegionLoader()) {
+            source = image::getRegion;
+        } else if (image.prefersRaster()) {
+            source = new RasterSource(image);
+        } else {
+            byte[] content = image.getContent();
+            if (content == null) {
+                return List.of(image);
+            }
+            source = new EncodedSource(content);
+        }
+
+        List<ImageElement> strips = new ArrayList<>();
+        for (int top = 0; ; top += stripHeight - STRIP_OVERLAP) {
+            Rectangle region = new Rectangle(0, top, width, Math.min(stripHeight, height - top));
+            Supplier<BufferedImage> raster = () -> source.read(region);
+            strips.add(ImageElement.lazy(image.getId() + "-strip-" + (strips.size() + 1), image.getPageNumber(),
+                "image/png", region.width, region.height, () -> png(raster.get()), raster));
+            if (top + region.height >= height) {
+                break;
+            }
+        }
+        return strips;
+    }
+
+    static String merge(List<String> texts) {
+        List<String> lines = new ArrayList<>();
+        for (String text : texts) {
+            if (text == null || text.isBlank()) {
+                continue;
+            }
+            List<String> next = text.lines().map(String::strip).filter(line -> !line.isEmpty()).toList();
+            lines.addAll(next.subList(overlap(lines, next), next.size()));
+        }
+        return String.join("\n", lines);
+    }
+
+    private static int overlap(List<String> previous, List<String> next) {
+        for (int count = Math.min(MAX_OVERLAP_LINES, Math.min(previous.size(), next.size())); count > 0; count--) {
+            boolean same = true;
+            for (int i = 0; i < count && same; i++) {
+                same = normalize(previous.get(previous.size() - count + i)).equals(normalize(next.get(i)));
+            }
+            if (same) {
+                return count;
+            }
+        }
+        return 0;
+    }
+
+    private static String normalize(String line) {
+        return line.replaceAll("\\s+", " ");
+    }
+
+    private static int stripHeight(long width, long threshold) {
+        return (int) Math.max(MIN_STRIP_HEIGHT, Math.min(Integer.MAX_VALUE, threshold / 4 / width));
+    }
+
+    private static byte[] png(BufferedImage image) {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface RegionSource {
+        BufferedImage read(Rectangle region);
+    }
+
+    // Decoded once for all strips; each strip is a view onto the shared raster.
+    private static final class RasterSource implements RegionSource {
+        private final ImageElement image;
+        private BufferedImage raster;
+
+        private RasterSource(ImageElement image) {
+            this.image = image;
+        }
+
+        @Override
+        public synchronized BufferedImage read(Rectangle region) {
+            if (raster == null) {
+                raster = image.getRaster();
+            }
+            Rectangle clipped = region.intersection(new Rectangle(raster.getWidth(), raster.getHeight()));
+            return raster.getSubimage(clipped.x, clipped.y, clipped.width, clipped.height);
+        }
+    }
+
+    private record EncodedSource(byte[] content) implements RegionSource {
+        @Override
+        public BufferedImage read(Rectangle region) {
+            try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+                Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+                if (!readers.hasNext()) {
+                    throw new OcrUnavailableException("No image reader for OCR strip", null);
+                }
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(in, true, true);
+                    ImageReadParam param = reader.getDefaultReadParam();
+                    param.setSourceRegion(region);
+                    return reader.read(0, param);
+                } finally {
+                    reader.dispose();
+                }
+            } catch (IOException e) {
+                throw new OcrUnavailableException("Failed to decode image strip for OCR", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.document.parsing.core.ocr;
+
+import com.document.parsing.core.exception.OcrUnavailableException;
+import com.document.parsing.core.exception.ParseException;
+import com.document.parsing.core.model.ImageElement;
+import com.document.parsing.core.parser.ParseOptions;
+
+import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Runs OcrImagePreprocessor in front of the delegate. Encoded images are decoded here so the engine gets the
+// prepared raster; bytes ImageIO cannot read are passed on untouched for the delegate to judge.
+public class PreprocessingOcrService implements OcrService {
+    private final OcrService delegate;
+
+    public PreprocessingOcrService(OcrService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String extractText(byte[] imageData, String mimeType, ParseOptions options) throws ParseException {
+        if (!options.isOcrPreprocessEnabled() || imageData == null || imageData.length == 0) {
+            return delegate.extractText(imageData, mimeType, options);
+        }
+        BufferedImage image;
+        try {
+            image = ImageIO.read(new ByteArrayInputStream(imageData));
+        } catch (IOException e) {
+            image = null;
+        }
+        return image == null
+            ? delegate.extractText(imageData, mimeType, options)
+            : delegate.extractText(OcrImagePreprocessor.preprocess(image, options), options);
+    }
+
+    @Override
+    public String extractText(BufferedImage image, ParseOptions options) throws ParseException {
+        return delegate.extractText(OcrImagePreprocessor.preprocess(image, options), options);
+    }
+
+    // The batch reaches the delegate as one call. Each image is prepared only when the delegate takes its
+    // raster, so a batch never holds every prepared image at once.
+    @Override
+    public List<String> extractTextBatch(List<ImageElement> images, ParseOptions options) throws ParseException {
+        if (!options.isOcrPreprocessEnabled()) {
+            return delegate.extractTextBatch(images, options);
+        }
+        List<ImageElement> prepared = new ArrayList<>(images.size());
+        for (ImageElement image : images) {
+            prepared.add(prepare(image, options));
+        }
+        return delegate.extractTextBatch(prepared, options);
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return delegate.isAvailable();
+    }
+
+    @Override
+    public int getPriority() {
+        return delegate.getPriority();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private ImageElement prepare(ImageElement image, ParseOptions options) {
+        Supplier<BufferedImage> source;
+        if (image.prefersRaster()) {
+            source = image::getRaster;
+        } else {
+            byte[] content = image.getContent();
+            if (!readable(content)) {
+                return image;
+            }
+            source = () -> decode(content);
+        }
+        return ImageElement.lazy(image.getId(), image.getPageNumber(), image.getMimeType(), image.getWidth(),
+            image.getHeight(), image::getContent, () -> OcrImagePreprocessor.preprocess(source.get(), options));
+    }
+
+    private static boolean readable(byte[] content) {
+        if (content == null || content.length == 0) {
+            return false;
+        }
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            return in != null && ImageIO.getImageReaders(in).hasNext();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static BufferedImage decode(byte[] content) {
+        try {
+            return ImageIO.read(new ByteArrayInputStream(content));
+        } catch (IOException e) {
+            throw new OcrUnavailableException("Failed to decode image for OCR", e);
+        }
+    }
+}
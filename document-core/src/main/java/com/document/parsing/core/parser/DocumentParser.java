@@ -2,6 +2,7 @@ package com.document.parsing.core.parser;
 
 import com.document.parsing.core.event.BlockEvent;
 import com.document.parsing.core.model.DocumentType;
+import com.document.parsing.core.model.Metadata;
 import com.document.parsing.core.exception.ParseException;
 
 import java.util.Optional;
@@ -17,6 +18,11 @@ public interface DocumentParser {
         return Optional.empty();
     }
 
+    // Reads only what is needed for metadata (counts, title/author, encryption); empty falls back to a full parse.
+    default Optional<Metadata> probe(ParseRequest request) throws ParseException {
+        return Optional.empty();
+    }
+
     default int getPriority() {
         return 100;
     }
@@ -0,0 +1,17 @@
+package com.document.parsing.core.parser;
+
+import com.document.parsing.core.model.Document;
+import com.document.parsing.core.model.ParseWarning;
+
+import java.util.List;
+
+public interface EmbeddedDocumentResolver {
+
+    List<Document> resolve(ParseRequest parent, List<EmbeddedResource> resources, List<ParseWarning> warnings);
+
+    // Attachments of a message are governed by attachmentParsingEnabled rather than embeddedDocumentsEnabled.
+    default List<Document> resolveAttachments(ParseRequest parent, List<EmbeddedResource> attachments,
+                                              List<ParseWarning> warnings) {
+        return resolve(parent, attachments, warnings);
+    }
+}
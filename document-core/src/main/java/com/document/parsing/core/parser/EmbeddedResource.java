@@ -0,0 +1,72 @@
+package com.document.parsing.core.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+public final class EmbeddedResource {
+    private final String name;
+    private final String contentType;
+    private final long size;
+    private final byte[] data;
+    private final Source source;
+
+    public EmbeddedResource(String name, String contentType, byte[] data) {
+        Objects.requireNonNull(data, "data must not be null");
+        this.name = name;
+        this.contentType = contentType;
+        this.size = data.length;
+        this.data = data;
+        this.source = () -> new ByteArrayInputStream(data);
+    }
+
+    private EmbeddedResource(String name, String contentType, long size, Source source) {
+        this.name = name;
+        this.contentType = contentType;
+        this.size = size;
+        this.data = null;
+        this.source = source;
+    }
+
+    public static EmbeddedResource ofPath(String name, String contentType, Path path) throws IOException {
+        Objects.requireNonNull(path, "path must not be null");
+        return new EmbeddedResource(name, contentType, Files.size(path), () -> Files.newInputStream(path));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    // Path-backed resources are read into memory on every call; prefer openStream for those.
+    public byte[] data() {
+        if (data != null) {
+            return data;
+        }
+        try (InputStream in = source.open()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public InputStream openStream() throws IOException {
+        return source.open();
+    }
+
+    @FunctionalInterface
+    private interface Source {
+        InputStream open() throws IOException;
+    }
+}
@@ -1,10 +1,20 @@
 package com.document.parsing.core.parser;
 
+import com.document.parsing.core.render.PageImageSink;
+import com.document.parsing.core.render.RenderOptions;
+
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Objects;
 
 public class ParseOptions {
+    public enum LayoutCapture {
+        NONE,
+        LINE,
+        WORD
+    }
+
     private final boolean enableOcr;
     private final boolean failOnOcrError;
     private final int maxPages;
@@ -12,6 +22,37 @@ public class ParseOptions {
     private final boolean watermarkCleanupEnabled;
     private final int lowTextDensityThreshold;
     private final String ocrDataPath;
+    private final boolean embeddedDocumentsEnabled;
+    private final int maxEmbeddedDepth;
+    private final long maxEmbeddedSize;
+    private final boolean attachmentParsingEnabled;
+    private final ResourceLimits resourceLimits;
+    private final boolean parallelPagesEnabled;
+    private final int pageChunkSize;
+    private final boolean textOnly;
+    private final int pdfResourceCacheSize;
+    private final long ocrMinImageArea;
+    private final double ocrMaxAspectRatio;
+    private final int ocrMaxImagesPerPage;
+    private final boolean scannedPageRoutingEnabled;
+    private final int ocrRenderDpi;
+    private final RenderOptions pageRenderOptions;
+    private final PageImageSink pageImageSink;
+    private final LayoutCapture layoutCapture;
+    private final int ocrPipelineDepth;
+    private final String ocrLanguage;
+    private final int ocrEngineMode;
+    private final int ocrPageSegMode;
+    private final int ocrMaxConcurrency;
+    private final boolean ocrCacheEnabled;
+    private final Path ocrCacheDirectory;
+    private final int ocrCacheMaxEntries;
+    private final long ocrCacheMaxDiskBytes;
+    private final boolean ocrPreprocessEnabled;
+    private final int ocrTargetDpi;
+    private final boolean ocrBinarize;
+    private final double ocrBlankInkThreshold;
+    private final long ocrTileThresholdPixels;
 
     private ParseOptions(Builder builder) {
         this.enableOcr = builder.enableOcr;
@@ -21,6 +62,37 @@ public class ParseOptions {
         this.watermarkCleanupEnabled = builder.watermarkCleanupEnabled;
         this.lowTextDensityThreshold = builder.lowTextDensityThreshold;
         this.ocrDataPath = builder.ocrDataPath;
+        this.embeddedDocumentsEnabled = builder.embeddedDocumentsEnabled;
+        this.maxEmbeddedDepth = builder.maxEmbeddedDepth;
+        this.maxEmbeddedSize = builder.maxEmbeddedSize;
+        this.attachmentParsingEnabled = builder.attachmentParsingEnabled;
+        this.resourceLimits = builder.resourceLimits;
+        this.parallelPagesEnabled = builder.parallelPagesEnabled;
+        this.pageChunkSize = builder.pageChunkSize;
+        this.textOnly = builder.textOnly;
+        this.pdfResourceCacheSize = builder.pdfResourceCacheSize;
+        this.ocrMinImageArea = builder.ocrMinImageArea;
+        this.ocrMaxAspectRatio = builder.ocrMaxAspectRatio;
+        this.ocrMaxImagesPerPage = builder.ocrMaxImagesPerPage;
+        this.scannedPageRoutingEnabled = builder.scannedPageRoutingEnabled;
+        this.ocrRenderDpi = builder.ocrRenderDpi;
+        this.pageRenderOptions = builder.pageRenderOptions;
+        this.pageImageSink = builder.pageImageSink;
+        this.layoutCapture = builder.layoutCapture;
+        this.ocrPipelineDepth = builder.ocrPipelineDepth;
+        this.ocrLanguage = builder.ocrLanguage;
+        this.ocrEngineMode = builder.ocrEngineMode;
+        this.ocrPageSegMode = builder.ocrPageSegMode;
+        this.ocrMaxConcurrency = builder.ocrMaxConcurrency;
+        this.ocrCacheEnabled = builder.ocrCacheEnabled;
+        this.ocrCacheDirectory = builder.ocrCacheDirectory;
+        this.ocrCacheMaxEntries = builder.ocrCacheMaxEntries;
+        this.ocrCacheMaxDiskBytes = builder.ocrCacheMaxDiskBytes;
+        this.ocrPreprocessEnabled = builder.ocrPreprocessEnabled;
+        this.ocrTargetDpi = builder.ocrTargetDpi;
+        this.ocrBinarize = builder.ocrBinarize;
+        this.ocrBlankInkThreshold = builder.ocrBlankInkThreshold;
+        this.ocrTileThresholdPixels = builder.ocrTileThresholdPixels;
     }
 
     public static ParseOptions defaultOptions() {
@@ -59,6 +131,134 @@ public class ParseOptions {
         return ocrDataPath;
     }
 
+    public boolean isEmbeddedDocumentsEnabled() {
+        return embeddedDocumentsEnabled;
+    }
+
+    public int getMaxEmbeddedDepth() {
+        return maxEmbeddedDepth;
+    }
+
+    public long getMaxEmbeddedSize() {
+        return maxEmbeddedSize;
+    }
+
+    public boolean isAttachmentParsingEnabled() {
+        return attachmentParsingEnabled;
+    }
+
+    public ResourceLimits getResourceLimits() {
+        return resourceLimits;
+    }
+
+    public boolean isParallelPagesEnabled() {
+        return parallelPagesEnabled;
+    }
+
+    public int getPageChunkSize() {
+        return pageChunkSize;
+    }
+
+    public boolean isTextOnly() {
+        return textOnly;
+    }
+
+    public int getPdfResourceCacheSize() {
+        return pdfResourceCacheSize;
+    }
+
+    public long getOcrMinImageArea() {
+        return ocrMinImageArea;
+    }
+
+    public double getOcrMaxAspectRatio() {
+        return ocrMaxAspectRatio;
+    }
+
+    public int getOcrMaxImagesPerPage() {
+        return ocrMaxImagesPerPage;
+    }
+
+    public boolean isScannedPageRoutingEnabled() {
+        return scannedPageRoutingEnabled;
+    }
+
+    public int getOcrRenderDpi() {
+        return ocrRenderDpi;
+    }
+
+    public RenderOptions getPageRenderOptions() {
+        return pageRenderOptions;
+    }
+
+    public PageImageSink getPageImageSink() {
+        return pageImageSink;
+    }
+
+    public boolean isPageRenderingEnabled() {
+        return pageRenderOptions != null && pageImageSink != null;
+    }
+
+    public LayoutCapture getLayoutCapture() {
+        return layoutCapture;
+    }
+
+    public int getOcrPipelineDepth() {
+        return ocrPipelineDepth;
+    }
+
+    public String getOcrLanguage() {
+        return ocrLanguage;
+    }
+
+    public int getOcrEngineMode() {
+        return ocrEngineMode;
+    }
+
+    public int getOcrPageSegMode() {
+        return ocrPageSegMode;
+    }
+
+    public int getOcrMaxConcurrency() {
+        return ocrMaxConcurrency;
+    }
+
+    public boolean isOcrCacheEnabled() {
+        return ocrCacheEnabled;
+    }
+
+    public Path getOcrCacheDirectory() {
+        return ocrCacheDirectory;
+    }
+
+    public int getOcrCacheMaxEntries() {
+        return ocrCacheMaxEntries;
+    }
+
+    public long getOcrCacheMaxDiskBytes() {
+        return ocrCacheMaxDiskBytes;
+    }
+
+    public boolean isOcrPreprocessEnabled() {
+        return ocrPreprocessEnabled;
+    }
+
+    public int getOcrTargetDpi() {
+        return ocrTargetDpi;
+    }
+
+    public boolean isOcrBinarize() {
+        return ocrBinarize;
+    }
+
+    public double getOcrBlankInkThreshold() {
+        return ocrBlankInkThreshold;
+    }
+
+    public long getOcrTileThresholdPixels() {
+        return ocrTileThresholdPixels;
+    }
+
     public static final class Builder {
         private boolean enableOcr = true;
         private boolean failOnOcrError = false;
@@ -67,6 +267,37 @@ public class ParseOptions {
         private boolean watermarkCleanupEnabled = false;
         private int lowTextDensityThreshold = 40;
         private String ocrDataPath;
+        private boolean embeddedDocumentsEnabled = false;
+        private int maxEmbeddedDepth = 2;
+        private long maxEmbeddedSize = 32L * 1024 * 1024;
+        private boolean attachmentParsingEnabled = true;
+        private ResourceLimits resourceLimits = ResourceLimits.defaultLimits();
+        private boolean parallelPagesEnabled = false;
+        private int pageChunkSize = 64;
+        private boolean textOnly = false;
+        private int pdfResourceCacheSize = 128;
+        private long ocrMinImageArea = 10_000;
+        private double ocrMaxAspectRatio = 20.0;
+        private int ocrMaxImagesPerPage = 10;
+        private boolean scannedPageRoutingEnabled = true;
+        private int ocrRenderDpi = 300;
+        private RenderOptions pageRenderOptions;
+        private PageImageSink pageImageSink;
+        private LayoutCapture layoutCapture = LayoutCapture.NONE;
+        private int ocrPipelineDepth = 4;
+        private String ocrLanguage = "eng";
+        private int ocrEngineMode = 3;
+        private int ocrPageSegMode = 3;
+        private boolean ocrCacheEnabled = true;
+        private Path ocrCacheDirectory;
+        private int ocrCacheMaxEntries = 4096;
+        private long ocrCacheMaxDiskBytes = 512L * 1024 * 1024;
+        private boolean ocrPreprocessEnabled = true;
+        private int ocrTargetDpi = 300;
+        private boolean ocrBinarize = false;
+        private double ocrBlankInkThreshold = 0.0001;
+        private long ocrTileThresholdPixels = 50_000_000;
+        private int ocrMaxConcurrency = Runtime.getRuntime().availableProcessors();
 
         public Builder enableOcr(boolean enableOcr) {
             this.enableOcr = enableOcr;
@@ -103,6 +334,215 @@ public class ParseOptions {
             return this;
         }
 
+        public Builder embeddedDocumentsEnabled(boolean embeddedDocumentsEnabled) {
+            this.embeddedDocumentsEnabled = embeddedDocumentsEnabled;
+            return this;
+        }
+
+        public Builder maxEmbeddedDepth(int maxEmbeddedDepth) {
+            this.maxEmbeddedDepth = maxEmbeddedDepth;
+            return this;
+        }
+
+        public Builder maxEmbeddedSize(long maxEmbeddedSize) {
+            this.maxEmbeddedSize = maxEmbeddedSize;
+            return this;
+        }
+
+        public Builder attachmentParsingEnabled(boolean attachmentParsingEnabled) {
+            this.attachmentParsingEnabled = attachmentParsingEnabled;
+            return this;
+        }
+
+        public Builder resourceLimits(ResourceLimits resourceLimits) {
+            this.resourceLimits = Objects.requireNonNull(resourceLimits, "resourceLimits must not be null");
+            return this;
+        }
+
+        public Builder parallelPagesEnabled(boolean parallelPagesEnabled) {
+            this.parallelPagesEnabled = parallelPagesEnabled;
+            return this;
+        }
+
+        public Builder pageChunkSize(int pageChunkSize) {
+            if (pageChunkSize <= 0) {
+                throw new IllegalArgumentException("pageChunkSize must be positive");
+            }
+            this.pageChunkSize = pageChunkSize;
+            return this;
+        }
+
+        public Builder textOnly(boolean textOnly) {
+            this.textOnly = textOnly;
+            return this;
+        }
+
+        // Entries kept per resource kind (fonts, XObjects, colour spaces...); 0 disables caching, -1 keeps PDFBox's unbounded default.
+        public Builder pdfResourceCacheSize(int pdfResourceCacheSize) {
+            this.pdfResourceCacheSize = pdfResourceCacheSize;
+            return this;
+        }
+
+        // Images smaller than this many pixels (icons, bullets, logos) are never sent to OCR.
+        public Builder ocrMinImageArea(long ocrMinImageArea) {
+            this.ocrMinImageArea = ocrMinImageArea;
+            return this;
+        }
+
+        // Long side / short side above which an image is treated as a rule or border; 0 disables the check.
+        public Builder ocrMaxAspectRatio(double ocrMaxAspectRatio) {
+            this.ocrMaxAspectRatio = ocrMaxAspectRatio;
+            return this;
+        }
+
+        // Largest images win when a page has more candidates; 0 or negative means no cap.
+        public Builder ocrMaxImagesPerPage(int ocrMaxImagesPerPage) {
+            this.ocrMaxImagesPerPage = ocrMaxImagesPerPage;
+            return this;
+        }
+
+        // Pages without fonts whose only content is one full-page image skip text extraction and are rendered for OCR.
+        public Builder scannedPageRoutingEnabled(boolean scannedPageRoutingEnabled) {
+            this.scannedPageRoutingEnabled = scannedPageRoutingEnabled;
+            return this;
+        }
+
+        public Builder ocrRenderDpi(int ocrRenderDpi) {
+            if (ocrRenderDpi <= 0) {
+                throw new IllegalArgumentException("ocrRenderDpi must be positive");
+            }
+            this.ocrRenderDpi = ocrRenderDpi;
+            return this;
+        }
+
+        // Rasterizes pages during the parse itself, so previews do not need a second load of the document.
+        public Builder renderPages(RenderOptions pageRenderOptions, PageImageSink pageImageSink) {
+            this.pageRenderOptions = Objects.requireNonNull(pageRenderOptions, "pageRenderOptions must not be null");
+            this.pageImageSink = Objects.requireNonNull(pageImageSink, "pageImageSink must not be null");
+            return this;
+        }
+
+        // Attaches packed bounding boxes to text and image blocks where the format has coordinates (PDF today).
+        public Builder layoutCapture(LayoutCapture layoutCapture) {
+            this.layoutCapture = Objects.requireNonNullElse(layoutCapture, LayoutCapture.NONE);
+            return this;
+        }
+
+        // Pages whose OCR may run on worker threads ahead of the text pass; 0 keeps OCR on the parsing thread.
+        public Builder ocrPipelineDepth(int ocrPipelineDepth) {
+            if (ocrPipelineDepth < 0) {
+                throw new IllegalArgumentException("ocrPipelineDepth must not be negative");
+            }
+            this.ocrPipelineDepth = ocrPipelineDepth;
+            return this;
+        }
+
+        // Tesseract language codes joined with "+", e.g. "eng+deu"; each needs a traineddata file in ocrDataPath.
+        public Builder ocrLanguage(String ocrLanguage) {
+            if (ocrLanguage == null || ocrLanguage.isBlank()) {
+                throw new IllegalArgumentException("ocrLanguage must not be blank");
+            }
+            this.ocrLanguage = ocrLanguage;
+            return this;
+        }
+
+        // Tesseract --oem: 0 legacy, 1 LSTM, 2 both, 3 whatever the traineddata supports.
+        public Builder ocrEngineMode(int ocrEngineMode) {
+            if (ocrEngineMode < 0 || ocrEngineMode > 3) {
+                throw new IllegalArgumentException("ocrEngineMode must be between 0 and 3");
+            }
+            this.ocrEngineMode = ocrEngineMode;
+            return this;
+        }
+
+        // Tesseract --psm; 3 is fully automatic page segmentation.
+        public Builder ocrPageSegMode(int ocrPageSegMode) {
+            if (ocrPageSegMode < 0 || ocrPageSegMode > 13) {
+                throw new IllegalArgumentException("ocrPageSegMode must be between 0 and 13");
+            }
+            this.ocrPageSegMode = ocrPageSegMode;
+            return this;
+        }
+
+        // Upper bound on images recognised at the same time, and on the engine handles kept per language setup.
+        public Builder ocrMaxConcurrency(int ocrMaxConcurrency) {
+            if (ocrMaxConcurrency <= 0) {
+                throw new IllegalArgumentException("ocrMaxConcurrency must be positive");
+            }
+            this.ocrMaxConcurrency = ocrMaxConcurrency;
+            return this;
+        }
+
+        // Reuses OCR text for byte-identical images recognised with the same language, engine and segmentation settings.
+        public Builder ocrCacheEnabled(boolean ocrCacheEnabled) {
+            this.ocrCacheEnabled = ocrCacheEnabled;
+            return this;
+        }
+
+        // Adds a disk tier under this directory that outlives the process; null keeps the cache in memory only.
+        public Builder ocrCacheDirectory(Path ocrCacheDirectory) {
+            this.ocrCacheDirectory = ocrCacheDirectory;
+            return this;
+        }
+
+        // Entries kept in the in-memory tier; the cache behind the SPI service is shared, so the latest value applies.
+        public Builder ocrCacheMaxEntries(int ocrCacheMaxEntries) {
+            if (ocrCacheMaxEntries <= 0) {
+                throw new IllegalArgumentException("ocrCacheMaxEntries must be positive");
+            }
+            this.ocrCacheMaxEntries = ocrCacheMaxEntries;
+            return this;
+        }
+
+        // Size the disk tier is pruned back to, least recently used files first; 0 leaves it unbounded.
+        public Builder ocrCacheMaxDiskBytes(long ocrCacheMaxDiskBytes) {
+            if (ocrCacheMaxDiskBytes < 0) {
+                throw new IllegalArgumentException("ocrCacheMaxDiskBytes must not be negative");
+            }
+            this.ocrCacheMaxDiskBytes = ocrCacheMaxDiskBytes;
+            return this;
+        }
+
+        // Converts images to grayscale and applies ocrTargetDpi / ocrBinarize before they reach the OCR engine.
+        public Builder ocrPreprocessEnabled(boolean ocrPreprocessEnabled) {
+            this.ocrPreprocessEnabled = ocrPreprocessEnabled;
+            return this;
+        }
+
+        // Images denser than this are downscaled before OCR; 0 keeps their resolution. Never upscales.
+        public Builder ocrTargetDpi(int ocrTargetDpi) {
+            if (ocrTargetDpi < 0) {
+                throw new IllegalArgumentException("ocrTargetDpi must not be negative");
+            }
+            this.ocrTargetDpi = ocrTargetDpi;
+            return this;
+        }
+
+        // Thresholds the grayscale image to black and white (Otsu) before OCR.
+        public Builder ocrBinarize(boolean ocrBinarize) {
+            this.ocrBinarize = ocrBinarize;
+            return this;
+        }
+
+        // Images whose sampled ink coverage stays below this share are treated as blank and not recognised; 0 disables the check.
+        public Builder ocrBlankInkThreshold(double ocrBlankInkThreshold) {
+            if (ocrBlankInkThreshold < 0 || ocrBlankInkThreshold >= 1) {
+                throw new IllegalArgumentException("ocrBlankInkThreshold must be between 0 and 1");
+            }
+            this.ocrBlankInkThreshold = ocrBlankInkThreshold;
+            return this;
+        }
+
+        // Images with more pixels are recognised as overlapping horizontal strips in parallel; 0 never splits them.
+        // Tiled PDF images bypass maxImagePixels, so the default sits below that limit's default.
+        public Builder ocrTileThresholdPixels(long ocrTileThresholdPixels) {
+            if (ocrTileThresholdPixels < 0) {
+                throw new IllegalArgumentException("ocrTileThresholdPixels must not be negative");
+            }
+            this.ocrTileThresholdPixels = ocrTileThresholdPixels;
+            return this;
+        }
+
         public ParseOptions build() {
             return new ParseOptions(this);
         }
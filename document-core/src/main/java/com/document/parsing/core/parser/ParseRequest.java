@@ -4,7 +4,9 @@ import com.document.parsing.core.model.DocumentType;
 
 import java.io.BufferedInputStream;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 public class ParseRequest {
     private final InputStream stream;
@@ -12,6 +14,11 @@ public class ParseRequest {
     private final long size;
     private final DocumentType hintedType;
     private final ParseOptions options;
+    private final int depth;
+    private final EmbeddedDocumentResolver embeddedResolver;
+    private final Path sourceFile;
+    private final Executor workerExecutor;
+    private final Executor ocrExecutor;
 
     private ParseRequest(Builder builder) {
         InputStream rawStream = Objects.requireNonNull(builder.stream, "stream must not be null");
@@ -20,6 +27,11 @@ public class ParseRequest {
         this.size = builder.size;
         this.hintedType = builder.hintedType;
         this.options = builder.options == null ? ParseOptions.defaultOptions() : builder.options;
+        this.depth = builder.depth;
+        this.embeddedResolver = builder.embeddedResolver;
+        this.sourceFile = builder.sourceFile;
+        this.workerExecutor = builder.workerExecutor;
+        this.ocrExecutor = builder.ocrExecutor;
     }
 
     public static Builder builder() {
@@ -32,7 +44,12 @@ public class ParseRequest {
             .fileName(fileName)
             .size(size)
             .hintedType(hintedType)
-            .options(options);
+            .options(options)
+            .depth(depth)
+            .embeddedResolver(embeddedResolver)
+            .sourceFile(sourceFile)
+            .workerExecutor(workerExecutor)
+            .ocrExecutor(ocrExecutor);
     }
 
     public InputStream getStream() {
@@ -55,12 +72,37 @@ public class ParseRequest {
         return options;
     }
 
+    public int getDepth() {
+        return depth;
+    }
+
+    public EmbeddedDocumentResolver getEmbeddedResolver() {
+        return embeddedResolver;
+    }
+
+    public Path getSourceFile() {
+        return sourceFile;
+    }
+
+    public Executor getWorkerExecutor() {
+        return workerExecutor;
+    }
+
+    public Executor getOcrExecutor() {
+        return ocrExecutor;
+    }
+
     public static final class Builder {
         private InputStream stream;
         private String fileName;
         private long size = -1L;
         private DocumentType hintedType = DocumentType.UNKNOWN;
         private ParseOptions options = ParseOptions.defaultOptions();
+        private int depth;
+        private EmbeddedDocumentResolver embeddedResolver;
+        private Path sourceFile;
+        private Executor workerExecutor;
+        private Executor ocrExecutor;
 
         public Builder stream(InputStream stream) {
             this.stream = stream;
@@ -87,6 +129,32 @@ public class ParseRequest {
             return this;
         }
 
+        public Builder depth(int depth) {
+            this.depth = depth;
+            return this;
+        }
+
+        public Builder embeddedResolver(EmbeddedDocumentResolver embeddedResolver) {
+            this.embeddedResolver = embeddedResolver;
+            return this;
+        }
+
+        public Builder sourceFile(Path sourceFile) {
+            this.sourceFile = sourceFile;
+            return this;
+        }
+
+        public Builder workerExecutor(Executor workerExecutor) {
+            this.workerExecutor = workerExecutor;
+            return this;
+        }
+
+        // Pool that recognition runs on, kept apart from workerExecutor so OCR cannot starve page parsing.
+        public Builder ocrExecutor(Executor ocrExecutor) {
+            this.ocrExecutor = ocrExecutor;
+            return this;
+        }
+
         public ParseRequest build() {
             return new ParseRequest(this);
         }
@@ -0,0 +1,128 @@
+package com.document.parsing.core.parser;
+
+import com.document.parsing.core.exception.ResourceLimitExceededException;
+import com.document.parsing.core.model.ParseWarning;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public final class ResourceGuard {
+    public static final String TRUNCATED_WARNING = "RESOURCE_LIMIT_TRUNCATED";
+
+    private final ResourceLimits limits;
+    private final List<ParseWarning> warnings;
+    private final ResourceGuard parent;
+    private final Set<String> reported = new HashSet<>();
+
+    private long characters;
+    private long rows;
+    private long cells;
+    private boolean exhausted;
+
+    private ResourceGuard(ResourceLimits limits, List<ParseWarning> warnings, ResourceGuard parent) {
+        this.limits = limits;
+        this.warnings = warnings;
+        this.parent = parent;
+    }
+
+    public static ResourceGuard of(ParseOptions options, List<ParseWarning> warnings) {
+        return new ResourceGuard(options.getResourceLimits(), warnings, null);
+    }
+
+    // For a part of a document parsed ahead of the parts before it. Every check but the character budget goes
+    // to this guard. Characters are only counted within the part, truncating silently so the part stops once
+    // it alone has used up the budget; its text is charged here in document order when the parts are joined.
+    public ResourceGuard fork() {
+        return new ResourceGuard(limits, warnings, this);
+    }
+
+    public ResourceLimits getLimits() {
+        return limits;
+    }
+
+    public synchronized String limitText(String text) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        long max = limits.getMaxCharacters();
+        if (max <= 0 || characters + text.length() <= max) {
+            characters += text.length();
+            return text;
+        }
+        long remaining = Math.max(0, max - characters);
+        characters = max;
+        exhausted = true;
+        if (parent == null) {
+            exceeded("maxCharacters", max, "Document text exceeds " + max + " characters");
+        }
+        return text.substring(0, (int) remaining);
+    }
+
+    public synchronized boolean allowRow() {
+        if (parent != null) {
+            return parent.allowRow();
+        }
+        long max = limits.getMaxRows();
+        if (max <= 0 || rows < max) {
+            rows++;
+            return true;
+        }
+        exhausted = true;
+        exceeded("maxRows", max, "Document exceeds " + max + " rows");
+        return false;
+    }
+
+    public synchronized boolean allowCell() {
+        if (parent != null) {
+            return parent.allowCell();
+        }
+        long max = limits.getMaxCells();
+        if (max <= 0 || cells < max) {
+            cells++;
+            return true;
+        }
+        exhausted = true;
+        exceeded("maxCells", max, "Document exceeds " + max + " cells");
+        return false;
+    }
+
+    public synchronized boolean allowImage(String imageId, long width, long height) {
+        if (parent != null) {
+            return parent.allowImage(imageId, width, height);
+        }
+        long max = limits.getMaxImagePixels();
+        if (max <= 0 || width <= 0 || height <= 0 || width * height <= max) {
+            return true;
+        }
+        exceeded("maxImagePixels", max,
+            "Image " + imageId + " has " + width + "x" + height + " pixels, above the limit of " + max);
+        return false;
+    }
+
+    public synchronized boolean allowBlock(int pageNumber, int blocksOnPage) {
+        if (parent != null) {
+            return parent.allowBlock(pageNumber, blocksOnPage);
+        }
+        int max = limits.getMaxBlocksPerPage();
+        if (max <= 0 || blocksOnPage < max) {
+            return true;
+        }
+        exceeded("maxBlocksPerPage", max, "Page " + pageNumber + " exceeds " + max + " blocks");
+        return false;
+    }
+
+    // Set once a document-wide budget (characters, rows, cells) is spent; per-item limits only skip that item.
+    public synchronized boolean isExhausted() {
+        return exhausted;
+    }
+
+    private void exceeded(String limit, long threshold, String message) {
+        if (limits.getAction() == ResourceLimits.Action.FAIL) {
+            throw new ResourceLimitExceededException(limit, threshold, message);
+        }
+        if (reported.add(limit)) {
+            warnings.add(new ParseWarning(TRUNCATED_WARNING, message + "; output truncated"));
+        }
+    }
+}
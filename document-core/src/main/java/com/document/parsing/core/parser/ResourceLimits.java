@@ -0,0 +1,137 @@
+package com.document.parsing.core.parser;
+
+import java.util.Objects;
+
+public class ResourceLimits {
+    public enum Action {
+        FAIL,
+        TRUNCATE
+    }
+
+    private final double maxDecompressionRatio;
+    private final int maxZipEntries;
+    private final long maxCharacters;
+    private final long maxRows;
+    private final long maxCells;
+    private final long maxImagePixels;
+    private final int maxBlocksPerPage;
+    private final Action action;
+
+    private ResourceLimits(Builder builder) {
+        this.maxDecompressionRatio = builder.maxDecompressionRatio;
+        this.maxZipEntries = builder.maxZipEntries;
+        this.maxCharacters = builder.maxCharacters;
+        this.maxRows = builder.maxRows;
+        this.maxCells = builder.maxCells;
+        this.maxImagePixels = builder.maxImagePixels;
+        this.maxBlocksPerPage = builder.maxBlocksPerPage;
+        this.action = builder.action;
+    }
+
+    public static ResourceLimits defaultLimits() {
+        return builder().build();
+    }
+
+    public static ResourceLimits unlimited() {
+        return builder()
+            .maxDecompressionRatio(-1)
+            .maxZipEntries(-1)
+            .maxCharacters(-1)
+            .maxRows(-1)
+            .maxCells(-1)
+            .maxImagePixels(-1)
+            .maxBlocksPerPage(-1)
+            .build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public double getMaxDecompressionRatio() {
+        return maxDecompressionRatio;
+    }
+
+    public int getMaxZipEntries() {
+        return maxZipEntries;
+    }
+
+    public long getMaxCharacters() {
+        return maxCharacters;
+    }
+
+    public long getMaxRows() {
+        return maxRows;
+    }
+
+    public long getMaxCells() {
+        return maxCells;
+    }
+
+    public long getMaxImagePixels() {
+        return maxImagePixels;
+    }
+
+    public int getMaxBlocksPerPage() {
+        return maxBlocksPerPage;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public static final class Builder {
+        private double maxDecompressionRatio = 100;
+        private int maxZipEntries = 10_000;
+        private long maxCharacters = 100_000_000L;
+        private long maxRows = 5_000_000L;
+        private long maxCells = 50_000_000L;
+        private long maxImagePixels = 100_000_000L;
+        private int maxBlocksPerPage = 100_000;
+        private Action action = Action.FAIL;
+
+        public Builder maxDecompressionRatio(double maxDecompressionRatio) {
+            this.maxDecompressionRatio = maxDecompressionRatio;
+            return this;
+        }
+
+        public Builder maxZipEntries(int maxZipEntries) {
+            this.maxZipEntries = maxZipEntries;
+            return this;
+        }
+
+        public Builder maxCharacters(long maxCharacters) {
+            this.maxCharacters = maxCharacters;
+            return this;
+        }
+
+        public Builder maxRows(long maxRows) {
+            this.maxRows = maxRows;
+            return this;
+        }
+
+        public Builder maxCells(long maxCells) {
+            this.maxCells = maxCells;
+            return this;
+        }
+
+        public Builder maxImagePixels(long maxImagePixels) {
+            this.maxImagePixels = maxImagePixels;
+            return this;
+        }
+
+        public Builder maxBlocksPerPage(int maxBlocksPerPage) {
+            this.maxBlocksPerPage = maxBlocksPerPage;
+            return this;
+        }
+
+        public Builder action(Action action) {
+            this.action = Objects.requireNonNull(action, "action must not be null");
+            return this;
+        }
+
+        public ResourceLimits build() {
+            return new ResourceLimits(this);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.document.parsing.core.render;
+
+import com.document.parsing.core.model.ImageElement;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Receives rendered pages as they are produced. When pages are rendered on several workers, calls arrive
+// concurrently and out of page order, so implementations must be thread-safe.
+@FunctionalInterface
+public interface PageImageSink {
+
+    void accept(ImageElement pageImage) throws IOException;
+
+    static PageImageSink toDirectory(Path directory) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return pageImage -> {
+            String extension = pageImage.getMimeType().substring(pageImage.getMimeType().indexOf('/') + 1);
+            Files.write(directory.resolve(String.format("page-%04d.%s", pageImage.getPageNumber(), extension)),
+                pageImage.getContent());
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package com.document.parsing.core.render;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+public class RenderOptions {
+    public enum ColorMode {
+        RGB,
+        GRAY,
+        BINARY
+    }
+
+    private final float dpi;
+    private final ColorMode colorMode;
+    private final Set<Integer> pages;
+    private final int pagesPerTask;
+
+    private RenderOptions(Builder builder) {
+        this.dpi = builder.dpi;
+        this.colorMode = builder.colorMode;
+        this.pages = Set.copyOf(builder.pages);
+        this.pagesPerTask = builder.pagesPerTask;
+    }
+
+    public static RenderOptions defaultOptions() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public float getDpi() {
+        return dpi;
+    }
+
+    public ColorMode getColorMode() {
+        return colorMode;
+    }
+
+    public Set<Integer> getPages() {
+        return pages;
+    }
+
+    public int getPagesPerTask() {
+        return pagesPerTask;
+    }
+
+    // Page numbers are 1-based; an empty selection means every page.
+    public boolean includes(int pageNumber) {
+        return pages.isEmpty() || pages.contains(pageNumber);
+    }
+
+    public static final class Builder {
+        private float dpi = 150;
+        private ColorMode colorMode = ColorMode.RGB;
+        private final Set<Integer> pages = new TreeSet<>();
+        private int pagesPerTask = 16;
+
+        public Builder dpi(float dpi) {
+            if (dpi <= 0) {
+                throw new IllegalArgumentException("dpi must be positive");
+            }
+            this.dpi = dpi;
+            return this;
+        }
+
+        public Builder colorMode(ColorMode colorMode) {
+            this.colorMode = colorMode == null ? ColorMode.RGB : colorMode;
+            return this;
+        }
+
+        public Builder pages(int... pageNumbers) {
+            for (int pageNumber : pageNumbers) {
+                page(pageNumber);
+            }
+            return this;
+        }
+
+        public Builder pageRange(int firstPage, int lastPage) {
+            for (int pageNumber = firstPage; pageNumber <= lastPage; pageNumber++) {
+                page(pageNumber);
+            }
+            return this;
+        }
+
+        public Builder pagesPerTask(int pagesPerTask) {
+            if (pagesPerTask <= 0) {
+                throw new IllegalArgumentException("pagesPerTask must be positive");
+            }
+            this.pagesPerTask = pagesPerTask;
+            return this;
+        }
+
+        private void page(int pageNumber) {
+            if (pageNumber <= 0) {
+                throw new IllegalArgumentException("page numbers start at 1");
+            }
+            pages.add(pageNumber);
+        }
+
+        public RenderOptions build() {
+            return new RenderOptions(this);
+        }
+    }
+}
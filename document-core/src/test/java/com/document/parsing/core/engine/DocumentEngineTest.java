@@ -2,11 +2,16 @@ package com.document.parsing.core.engine;
 
 import com.document.parsing.core.event.BlockEvent;
 import com.document.parsing.core.event.BlockEventType;
+import com.document.parsing.core.exception.ParseException;
 import com.document.parsing.core.model.Document;
 import com.document.parsing.core.model.DocumentType;
+import com.document.parsing.core.model.Metadata;
 import com.document.parsing.core.model.Page;
+import com.document.parsing.core.model.ParseWarning;
 import com.document.parsing.core.model.TextBlock;
 import com.document.parsing.core.parser.DocumentParser;
+import com.document.parsing.core.parser.EmbeddedResource;
+import com.document.parsing.core.parser.ParseOptions;
 import com.document.parsing.core.parser.ParseRequest;
 import com.document.parsing.core.parser.ParseResult;
 import org.junit.jupiter.api.Test;
@@ -15,11 +20,20 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.ByteArrayInputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class DocumentEngineTest {
     @TempDir
@@ -51,6 +65,55 @@ class DocumentEngineTest {
         assertThat(document.getRawText()).isEqualTo("ok");
     }
 
+    @Test
+    void shouldProbeWithParserOrFallBackToParse() {
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        DocumentParser probing = new DocumentParser() {
+            @Override
+            public boolean supports(DocumentType type) {
+                return type == DocumentType.MARKDOWN;
+            }
+
+            @Override
+            public ParseResult parse(ParseRequest request) {
+                calls.add("parse-md");
+                return ParseResult.of(Document.builder().build());
+            }
+
+            @Override
+            public Optional<Metadata> probe(ParseRequest request) {
+                calls.add("probe-md");
+                Metadata metadata = new Metadata();
+                metadata.setPageCount(7);
+                return Optional.of(metadata);
+            }
+        };
+        DocumentParser plain = new DocumentParser() {
+            @Override
+            public boolean supports(DocumentType type) {
+                return type == DocumentType.TXT;
+            }
+
+            @Override
+            public ParseResult parse(ParseRequest request) {
+                calls.add("parse-txt");
+                Metadata metadata = new Metadata();
+                metadata.setPageCount(1);
+                return ParseResult.of(Document.builder().metadata(metadata).build());
+            }
+        };
+        DocumentEngine engine = DocumentEngine.builder().register(probing).register(plain).build();
+
+        Metadata markdown = engine.probe(new ByteArrayInputStream("# hi".getBytes()), "a.md");
+        Metadata text = engine.probe(new ByteArrayInputStream("hi".getBytes()), "a.txt");
+
+        assertThat(calls).containsExactly("probe-md", "parse-txt");
+        assertThat(markdown.getPageCount()).isEqualTo(7);
+        assertThat(markdown.getDocumentType()).isEqualTo(DocumentType.MARKDOWN);
+        assertThat(text.getPageCount()).isEqualTo(1);
+        assertThat(text.getDocumentType()).isEqualTo(DocumentType.TXT);
+    }
+
     @Test
     void shouldAppendDoneEventForStreamParsing() {
         DocumentParser parser = new DocumentParser() {
@@ -122,6 +185,244 @@ class DocumentEngineTest {
             .containsExactly("c.md", "d.md");
     }
 
+    @Test
+    void shouldResolveEmbeddedDocumentsUpToConfiguredDepth() {
+        DocumentParser parser = new DocumentParser() {
+            @Override
+            public boolean supports(DocumentType type) {
+                return type == DocumentType.MARKDOWN;
+            }
+
+            @Override
+            public ParseResult parse(ParseRequest request) {
+                List<ParseWarning> warnings = new ArrayList<>();
+                List<Document> children = request.getEmbeddedResolver().resolve(request, List.of(
+                    new EmbeddedResource("child-a.md", "text/markdown", "a".getBytes()),
+                    new EmbeddedResource("child-b.md", "text/markdown", "b".getBytes())
+                ), warnings);
+                Document document = Document.builder()
+                    .rawText(request.getFileName())
+                    .embeddedDocuments(children)
+                    .build();
+                return new ParseResult(document, warnings);
+            }
+        };
+
+        DocumentEngine engine = DocumentEngine.builder()
+            .register(parser)
+            .build();
+        ParseOptions options = ParseOptions.builder()
+            .embeddedDocumentsEnabled(true)
+            .maxEmbeddedDepth(1)
+            .build();
+
+        Document document = engine.parse(new ByteArrayInputStream("# root".getBytes()), "root.md", options);
+
+        assertThat(document.getEmbeddedDocuments())
+            .extracting(Document::getRawText)
+            .containsExactly("child-a.md", "child-b.md");
+        assertThat(document.getEmbeddedDocuments().get(0).getMetadata().getCustomProperties())
+            .containsEntry("embeddedDepth", 1);
+        assertThat(document.getEmbeddedDocuments().get(0).getEmbeddedDocuments()).isEmpty();
+        assertThat(document.getEmbeddedDocuments().get(0).getWarnings())
+            .extracting(ParseWarning::code)
+            .containsExactly("EMBEDDED_DEPTH_EXCEEDED");
+    }
+
+    @Test
+    void shouldCrawlDirectoryAndResumeFromCheckpoint() throws Exception {
+        Path root = Files.createDirectories(tempDir.resolve("crawl"));
+        Files.writeString(root.resolve("a.md"), "# a");
+        Files.writeString(Files.createDirectories(root.resolve("nested")).resolve("b.md"), "# b");
+        Files.writeString(Files.createDirectories(root.resolve("archive")).resolve("c.md"), "# c");
+        Files.writeString(root.resolve("notes.bin"), "skip");
+        Path checkpoint = tempDir.resolve("crawl.checkpoint");
+
+        DocumentEngine engine = DocumentEngine.builder()
+            .register(markdownEchoParser())
+            .build();
+        DirectoryParseOptions options = DirectoryParseOptions.builder()
+            .include("**.md")
+            .exclude("archive")
+            .maxInFlight(2)
+            .checkpointFile(checkpoint)
+            .build();
+        List<String> parsed = Collections.synchronizedList(new ArrayList<>());
+
+        DirectoryParseSummary first = engine.parseDirectory(root, options,
+            (file, document) -> parsed.add(document.getRawText()));
+
+        assertThat(parsed).containsExactlyInAnyOrder("a.md", "b.md");
+        assertThat(first).isEqualTo(new DirectoryParseSummary(2, 0, 2, 0));
+        assertThat(Files.readAllLines(checkpoint)).containsExactlyInAnyOrder("a.md", "nested/b.md");
+
+        Files.writeString(checkpoint, "nested/c", StandardOpenOption.APPEND);
+        Files.writeString(root.resolve("d.md"), "# d");
+        parsed.clear();
+
+        DirectoryParseSummary second = engine.parseDirectory(root, options,
+            (file, document) -> parsed.add(document.getRawText()));
+
+        assertThat(parsed).containsExactly("d.md");
+        assertThat(second).isEqualTo(new DirectoryParseSummary(3, 2, 1, 0));
+        assertThat(Files.readAllLines(checkpoint)).containsExactlyInAnyOrder("a.md", "nested/b.md", "d.md");
+    }
+
+    @Test
+    void shouldFailCrawlWithoutReportingListenerErrorAsFileFailure() throws Exception {
+        Path root = Files.createDirectories(tempDir.resolve("listener"));
+        Files.writeString(root.resolve("a.md"), "# a");
+        Path checkpoint = tempDir.resolve("listener.checkpoint");
+        DocumentEngine engine = DocumentEngine.builder()
+            .register(markdownEchoParser())
+            .build();
+        DirectoryParseOptions options = DirectoryParseOptions.builder()
+            .checkpointFile(checkpoint)
+            .build();
+        List<Path> failures = Collections.synchronizedList(new ArrayList<>());
+        IllegalStateException indexDown = new IllegalStateException("index unavailable");
+
+        assertThatThrownBy(() -> engine.parseDirectory(root, options, new FileParseListener() {
+            @Override
+            public void onDocument(Path file, Document document) {
+                throw indexDown;
+            }
+
+            @Override
+            public void onFailure(Path file, Throwable error) {
+                failures.add(file);
+            }
+        })).isInstanceOf(ParseException.class).hasCause(indexDown);
+
+        assertThat(failures).isEmpty();
+        assertThat(Files.readAllLines(checkpoint)).isEmpty();
+    }
+
+    @Test
+    void shouldParseSettledFilesDroppedIntoWatchedDirectory() throws Exception {
+        Path inbox = Files.createDirectories(tempDir.resolve("inbox"));
+        DocumentEngine engine = DocumentEngine.builder()
+            .register(markdownEchoParser())
+            .build();
+        DirectoryWatchOptions options = DirectoryWatchOptions.builder()
+            .include("**.md")
+            .quietPeriod(Duration.ofMillis(100))
+            .build();
+        Set<String> parsed = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(2);
+
+        try (DirectoryWatch watch = engine.watchDirectory(inbox, options, (file, document) -> {
+            if (parsed.add(document.getRawText())) {
+                latch.countDown();
+            }
+        })) {
+            Path report = inbox.resolve("report.md");
+            Files.writeString(report, "# part");
+            Files.writeString(report, " one", StandardOpenOption.APPEND);
+            Files.writeString(inbox.resolve("ignored.tmp"), "tmp");
+            Files.writeString(Files.createDirectories(inbox.resolve("nested")).resolve("late.md"), "# late");
+
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(parsed).containsExactlyInAnyOrder("report.md", "late.md");
+            // The append may settle separately on a slow file system, so report.md can be dispatched twice.
+            assertThat(watch.metrics().filesDispatched()).isBetween(2L, 3L);
+        }
+    }
+
+    @Test
+    void shouldDeferWatchedFilesWhileBacklogIsFull() throws Exception {
+        Path inbox = Files.createDirectories(tempDir.resolve("busy"));
+        for (int i = 0; i < 5; i++) {
+            Files.writeString(inbox.resolve("doc-" + i + ".md"), "# doc");
+        }
+        DocumentEngine engine = DocumentEngine.builder()
+            .register(markdownEchoParser())
+            .build();
+        DirectoryWatchOptions options = DirectoryWatchOptions.builder()
+            .quietPeriod(Duration.ofMillis(50))
+            .maxBacklog(1)
+            .processExisting(true)
+            .build();
+        Set<String> parsed = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(5);
+
+        try (DirectoryWatch watch = engine.watchDirectory(inbox, options, (file, document) -> {
+            if (parsed.add(document.getRawText())) {
+                latch.countDown();
+            }
+        })) {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(parsed).hasSize(5);
+            assertThat(watch.metrics().filesDeferred()).isGreaterThanOrEqualTo(4);
+        }
+    }
+
+    @Test
+    void shouldBoundDeferredFilesAndRescanDirectoryOnceBacklogDrains() throws Exception {
+        Path inbox = Files.createDirectories(tempDir.resolve("flood"));
+        for (int i = 0; i < 60; i++) {
+            Files.writeString(inbox.resolve("doc-" + i + ".md"), "# doc");
+        }
+        DocumentEngine engine = DocumentEngine.builder()
+            .register(markdownEchoParser())
+            .build();
+        DirectoryWatchOptions options = DirectoryWatchOptions.builder()
+            .quietPeriod(Duration.ofMillis(20))
+            .maxBacklog(4)
+            .processExisting(true)
+            .build();
+        Set<String> parsed = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(60);
+
+        try (DirectoryWatch watch = engine.watchDirectory(inbox, options, (file, document) -> {
+            if (parsed.add(document.getRawText())) {
+                latch.countDown();
+            }
+        })) {
+            // The files beyond the deferred cap are only remembered through their directory.
+            assertThat(watch.metrics().pending()).isLessThanOrEqualTo(8);
+            assertThat(latch.await(20, TimeUnit.SECONDS)).isTrue();
+            assertThat(parsed).hasSize(60);
+            assertThat(watch.metrics().filesDeferred()).isGreaterThanOrEqualTo(56);
+            assertThat(watch.metrics().overflows()).isGreaterThanOrEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldCloseParsersThatHoldResourcesWhenEngineCloses() {
+        List<String> closed = Collections.synchronizedList(new ArrayList<>());
+        DocumentEngine engine = DocumentEngine.builder()
+            .register(new ClosingParser(DocumentType.PDF, closed, true))
+            .register(new ClosingParser(DocumentType.IMAGE, closed, false))
+            .register(markdownEchoParser())
+            .build();
+
+        engine.close();
+
+        assertThat(closed).containsExactlyInAnyOrder("PDF", "IMAGE");
+    }
+
+    private record ClosingParser(DocumentType type, List<String> closed, boolean failOnClose)
+        implements DocumentParser, AutoCloseable {
+        @Override
+        public boolean supports(DocumentType candidate) {
+            return candidate == type;
+        }
+
+        @Override
+        public ParseResult parse(ParseRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+            closed.add(type.name());
+            if (failOnClose) {
+                throw new IllegalStateException("close failed");
+            }
+        }
+    }
+
     private DocumentParser markdownEchoParser() {
         return new DocumentParser() {
             @Override
@@ -0,0 +1,118 @@
+package com.document.parsing.core.ocr;
+
+import com.document.parsing.core.model.ImageElement;
+import com.document.parsing.core.parser.ParseOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingOcrServiceTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldRecogniseEachDistinctImageOncePerOcrSettings() {
+        List<String> recognised = new ArrayList<>();
+        OcrService delegate = (imageData, mimeType, options) -> {
+            recognised.add(new String(imageData) + "/" + options.getOcrLanguage());
+            return "text of " + new String(imageData);
+        };
+        ParseOptions english = ParseOptions.builder().ocrCacheDirectory(tempDir).build();
+        ParseOptions german = ParseOptions.builder().ocrCacheDirectory(tempDir).ocrLanguage("deu").build();
+
+        CachingOcrService cache = new CachingOcrService(delegate, 2);
+        assertThat(cache.extractText("stamp".getBytes(), "image/png", english)).isEqualTo("text of stamp");
+        assertThat(cache.extractText("stamp".getBytes(), "image/png", english)).isEqualTo("text of stamp");
+        assertThat(cache.extractText("stamp".getBytes(), "image/png", german)).isEqualTo("text of stamp");
+        assertThat(cache.extractTextBatch(List.of(image("cover"), image("stamp"), image("cover")), english))
+            .containsExactly("text of cover", "text of stamp", "text of cover");
+
+        assertThat(recognised).containsExactly("stamp/eng", "stamp/deu", "cover/eng");
+        assertThat(cache.stats().memoryHits()).isEqualTo(2);
+        assertThat(cache.stats().misses()).isEqualTo(3);
+
+        // A fresh instance starts with an empty memory tier and is served from disk.
+        CachingOcrService restarted = new CachingOcrService(delegate, 2);
+        assertThat(restarted.extractText("cover".getBytes(), "image/png", english)).isEqualTo("text of cover");
+        assertThat(restarted.stats().diskHits()).isEqualTo(1);
+        assertThat(restarted.stats().hitRate()).isEqualTo(1.0);
+        assertThat(recognised).hasSize(3);
+    }
+
+    @Test
+    void shouldKeyRastersByPixelsAndPassThemOnDecoded() {
+        List<String> recognised = new ArrayList<>();
+        OcrService delegate = new OcrService() {
+            @Override
+            public String extractText(byte[] imageData, String mimeType, ParseOptions options) {
+                throw new AssertionError("expected a raster");
+            }
+
+            @Override
+            public String extractText(BufferedImage image, ParseOptions options) {
+                recognised.add(image.getWidth() + "x" + image.getHeight());
+                return "pixels " + image.getRGB(0, 0);
+            }
+        };
+        ParseOptions options = ParseOptions.defaultOptions();
+        BufferedImage white = filled(0xFFFFFF);
+        ImageElement lazyWhite = ImageElement.lazy("white", 1, "image/png", 4, 3, () -> {
+            throw new AssertionError("content must not be encoded");
+        }, () -> filled(0xFFFFFF));
+
+        CachingOcrService cache = new CachingOcrService(delegate, 8);
+        String text = cache.extractText(white, options);
+        assertThat(cache.extractText(filled(0xFFFFFF), options)).isEqualTo(text);
+        assertThat(cache.extractText(filled(0x000000), options)).isNotEqualTo(text);
+        assertThat(cache.extractTextBatch(List.of(lazyWhite, lazyWhite), options)).containsExactly(text, text);
+
+        assertThat(recognised).containsExactly("4x3", "4x3");
+        assertThat(cache.stats().memoryHits()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldBoundMemoryAndDiskTiersFromOptions() throws Exception {
+        List<String> recognised = new ArrayList<>();
+        OcrService delegate = (imageData, mimeType, options) -> {
+            recognised.add(new String(imageData));
+            return "x".repeat(40);
+        };
+        CachingOcrService cache = new CachingOcrService(delegate);
+        ParseOptions oneEntry = ParseOptions.builder().ocrCacheMaxEntries(1).build();
+        cache.extractText("a".getBytes(), "image/png", oneEntry);
+        cache.extractText("b".getBytes(), "image/png", oneEntry);
+        cache.extractText("a".getBytes(), "image/png", oneEntry);
+        assertThat(recognised).containsExactly("a", "b", "a");
+
+        ParseOptions smallDisk = ParseOptions.builder().ocrCacheDirectory(tempDir).ocrCacheMaxDiskBytes(100).build();
+        for (String name : List.of("c", "d", "e")) {
+            cache.extractText(name.getBytes(), "image/png", smallDisk);
+        }
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            List<Path> entries = files.filter(Files::isRegularFile).toList();
+            assertThat(entries).hasSize(2);
+        }
+    }
+
+    private BufferedImage filled(int rgb) {
+        BufferedImage image = new BufferedImage(4, 3, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, rgb);
+            }
+        }
+        return image;
+    }
+
+    private ImageElement image(String content) {
+        return new ImageElement(content, 1, "image/png", 1, 1, content.getBytes());
+    }
+}
@@ -0,0 +1,60 @@
+package com.document.parsing.core.ocr;
+
+import com.document.parsing.core.parser.ParseOptions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OcrImagePreprocessorTest {
+
+    @Test
+    void shouldDownscaleDenseColorScansToTargetDpiGrayscale() {
+        // About 600 DPI when the short side spans an A4 page.
+        BufferedImage scan = new BufferedImage(7016, 4960, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scan.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, scan.getWidth(), scan.getHeight());
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(0, 0, 100, 100);
+        graphics.dispose();
+
+        BufferedImage prepared = OcrImagePreprocessor.preprocess(scan, ParseOptions.defaultOptions());
+
+        assertThat(prepared.getType()).isEqualTo(BufferedImage.TYPE_BYTE_GRAY);
+        assertThat(prepared.getWidth()).isEqualTo(3509);
+        assertThat(prepared.getHeight()).isEqualTo(2481);
+        assertThat(prepared.getRaster().getSample(10, 10, 0)).isEqualTo((77 * 0 + 150 * 0 + 29 * 255) >> 8);
+        assertThat(prepared.getRaster().getSample(1000, 1000, 0)).isEqualTo(255);
+        assertThat(OcrImagePreprocessor.preprocess(scan, ParseOptions.builder().ocrPreprocessEnabled(false).build()))
+            .isSameAs(scan);
+    }
+
+    @Test
+    void shouldBinarizeAtOtsuThresholdAndCompositeTransparencyOverWhite() {
+        BufferedImage photo = new BufferedImage(40, 20, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < photo.getHeight(); y++) {
+            for (int x = 0; x < photo.getWidth(); x++) {
+                // Dark ink on the left, light paper in the middle, transparent background on the right.
+                int argb = x < 10 ? 0xFF303030 : x < 30 ? 0xFFC8C8C8 : 0x00000000;
+                photo.setRGB(x, y, argb);
+            }
+        }
+
+        BufferedImage prepared = OcrImagePreprocessor.preprocess(photo, ParseOptions.builder().ocrBinarize(true).build());
+
+        byte[] pixels = ((DataBufferByte) prepared.getRaster().getDataBuffer()).getData();
+        List<Integer> firstRow = new ArrayList<>();
+        for (int x = 0; x < prepared.getWidth(); x += 10) {
+            firstRow.add(pixels[x] & 0xFF);
+        }
+        assertThat(prepared.getWidth()).isEqualTo(40);
+        assertThat(firstRow).containsExactly(0, 255, 255, 255);
+    }
+}
@@ -0,0 +1,56 @@
+package com.document.parsing.core.ocr;
+
+import com.document.parsing.core.model.ImageElement;
+import com.document.parsing.core.parser.ParseOptions;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PreprocessingOcrServiceTest {
+
+    @Test
+    void shouldForwardWholeBatchToDelegateWithPreprocessedRasters() throws IOException {
+        List<Integer> batchSizes = new ArrayList<>();
+        List<String> received = new ArrayList<>();
+        OcrService delegate = new OcrService() {
+            @Override
+            public String extractText(byte[] imageData, String mimeType, ParseOptions options) {
+                throw new AssertionError("batch images must not be recognised one by one");
+            }
+
+            @Override
+            public List<String> extractTextBatch(List<ImageElement> images, ParseOptions options) {
+                batchSizes.add(images.size());
+                List<String> texts = new ArrayList<>();
+                for (ImageElement image : images) {
+                    BufferedImage raster = image.getRaster();
+                    received.add(raster == null
+                        ? "bytes:" + image.getMimeType()
+                        : "gray:" + (raster.getType() == BufferedImage.TYPE_BYTE_GRAY));
+                    texts.add(image.getId());
+                }
+                return texts;
+            }
+        };
+        BufferedImage color = new BufferedImage(30, 20, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(color, "png", png);
+        List<ImageElement> batch = List.of(
+            ImageElement.lazy("raster", 1, "image/png", 30, 20, png::toByteArray, () -> color),
+            new ImageElement("encoded", 1, "image/png", 30, 20, png.toByteArray()),
+            new ImageElement("opaque", 1, "image/x-unknown", 30, 20, "not an image".getBytes()));
+
+        List<String> texts = new PreprocessingOcrService(delegate).extractTextBatch(batch, ParseOptions.defaultOptions());
+
+        assertThat(texts).containsExactly("raster", "encoded", "opaque");
+        assertThat(batchSizes).containsExactly(3);
+        assertThat(received).containsExactly("gray:true", "gray:true", "bytes:image/x-unknown");
+    }
+}
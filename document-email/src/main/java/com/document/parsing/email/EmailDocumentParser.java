@@ -0,0 +1,263 @@
+package com.document.parsing.email;
+
+import com.document.parsing.core.event.BlockEvent;
+import com.document.parsing.core.exception.CorruptedDocumentException;
+import com.document.parsing.core.exception.ParseException;
+import com.document.parsing.core.model.Block;
+import com.document.parsing.core.model.Document;
+import com.document.parsing.core.model.DocumentType;
+import com.document.parsing.core.model.Metadata;
+import com.document.parsing.core.model.Page;
+import com.document.parsing.core.model.ParseWarning;
+import com.document.parsing.core.model.TextBlock;
+import com.document.parsing.core.parser.DocumentParser;
+import com.document.parsing.core.parser.ParseOptions;
+import com.document.parsing.core.parser.ParseRequest;
+import com.document.parsing.core.parser.ParseResult;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class EmailDocumentParser implements DocumentParser {
+
+    @Override
+    public boolean supports(DocumentType type) {
+        return type == DocumentType.EMAIL;
+    }
+
+    @Override
+    public ParseResult parse(ParseRequest request) {
+        List<ParseWarning> warnings = new ArrayList<>();
+        List<Page> pages = new ArrayList<>();
+        List<Document> attachments = new ArrayList<>();
+        StringBuilder rawText = new StringBuilder();
+        EmailMessage first = null;
+
+        try (MessageSource source = MessageSource.open(request.getStream())) {
+            int pageLimit = request.getOptions().getMaxPages();
+            InputStream messageStream;
+            while ((pageLimit <= 0 || pages.size() < pageLimit) && (messageStream = source.next()) != null) {
+                int pageNumber = pages.size() + 1;
+                EmailMessage message = readMessage(messageStream, request, pageNumber, warnings);
+                if (first == null) {
+                    first = message;
+                }
+                List<Document> children = resolveAttachments(message, request, warnings);
+                attachments.addAll(children);
+
+                List<Block> blocks = messageBlocks(message);
+                pages.add(new Page(pageNumber, blocks));
+                appendText(rawText, blocks);
+            }
+        } catch (IOException e) {
+            throw new ParseException("Failed to parse email document", e);
+        }
+
+        Metadata metadata = new Metadata();
+        if (first != null) {
+            metadata.setTitle(first.getSubject());
+            metadata.setAuthor(first.getFrom());
+            metadata.setCreatedAt(first.getSentAt());
+        }
+        metadata.setPageCount(pages.size());
+        metadata.getCustomProperties().put("messageCount", pages.size());
+
+        Document document = Document.builder()
+            .metadata(metadata)
+            .pages(pages)
+            .rawText(rawText.toString().trim())
+            .embeddedDocuments(attachments)
+            .build();
+        return new ParseResult(document, warnings);
+    }
+
+    @Override
+    public Optional<Stream<BlockEvent>> parseStream(ParseRequest request) {
+        try {
+            EmailBlockEventIterator iterator = new EmailBlockEventIterator(MessageSource.open(request.getStream()), request);
+            Stream<BlockEvent> stream = StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                    false
+                )
+                .onClose(iterator::close);
+            return Optional.of(stream);
+        } catch (IOException e) {
+            throw new ParseException("Failed to stream parse email document", e);
+        }
+    }
+
+    @Override
+    public int getPriority() {
+        return 40;
+    }
+
+    private EmailMessage readMessage(InputStream in, ParseRequest request, int messageNumber, List<ParseWarning> warnings) {
+        try {
+            return EmailMessageReader.read(in, request.getOptions(), shouldParseAttachments(request), warnings);
+        } catch (IOException e) {
+            throw new CorruptedDocumentException("Failed to parse email message " + messageNumber, e);
+        }
+    }
+
+    private List<Document> resolveAttachments(EmailMessage message, ParseRequest request, List<ParseWarning> warnings) {
+        try {
+            if (message.getAttachments().isEmpty()) {
+                return List.of();
+            }
+            return request.getEmbeddedResolver().resolveAttachments(request, message.getAttachments(), warnings);
+        } finally {
+            message.deleteSpooledFiles();
+        }
+    }
+
+    private boolean shouldParseAttachments(ParseRequest request) {
+        ParseOptions options = request.getOptions();
+        return options.isAttachmentParsingEnabled() && request.getEmbeddedResolver() != null;
+    }
+
+    private List<Block> messageBlocks(EmailMessage message) {
+        List<Block> blocks = new ArrayList<>();
+        String header = message.headerText();
+        if (!header.isBlank()) {
+            blocks.add(new TextBlock(header));
+        }
+        String body = message.bodyText();
+        if (!body.isBlank()) {
+            blocks.add(new TextBlock(body));
+        }
+        return blocks;
+    }
+
+    private void appendText(StringBuilder rawText, List<Block> blocks) {
+        for (Block block : blocks) {
+            if (block instanceof TextBlock textBlock) {
+                rawText.append(textBlock.getText()).append(System.lineSeparator());
+            }
+        }
+        rawText.append(System.lineSeparator());
+    }
+
+    private static final class MessageSource implements AutoCloseable {
+        private final InputStream in;
+        private final MboxMessageReader mbox;
+        private boolean singleConsumed;
+
+        private MessageSource(InputStream in, MboxMessageReader mbox) {
+            this.in = in;
+            this.mbox = mbox;
+        }
+
+        static MessageSource open(InputStream stream) throws IOException {
+            InputStream in = stream instanceof BufferedInputStream ? stream : new BufferedInputStream(stream);
+            return new MessageSource(in, MboxMessageReader.isMbox(in) ? new MboxMessageReader(in) : null);
+        }
+
+        InputStream next() throws IOException {
+            if (mbox != null) {
+                return mbox.nextMessage();
+            }
+            if (singleConsumed) {
+                return null;
+            }
+            singleConsumed = true;
+            return in;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private final class EmailBlockEventIterator implements Iterator<BlockEvent>, AutoCloseable {
+        private final MessageSource source;
+        private final ParseRequest request;
+        private final int pageLimit;
+        private final Deque<BlockEvent> queue = new ArrayDeque<>();
+
+        private int currentPage;
+        private boolean finished;
+        private boolean closed;
+
+        private EmailBlockEventIterator(MessageSource source, ParseRequest request) {
+            this.source = source;
+            this.request = request;
+            this.pageLimit = request.getOptions().getMaxPages();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (queue.isEmpty()) {
+                fillQueue();
+            }
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public BlockEvent next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more email block events");
+            }
+            return queue.removeFirst();
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                source.close();
+            } catch (IOException ignored) {
+                // Ignore close errors for iterator lifecycle.
+            }
+        }
+
+        private void fillQueue() {
+            if (closed || finished) {
+                return;
+            }
+            try {
+                InputStream messageStream = pageLimit > 0 && currentPage >= pageLimit ? null : source.next();
+                if (messageStream == null) {
+                    finished = true;
+                    close();
+                    return;
+                }
+                int pageNumber = ++currentPage;
+                List<ParseWarning> warnings = new ArrayList<>();
+                EmailMessage message = readMessage(messageStream, request, pageNumber, warnings);
+                List<Document> children = resolveAttachments(message, request, warnings);
+
+                queue.addLast(BlockEvent.pageStart(pageNumber));
+                for (Block block : messageBlocks(message)) {
+                    queue.addLast(BlockEvent.block(pageNumber, block));
+                }
+                for (Document child : children) {
+                    for (Page page : child.getPages()) {
+                        for (Block block : page.getBlocks()) {
+                            queue.addLast(BlockEvent.block(pageNumber, block));
+                        }
+                    }
+                }
+                queue.addLast(BlockEvent.pageEnd(pageNumber));
+            } catch (IOException | RuntimeException ex) {
+                close();
+                throw new CorruptedDocumentException("Failed to stream parse email message " + (currentPage + 1), ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.document.parsing.email;
+
+import com.document.parsing.core.parser.EmbeddedResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+final class EmailMessage {
+    private String subject;
+    private String from;
+    private String to;
+    private String cc;
+    private Instant sentAt;
+    private final List<String> plainTexts = new ArrayList<>();
+    private final List<String> htmlTexts = new ArrayList<>();
+    private final List<String> attachmentNames = new ArrayList<>();
+    private final List<EmbeddedResource> attachments = new ArrayList<>();
+    private final List<Path> spooledFiles = new ArrayList<>();
+
+    String getSubject() {
+        return subject;
+    }
+
+    void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    String getFrom() {
+        return from;
+    }
+
+    void setFrom(String from) {
+        this.from = from;
+    }
+
+    String getTo() {
+        return to;
+    }
+
+    void setTo(String to) {
+        this.to = to;
+    }
+
+    String getCc() {
+        return cc;
+    }
+
+    void setCc(String cc) {
+        this.cc = cc;
+    }
+
+    Instant getSentAt() {
+        return sentAt;
+    }
+
+    void setSentAt(Instant sentAt) {
+        this.sentAt = sentAt;
+    }
+
+    List<String> getPlainTexts() {
+        return plainTexts;
+    }
+
+    List<String> getHtmlTexts() {
+        return htmlTexts;
+    }
+
+    List<String> getAttachmentNames() {
+        return attachmentNames;
+    }
+
+    List<EmbeddedResource> getAttachments() {
+        return attachments;
+    }
+
+    void addSpooledAttachment(String name, String contentType, Path file) throws IOException {
+        spooledFiles.add(file);
+        attachments.add(EmbeddedResource.ofPath(name, contentType, file));
+    }
+
+    void trackSpooledFile(Path file) {
+        spooledFiles.add(file);
+    }
+
+    String headerText() {
+        StringBuilder sb = new StringBuilder();
+        appendHeader(sb, "Subject", subject);
+        appendHeader(sb, "From", from);
+        appendHeader(sb, "To", to);
+        appendHeader(sb, "Cc", cc);
+        appendHeader(sb, "Date", sentAt == null ? null : sentAt.toString());
+        if (!attachmentNames.isEmpty()) {
+            appendHeader(sb, "Attachments", String.join(", ", attachmentNames));
+        }
+        return sb.toString().trim();
+    }
+
+    String bodyText() {
+        List<String> texts = plainTexts.isEmpty() ? htmlTexts : plainTexts;
+        return String.join(System.lineSeparator() + System.lineSeparator(), texts).trim();
+    }
+
+    void deleteSpooledFiles() {
+        for (Path file : spooledFiles) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Temp files are best-effort cleaned up.
+            }
+        }
+        spooledFiles.clear();
+    }
+
+    private void appendHeader(StringBuilder sb, String name, String value) {
+        if (value != null && !value.isBlank()) {
+            sb.append(name).append(": ").append(value).append(System.lineSeparator());
+        }
+    }
+}
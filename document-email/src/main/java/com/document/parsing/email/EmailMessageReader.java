@@ -0,0 +1,273 @@
+package com.document.parsing.email;
+
+import com.document.parsing.core.model.ParseWarning;
+import com.document.parsing.core.parser.ParseOptions;
+import org.apache.james.mime4j.MimeException;
+import org.apache.james.mime4j.codec.DecodeMonitor;
+import org.apache.james.mime4j.codec.DecoderUtil;
+import org.apache.james.mime4j.parser.AbstractContentHandler;
+import org.apache.james.mime4j.parser.MimeStreamParser;
+import org.apache.james.mime4j.stream.BodyDescriptor;
+import org.apache.james.mime4j.stream.Field;
+import org.apache.james.mime4j.stream.MimeConfig;
+import org.apache.james.mime4j.stream.NameValuePair;
+import org.apache.james.mime4j.stream.ParserCursor;
+import org.apache.james.mime4j.stream.RawBody;
+import org.apache.james.mime4j.stream.RawFieldParser;
+import org.apache.james.mime4j.util.ContentUtil;
+import org.apache.james.mime4j.util.ByteSequence;
+import org.jsoup.Jsoup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+
+final class EmailMessageReader {
+    private static final MimeConfig MIME_CONFIG = new MimeConfig.Builder()
+        .setMaxLineLen(-1)
+        .setMaxHeaderLen(-1)
+        .setMaxHeaderCount(-1)
+        .setMaxContentLen(-1)
+        .build();
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    private EmailMessageReader() {
+    }
+
+    static EmailMessage read(InputStream in,
+                             ParseOptions options,
+                             boolean spoolAttachments,
+                             List<ParseWarning> warnings) throws IOException {
+        EmailMessage message = new EmailMessage();
+        MimeStreamParser parser = new MimeStreamParser(MIME_CONFIG);
+        parser.setContentDecoding(true);
+        parser.setNoRecurse();
+        parser.setContentHandler(new MessageHandler(message, options, spoolAttachments, warnings));
+        try {
+            parser.parse(in);
+        } catch (MimeException e) {
+            message.deleteSpooledFiles();
+            throw new IOException("Malformed MIME message: " + e.getMessage(), e);
+        } catch (IOException | RuntimeException e) {
+            message.deleteSpooledFiles();
+            throw e;
+        }
+        return message;
+    }
+
+    private static final class MessageHandler extends AbstractContentHandler {
+        private final EmailMessage message;
+        private final ParseOptions options;
+        private final boolean spoolAttachments;
+        private final List<ParseWarning> warnings;
+
+        private int bodyPartDepth;
+        private String disposition;
+        private String fileName;
+        private int attachmentIndex;
+
+        private MessageHandler(EmailMessage message,
+                               ParseOptions options,
+                               boolean spoolAttachments,
+                               List<ParseWarning> warnings) {
+            this.message = message;
+            this.options = options;
+            this.spoolAttachments = spoolAttachments;
+            this.warnings = warnings;
+        }
+
+        @Override
+        public void startBodyPart() {
+            bodyPartDepth++;
+        }
+
+        @Override
+        public void endBodyPart() {
+            bodyPartDepth--;
+        }
+
+        @Override
+        public void startHeader() {
+            disposition = null;
+            fileName = null;
+        }
+
+        @Override
+        public void field(Field field) {
+            String name = field.getNameLowerCase();
+            if ("content-disposition".equals(name)) {
+                RawBody body = parseRawBody(field.getBody());
+                disposition = body.getValue();
+                fileName = firstNonBlank(fileName, parameter(body, "filename"));
+            } else if ("content-type".equals(name)) {
+                fileName = firstNonBlank(fileName, parameter(parseRawBody(field.getBody()), "name"));
+            } else if (bodyPartDepth == 0) {
+                readMessageHeader(name, field.getBody());
+            }
+        }
+
+        @Override
+        public void body(BodyDescriptor descriptor, InputStream in) throws IOException {
+            String mimeType = descriptor.getMimeType() == null
+                ? "text/plain"
+                : descriptor.getMimeType().toLowerCase(Locale.ROOT);
+            boolean attachment = "attachment".equalsIgnoreCase(disposition)
+                || fileName != null
+                || !mimeType.startsWith("text/");
+
+            if (!attachment) {
+                String text = new String(in.readAllBytes(), resolveCharset(descriptor.getCharset()));
+                if ("text/html".equals(mimeType)) {
+                    message.getHtmlTexts().add(htmlToText(text));
+                } else if (!text.isBlank()) {
+                    message.getPlainTexts().add(text.trim());
+                }
+                return;
+            }
+
+            attachmentIndex++;
+            String name = fileName == null ? defaultAttachmentName(mimeType) : fileName;
+            message.getAttachmentNames().add(name);
+            if (spoolAttachments) {
+                spool(name, mimeType, in);
+            }
+        }
+
+        private void spool(String name, String mimeType, InputStream in) throws IOException {
+            Path file = Files.createTempFile("document-email-", ".part");
+            message.trackSpooledFile(file);
+            long limit = options.getMaxEmbeddedSize();
+            boolean truncated = false;
+            try (OutputStream out = Files.newOutputStream(file)) {
+                byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                long written = 0;
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    written += read;
+                    if (limit > 0 && written > limit) {
+                        truncated = true;
+                        break;
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            if (truncated) {
+                warnings.add(new ParseWarning("EMBEDDED_TOO_LARGE",
+                    "Attachment " + name + " exceeds " + limit + " bytes"));
+                return;
+            }
+            message.addSpooledAttachment(name, mimeType, file);
+        }
+
+        private void readMessageHeader(String name, String rawValue) {
+            String value = decode(rawValue);
+            switch (name) {
+                case "subject" -> message.setSubject(value);
+                case "from" -> message.setFrom(value);
+                case "to" -> message.setTo(value);
+                case "cc" -> message.setCc(value);
+                case "date" -> {
+                    try {
+                        message.setSentAt(ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+                    } catch (DateTimeParseException ignored) {
+                        // Keep the message even when the Date header is not RFC 1123 compliant.
+                    }
+                }
+                default -> {
+                    // Other headers are not part of the unified model.
+                }
+            }
+        }
+
+        private String defaultAttachmentName(String mimeType) {
+            String extension = switch (mimeType) {
+                case "application/pdf" -> ".pdf";
+                case "application/vnd.openxmlformats-officedocument.wordprocessingml.document" -> ".docx";
+                case "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet" -> ".xlsx";
+                case "application/vnd.openxmlformats-officedocument.presentationml.presentation" -> ".pptx";
+                case "message/rfc822" -> ".eml";
+                case "image/png" -> ".png";
+                case "image/jpeg" -> ".jpg";
+                default -> "";
+            };
+            return "attachment-" + attachmentIndex + extension;
+        }
+
+        private Charset resolveCharset(String charset) {
+            if (charset == null || charset.isBlank()) {
+                return options.getCharset();
+            }
+            try {
+                return Charset.forName(charset);
+            } catch (RuntimeException ex) {
+                return options.getCharset();
+            }
+        }
+    }
+
+    private static RawBody parseRawBody(String value) {
+        ByteSequence sequence = ContentUtil.encode(value);
+        return RawFieldParser.DEFAULT.parseRawBody(sequence, new ParserCursor(0, sequence.length()));
+    }
+
+    private static String parameter(RawBody body, String name) {
+        String extendedName = name + "*";
+        for (NameValuePair pair : body.getParams()) {
+            String key = pair.getName().toLowerCase(Locale.ROOT);
+            if (key.equals(name) && pair.getValue() != null) {
+                return baseName(decode(pair.getValue()));
+            }
+            if (key.equals(extendedName) && pair.getValue() != null) {
+                return baseName(decodeExtendedValue(pair.getValue()));
+            }
+        }
+        return null;
+    }
+
+    private static String decodeExtendedValue(String value) {
+        int first = value.indexOf('\'');
+        int second = first < 0 ? -1 : value.indexOf('\'', first + 1);
+        if (second < 0) {
+            return value;
+        }
+        Charset charset = StandardCharsets.UTF_8;
+        try {
+            charset = Charset.forName(value.substring(0, first));
+        } catch (RuntimeException ignored) {
+            // Fall back to UTF-8 for unknown RFC 2231 charsets.
+        }
+        return URLDecoder.decode(value.substring(second + 1).replace("+", "%2B"), charset);
+    }
+
+    private static String decode(String value) {
+        return value == null ? null : DecoderUtil.decodeEncodedWords(value, DecodeMonitor.SILENT).trim();
+    }
+
+    private static String baseName(String path) {
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        int slash = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+        return slash >= 0 ? path.substring(slash + 1) : path;
+    }
+
+    private static String firstNonBlank(String first, String second) {
+        return first != null && !first.isBlank() ? first : second;
+    }
+
+    // Same text as HtmlDocumentParser takes from a page body, so entities and broken markup read alike.
+    static String htmlToText(String html) {
+        org.jsoup.nodes.Document document = Jsoup.parse(html);
+        return document.body() == null ? "" : document.body().text();
+    }
+}
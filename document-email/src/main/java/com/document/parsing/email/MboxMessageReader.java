@@ -0,0 +1,166 @@
+package com.document.parsing.email;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+// Lines longer than MAX_LINE_LENGTH are passed through in chunks of that size, so a line without a newline
+// cannot grow the buffer without bound. Only the first chunk of a line can be a From_ separator.
+final class MboxMessageReader implements Closeable {
+    private static final byte[] FROM_LINE = {'F', 'r', 'o', 'm', ' '};
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    private final InputStream in;
+    private byte[] line = new byte[512];
+    private int lineLength;
+    private int linePosition;
+    private boolean lineComplete = true;
+    private boolean continuation;
+    private boolean separatorPending;
+    private boolean endOfInput;
+    private MessageStream current;
+
+    MboxMessageReader(InputStream in) {
+        this.in = in instanceof BufferedInputStream ? in : new BufferedInputStream(in);
+    }
+
+    static boolean isMbox(InputStream in) throws IOException {
+        if (!in.markSupported()) {
+            return false;
+        }
+        in.mark(FROM_LINE.length);
+        byte[] header = in.readNBytes(FROM_LINE.length);
+        in.reset();
+        return Arrays.equals(header, FROM_LINE);
+    }
+
+    InputStream nextMessage() throws IOException {
+        if (current != null) {
+            current.skipRemaining();
+            current = null;
+        }
+        while (!separatorPending) {
+            if (!readLine()) {
+                return null;
+            }
+            separatorPending = startsWithFrom(0);
+        }
+        separatorPending = false;
+        while (!lineComplete && readLine()) {
+            // Drops the rest of an overlong From_ line.
+        }
+        lineLength = 0;
+        linePosition = 0;
+        current = new MessageStream();
+        return current;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private boolean readLine() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        lineLength = 0;
+        linePosition = 0;
+        continuation = !lineComplete;
+        int b;
+        while ((b = in.read()) != -1) {
+            if (lineLength == line.length) {
+                line = Arrays.copyOf(line, Math.min(line.length * 2, MAX_LINE_LENGTH));
+            }
+            line[lineLength++] = (byte) b;
+            if (b == '\n') {
+                lineComplete = true;
+                return true;
+            }
+            if (lineLength == MAX_LINE_LENGTH) {
+                lineComplete = false;
+                return true;
+            }
+        }
+        endOfInput = true;
+        lineComplete = true;
+        return lineLength > 0;
+    }
+
+    private boolean startsWithFrom(int offset) {
+        if (continuation || lineLength - offset < FROM_LINE.length) {
+            return false;
+        }
+        for (int i = 0; i < FROM_LINE.length; i++) {
+            if (line[offset + i] != FROM_LINE[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isQuotedFrom() {
+        int offset = 0;
+        while (offset < lineLength && line[offset] == '>') {
+            offset++;
+        }
+        return offset > 0 && startsWithFrom(offset);
+    }
+
+    private final class MessageStream extends InputStream {
+        private boolean finished;
+
+        @Override
+        public int read() throws IOException {
+            if (!ensureLine()) {
+                return -1;
+            }
+            return line[linePosition++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!ensureLine()) {
+                return -1;
+            }
+            int count = Math.min(length, lineLength - linePosition);
+            System.arraycopy(line, linePosition, buffer, offset, count);
+            linePosition += count;
+            return count;
+        }
+
+        private boolean ensureLine() throws IOException {
+            if (finished) {
+                return false;
+            }
+            if (linePosition < lineLength) {
+                return true;
+            }
+            if (!readLine()) {
+                finished = true;
+                return false;
+            }
+            if (startsWithFrom(0)) {
+                separatorPending = true;
+                lineLength = 0;
+                finished = true;
+                return false;
+            }
+            if (isQuotedFrom()) {
+                linePosition = 1;
+            }
+            return true;
+        }
+
+        private void skipRemaining() throws IOException {
+            while (ensureLine()) {
+                linePosition = lineLength;
+            }
+        }
+    }
+}
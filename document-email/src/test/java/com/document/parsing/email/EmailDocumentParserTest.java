@@ -0,0 +1,139 @@
+package com.document.parsing.email;
+
+import com.document.parsing.core.event.BlockEvent;
+import com.document.parsing.core.event.BlockEventType;
+import com.document.parsing.core.engine.DocumentEngine;
+import com.document.parsing.core.model.Document;
+import com.document.parsing.core.model.DocumentType;
+import com.document.parsing.core.model.TextBlock;
+import com.document.parsing.core.parser.ParseOptions;
+import com.document.parsing.core.parser.ParseRequest;
+import com.document.parsing.core.parser.impl.TextDocumentParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailDocumentParserTest {
+
+    private static final String EML = String.join("\r\n",
+        "From: Alice <alice@example.com>",
+        "To: Bob <bob@example.com>",
+        "Subject: =?UTF-8?B?5ZGo5oql?=",
+        "Date: Mon, 5 Oct 2026 10:15:30 +0800",
+        "MIME-Version: 1.0",
+        "Content-Type: multipart/mixed; boundary=\"b1\"",
+        "",
+        "--b1",
+        "Content-Type: text/plain; charset=UTF-8",
+        "",
+        "Weekly report body",
+        "--b1",
+        "Content-Type: text/plain; name=\"notes.txt\"",
+        "Content-Disposition: attachment; filename=\"notes.txt\"",
+        "Content-Transfer-Encoding: base64",
+        "",
+        "YXR0YWNobWVudCBub3Rlcw==",
+        "--b1--",
+        "");
+
+    @Test
+    void shouldParseEmlBodyAndResolveAttachmentsThroughEngine() {
+        Document document;
+        try (DocumentEngine engine = DocumentEngine.builder()
+            .register(new EmailDocumentParser())
+            .register(new TextDocumentParser())
+            .build()) {
+            document = engine.parse(new ByteArrayInputStream(EML.getBytes(StandardCharsets.UTF_8)), "report.eml",
+                ParseOptions.defaultOptions());
+        }
+
+        assertThat(document.getMetadata().getTitle()).isEqualTo("周报");
+        assertThat(document.getMetadata().getAuthor()).contains("alice@example.com");
+        assertThat(document.getMetadata().getCreatedAt()).isNotNull();
+        assertThat(document.getPages()).hasSize(1);
+        assertThat(document.getRawText()).contains("Weekly report body", "Attachments: notes.txt");
+        assertThat(document.getWarnings()).isEmpty();
+        assertThat(document.getEmbeddedDocuments()).singleElement().satisfies(attachment -> {
+            assertThat(attachment.getRawText()).contains("attachment notes");
+            assertThat(attachment.getMetadata().getCustomProperties()).containsEntry("embeddedName", "notes.txt");
+        });
+    }
+
+    @Test
+    void shouldSkipAttachmentsWhenAttachmentParsingIsDisabled() {
+        Document document;
+        try (DocumentEngine engine = DocumentEngine.builder()
+            .register(new EmailDocumentParser())
+            .register(new TextDocumentParser())
+            .build()) {
+            document = engine.parse(new ByteArrayInputStream(EML.getBytes(StandardCharsets.UTF_8)), "report.eml",
+                ParseOptions.builder().attachmentParsingEnabled(false).embeddedDocumentsEnabled(true).build());
+        }
+
+        assertThat(document.getRawText()).contains("Weekly report body");
+        assertThat(document.getEmbeddedDocuments()).isEmpty();
+    }
+
+    @Test
+    void shouldStreamMboxMessagesLazily() {
+        String mbox = String.join("\n",
+            "From alice@example.com Mon Oct  5 10:15:30 2026",
+            "Subject: First",
+            "",
+            "first body",
+            ">From the archive",
+            "",
+            "From bob@example.com Mon Oct  5 11:15:30 2026",
+            "Subject: Second",
+            "",
+            "second body",
+            "");
+
+        EmailDocumentParser parser = new EmailDocumentParser();
+        ParseRequest request = ParseRequest.builder()
+            .stream(new ByteArrayInputStream(mbox.getBytes(StandardCharsets.UTF_8)))
+            .fileName("archive.mbox")
+            .hintedType(DocumentType.EMAIL)
+            .build();
+
+        List<BlockEvent> events = parser.parseStream(request).orElseThrow().toList();
+
+        assertThat(events).filteredOn(event -> event.getType() == BlockEventType.PAGE_START)
+            .extracting(BlockEvent::getPageNumber)
+            .containsExactly(1, 2);
+        assertThat(events).filteredOn(event -> event.getType() == BlockEventType.BLOCK)
+            .extracting(event -> ((TextBlock) event.getBlock()).getText())
+            .anyMatch(text -> text.contains("first body") && text.contains("From the archive") && !text.contains(">From"))
+            .anyMatch(text -> text.contains("second body"));
+    }
+
+    @Test
+    void shouldPassOverlongMboxLinesThroughInChunks() {
+        // A "From " that only starts a chunk of a long line must not split the message.
+        String longLine = "x".repeat(64 * 1024) + "From nobody, still the same line";
+        String mbox = String.join("\n",
+            "From alice@example.com Mon Oct  5 10:15:30 2026",
+            "Subject: Long",
+            "",
+            longLine,
+            "");
+
+        EmailDocumentParser parser = new EmailDocumentParser();
+        ParseRequest request = ParseRequest.builder()
+            .stream(new ByteArrayInputStream(mbox.getBytes(StandardCharsets.UTF_8)))
+            .fileName("long.mbox")
+            .hintedType(DocumentType.EMAIL)
+            .build();
+
+        List<BlockEvent> events = parser.parseStream(request).orElseThrow().toList();
+
+        assertThat(events).filteredOn(event -> event.getType() == BlockEventType.PAGE_START).hasSize(1);
+        assertThat(events).filteredOn(event -> event.getType() == BlockEventType.BLOCK)
+            .extracting(event -> ((TextBlock) event.getBlock()).getText())
+            .anyMatch(text -> text.contains("From nobody, still the same line"));
+    }
+}
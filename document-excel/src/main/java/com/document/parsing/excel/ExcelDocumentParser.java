@@ -2,17 +2,24 @@ package com.document.parsing.excel;
 
 import com.document.parsing.core.event.BlockEvent;
 import com.document.parsing.core.exception.CorruptedDocumentException;
+import com.document.parsing.core.exception.ResourceLimitExceededException;
+import com.document.parsing.core.format.OoxmlProbe;
 import com.document.parsing.core.model.Block;
 import com.document.parsing.core.model.Document;
 import com.document.parsing.core.model.DocumentType;
 import com.document.parsing.core.model.Metadata;
 import com.document.parsing.core.model.Page;
+import com.document.parsing.core.model.ParseWarning;
 import com.document.parsing.core.model.Table;
 import com.document.parsing.core.model.TableBlock;
 import com.document.parsing.core.model.TextBlock;
 import com.document.parsing.core.parser.DocumentParser;
 import com.document.parsing.core.parser.ParseRequest;
 import com.document.parsing.core.parser.ParseResult;
+import com.document.parsing.core.parser.ResourceGuard;
+import com.document.parsing.core.parser.ResourceLimits;
+import com.document.parsing.ooxml.EmbeddedPartExtractor;
+import com.document.parsing.ooxml.ZipArchiveInspector;
 import org.apache.poi.ooxml.util.SAXHelper;
 import org.apache.poi.openxml4j.opc.OPCPackage;
 import org.apache.poi.ss.usermodel.DataFormatter;
@@ -25,6 +32,7 @@ import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.xml.sax.InputSource;
 import org.xml.sax.XMLReader;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -35,10 +43,12 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 public class ExcelDocumentParser implements DocumentParser {
+    private static final Pattern EMBEDDED_PARTS = Pattern.compile("/xl/embeddings/.*");
 
     @Override
     public boolean supports(DocumentType type) {
@@ -47,7 +57,8 @@ public class ExcelDocumentParser implements DocumentParser {
 
     @Override
     public ParseResult parse(ParseRequest request) {
-        try (OPCPackage pkg = OPCPackage.open(request.getStream())) {
+        ResourceLimits limits = request.getOptions().getResourceLimits();
+        try (OPCPackage pkg = ZipArchiveInspector.open(request.getStream(), limits)) {
             ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
             XSSFReader reader = new XSSFReader(pkg);
             StylesTable styles = reader.getStylesTable();
@@ -58,11 +69,13 @@ public class ExcelDocumentParser implements DocumentParser {
             StringBuilder rawText = new StringBuilder();
             Metadata metadata = new Metadata();
 
+            List<ParseWarning> warnings = new ArrayList<>();
+            ResourceGuard guard = ResourceGuard.of(request.getOptions(), warnings);
             int maxSheets = request.getOptions().getMaxPages();
             int sheetCount = 0;
 
             XSSFReader.SheetIterator iterator = (XSSFReader.SheetIterator) reader.getSheetsData();
-            while (iterator.hasNext()) {
+            while (iterator.hasNext() && !guard.isExhausted()) {
                 if (maxSheets > 0 && sheetCount >= maxSheets) {
                     break;
                 }
@@ -70,7 +83,7 @@ public class ExcelDocumentParser implements DocumentParser {
                 sheetCount++;
                 try (InputStream sheetInput = iterator.next()) {
                     String sheetName = iterator.getSheetName();
-                    SheetCaptureHandler handler = parseSheet(sheetInput, styles, sharedStrings, formatter);
+                    SheetCaptureHandler handler = parseSheet(sheetInput, styles, sharedStrings, formatter, guard);
 
                     Table table = new Table("excel-sheet-" + sheetCount, sheetCount, handler.rows());
                     tables.add(table);
@@ -92,13 +105,18 @@ public class ExcelDocumentParser implements DocumentParser {
             metadata.setSheetCount(sheetCount);
             metadata.setPageCount(sheetCount);
 
+            List<Document> embeddedDocuments = EmbeddedPartExtractor.parseEmbedded(pkg, EMBEDDED_PARTS, request, warnings);
+
             Document document = Document.builder()
                 .metadata(metadata)
                 .pages(pages)
                 .tables(tables)
                 .rawText(rawText.toString().trim())
+                .embeddedDocuments(embeddedDocuments)
                 .build();
-            return ParseResult.of(document);
+            return new ParseResult(document, warnings);
+        } catch (ResourceLimitExceededException e) {
+            throw e;
         } catch (Exception e) {
             throw new CorruptedDocumentException("Failed to parse XLSX document", e);
         }
@@ -107,7 +125,8 @@ public class ExcelDocumentParser implements DocumentParser {
     @Override
     public Optional<Stream<BlockEvent>> parseStream(ParseRequest request) {
         try {
-            OPCPackage pkg = OPCPackage.open(request.getStream());
+            ResourceLimits limits = request.getOptions().getResourceLimits();
+            OPCPackage pkg = ZipArchiveInspector.open(request.getStream(), limits);
             ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
             XSSFReader reader = new XSSFReader(pkg);
             StylesTable styles = reader.getStylesTable();
@@ -120,7 +139,8 @@ public class ExcelDocumentParser implements DocumentParser {
                 styles,
                 sharedStrings,
                 formatter,
-                request.getOptions().getMaxPages()
+                request.getOptions().getMaxPages(),
+                ResourceGuard.of(request.getOptions(), new ArrayList<>())
             );
 
             Stream<BlockEvent> stream = StreamSupport.stream(
@@ -129,11 +149,22 @@ public class ExcelDocumentParser implements DocumentParser {
                 )
                 .onClose(iterator::close);
             return Optional.of(stream);
+        } catch (ResourceLimitExceededException e) {
+            throw e;
         } catch (Exception e) {
             throw new CorruptedDocumentException("Failed to stream parse XLSX document", e);
         }
     }
 
+    @Override
+    public Optional<Metadata> probe(ParseRequest request) {
+        try {
+            return Optional.of(OoxmlProbe.probe(request));
+        } catch (IOException e) {
+            throw new CorruptedDocumentException("Failed to probe XLSX document", e);
+        }
+    }
+
     @Override
     public int getPriority() {
         return 30;
@@ -142,8 +173,9 @@ public class ExcelDocumentParser implements DocumentParser {
     private SheetCaptureHandler parseSheet(InputStream sheetInput,
                                            StylesTable styles,
                                            ReadOnlySharedStringsTable sharedStrings,
-                                           DataFormatter formatter) throws Exception {
-        SheetCaptureHandler handler = new SheetCaptureHandler();
+                                           DataFormatter formatter,
+                                           ResourceGuard guard) throws Exception {
+        SheetCaptureHandler handler = new SheetCaptureHandler(guard);
         XMLReader parser = SAXHelper.newXMLReader();
         parser.setContentHandler(new XSSFSheetXMLHandler(
             styles,
@@ -153,26 +185,45 @@ public class ExcelDocumentParser implements DocumentParser {
             formatter,
             false
         ));
-        parser.parse(new InputSource(sheetInput));
+        try {
+            parser.parse(new InputSource(sheetInput));
+        } catch (SheetLimitReachedException ignored) {
+            // Truncation limit hit; keep what was captured and stop reading the sheet.
+        }
         return handler;
     }
 
+    private static final class SheetLimitReachedException extends RuntimeException {
+        private SheetLimitReachedException() {
+            super(null, null, false, false);
+        }
+    }
+
     private static final class SheetCaptureHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final ResourceGuard guard;
         private final List<List<String>> rows = new ArrayList<>();
         private final StringBuilder text = new StringBuilder();
 
         private List<String> currentRow = new ArrayList<>();
         private int currentCol = -1;
 
+        private SheetCaptureHandler(ResourceGuard guard) {
+            this.guard = guard;
+        }
+
         @Override
         public void startRow(int rowNum) {
+            if (!guard.allowRow()) {
+                throw new SheetLimitReachedException();
+            }
             currentRow = new ArrayList<>();
             currentCol = -1;
+            rows.add(currentRow);
         }
 
         @Override
         public void endRow(int rowNum) {
-            rows.add(currentRow);
+            // Rows are attached at startRow so a truncated sheet keeps its partial last row.
         }
 
         @Override
@@ -182,12 +233,17 @@ public class ExcelDocumentParser implements DocumentParser {
                 thisCol = new CellReference(cellReference).getCol();
             }
 
+            if (!guard.allowCell()) {
+                throw new SheetLimitReachedException();
+            }
+
             while (currentCol + 1 < thisCol) {
                 currentRow.add("");
                 currentCol++;
             }
 
-            String value = formattedValue == null ? "" : formattedValue;
+            String original = formattedValue == null ? "" : formattedValue;
+            String value = guard.limitText(original);
             currentRow.add(value);
             currentCol = thisCol;
 
@@ -197,6 +253,9 @@ public class ExcelDocumentParser implements DocumentParser {
                 }
                 text.append(value);
             }
+            if (value.length() < original.length()) {
+                throw new SheetLimitReachedException();
+            }
         }
 
         @Override
@@ -220,6 +279,7 @@ public class ExcelDocumentParser implements DocumentParser {
         private final ReadOnlySharedStringsTable sharedStrings;
         private final DataFormatter formatter;
         private final int maxSheets;
+        private final ResourceGuard guard;
         private final Deque<BlockEvent> queue = new ArrayDeque<>();
 
         private int sheetIndex;
@@ -230,13 +290,15 @@ public class ExcelDocumentParser implements DocumentParser {
                                         StylesTable styles,
                                         ReadOnlySharedStringsTable sharedStrings,
                                         DataFormatter formatter,
-                                        int maxSheets) {
+                                        int maxSheets,
+                                        ResourceGuard guard) {
             this.pkg = pkg;
             this.sheetIterator = sheetIterator;
             this.styles = styles;
             this.sharedStrings = sharedStrings;
             this.formatter = formatter;
             this.maxSheets = maxSheets;
+            this.guard = guard;
         }
 
         @Override
@@ -273,7 +335,7 @@ public class ExcelDocumentParser implements DocumentParser {
                 return;
             }
 
-            while (queue.isEmpty() && sheetIterator.hasNext()) {
+            while (queue.isEmpty() && sheetIterator.hasNext() && !guard.isExhausted()) {
                 if (maxSheets > 0 && sheetIndex >= maxSheets) {
                     close();
                     return;
@@ -282,7 +344,7 @@ public class ExcelDocumentParser implements DocumentParser {
                 sheetIndex++;
                 try (InputStream sheetInput = sheetIterator.next()) {
                     String sheetName = sheetIterator.getSheetName();
-                    SheetCaptureHandler handler = parseSheet(sheetInput, styles, sharedStrings, formatter);
+                    SheetCaptureHandler handler = parseSheet(sheetInput, styles, sharedStrings, formatter, guard);
                     Table table = new Table("excel-sheet-" + sheetIndex, sheetIndex, handler.rows());
 
                     queue.addLast(BlockEvent.pageStart(sheetIndex));
@@ -292,6 +354,9 @@ public class ExcelDocumentParser implements DocumentParser {
                         queue.addLast(BlockEvent.block(sheetIndex, new TextBlock(sheetText)));
                     }
                     queue.addLast(BlockEvent.pageEnd(sheetIndex));
+                } catch (ResourceLimitExceededException ex) {
+                    close();
+                    throw ex;
                 } catch (Exception ex) {
                     close();
                     throw new CorruptedDocumentException("Failed to stream parse XLSX sheet " + sheetIndex, ex);
@@ -1,18 +1,31 @@
 package com.document.parsing.excel;
 
 import com.document.parsing.core.event.BlockEventType;
+import com.document.parsing.core.exception.ResourceLimitExceededException;
 import com.document.parsing.core.model.Document;
 import com.document.parsing.core.model.DocumentType;
+import com.document.parsing.core.model.Metadata;
+import com.document.parsing.core.model.ParseWarning;
+import com.document.parsing.core.parser.ParseOptions;
 import com.document.parsing.core.parser.ParseRequest;
+import com.document.parsing.core.parser.ParseResult;
+import com.document.parsing.core.parser.ResourceGuard;
+import com.document.parsing.core.parser.ResourceLimits;
+import org.apache.poi.poifs.crypt.EncryptionInfo;
+import org.apache.poi.poifs.crypt.EncryptionMode;
+import org.apache.poi.poifs.crypt.Encryptor;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class ExcelDocumentParserTest {
 
@@ -56,6 +69,87 @@ class ExcelDocumentParserTest {
         );
     }
 
+    @Test
+    void shouldTruncateRowsWhenLimitIsReached() throws Exception {
+        ParseResult result = new ExcelDocumentParser().parse(rowLimitedRequest(ResourceLimits.Action.TRUNCATE));
+
+        assertThat(result.getDocument().getTables().get(0).getRows()).hasSize(3);
+        assertThat(result.getWarnings())
+            .extracting(ParseWarning::code)
+            .containsExactly(ResourceGuard.TRUNCATED_WARNING);
+    }
+
+    @Test
+    void shouldFailWhenRowLimitIsReached() throws Exception {
+        ParseRequest request = rowLimitedRequest(ResourceLimits.Action.FAIL);
+
+        assertThatThrownBy(() -> new ExcelDocumentParser().parse(request))
+            .isInstanceOf(ResourceLimitExceededException.class)
+            .extracting(ex -> ((ResourceLimitExceededException) ex).getLimit())
+            .isEqualTo("maxRows");
+    }
+
+    @Test
+    void shouldProbeSheetCountAndEncryption() throws Exception {
+        byte[] xlsx;
+        try (XSSFWorkbook wb = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            wb.createSheet("First").createRow(0).createCell(0).setCellValue("a");
+            wb.createSheet("Second");
+            wb.createSheet("Third");
+            wb.getProperties().getCoreProperties().setTitle("Ledger");
+            wb.write(out);
+            xlsx = out.toByteArray();
+        }
+        byte[] encrypted;
+        try (POIFSFileSystem fs = new POIFSFileSystem(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Encryptor encryptor = new EncryptionInfo(EncryptionMode.standard).getEncryptor();
+            encryptor.confirmPassword("secret");
+            try (OutputStream data = encryptor.getDataStream(fs)) {
+                data.write(xlsx);
+            }
+            fs.writeFilesystem(out);
+            encrypted = out.toByteArray();
+        }
+
+        ExcelDocumentParser parser = new ExcelDocumentParser();
+        Metadata metadata = parser.probe(probeRequest(xlsx)).orElseThrow();
+        Metadata locked = parser.probe(probeRequest(encrypted)).orElseThrow();
+
+        assertThat(metadata.getSheetCount()).isEqualTo(3);
+        assertThat(metadata.getTitle()).isEqualTo("Ledger");
+        assertThat(metadata.getEncrypted()).isFalse();
+        assertThat(locked.getEncrypted()).isTrue();
+        assertThat(locked.getSheetCount()).isNull();
+    }
+
+    private ParseRequest probeRequest(byte[] content) {
+        return ParseRequest.builder()
+            .stream(new ByteArrayInputStream(content))
+            .fileName("probe.xlsx")
+            .hintedType(DocumentType.XLSX)
+            .build();
+    }
+
+    private ParseRequest rowLimitedRequest(ResourceLimits.Action action) throws Exception {
+        byte[] xlsx;
+        try (XSSFWorkbook wb = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            XSSFSheet sheet = wb.createSheet("Rows");
+            for (int i = 0; i < 10; i++) {
+                sheet.createRow(i).createCell(0).setCellValue("row-" + i);
+            }
+            wb.write(out);
+            xlsx = out.toByteArray();
+        }
+        return ParseRequest.builder()
+            .stream(new ByteArrayInputStream(xlsx))
+            .fileName("rows.xlsx")
+            .hintedType(DocumentType.XLSX)
+            .options(ParseOptions.builder()
+                .resourceLimits(ResourceLimits.builder().maxRows(3).action(action).build())
+                .build())
+            .build();
+    }
+
     private byte[] createWorkbook() throws Exception {
         try (XSSFWorkbook wb = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
             XSSFSheet sheet = wb.createSheet("Sheet1");
@@ -9,12 +9,14 @@ import com.document.parsing.core.model.ImageBlock;
 import com.document.parsing.core.model.ImageElement;
 import com.document.parsing.core.model.Metadata;
 import com.document.parsing.core.model.Page;
+import com.document.parsing.core.model.ParseWarning;
 import com.document.parsing.core.model.Table;
 import com.document.parsing.core.model.TableBlock;
 import com.document.parsing.core.model.TextBlock;
 import com.document.parsing.core.parser.DocumentParser;
 import com.document.parsing.core.parser.ParseRequest;
 import com.document.parsing.core.parser.ParseResult;
+import com.document.parsing.core.parser.ResourceGuard;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
@@ -47,11 +49,13 @@ public class HtmlDocumentParser implements DocumentParser {
             metadata.setTitle(html.title());
             metadata.setPageCount(1);
 
+            List<ParseWarning> warnings = new ArrayList<>();
+            ResourceGuard guard = ResourceGuard.of(request.getOptions(), warnings);
             List<Block> blocks = new ArrayList<>();
             List<Table> tables = new ArrayList<>();
             List<ImageElement> images = new ArrayList<>();
 
-            String bodyText = html.body() == null ? "" : html.body().text();
+            String bodyText = guard.limitText(html.body() == null ? "" : html.body().text());
             if (!bodyText.isBlank()) {
                 blocks.add(new TextBlock(bodyText));
             }
@@ -59,16 +63,11 @@ public class HtmlDocumentParser implements DocumentParser {
             Elements tableElements = html.select("table");
             int tableIndex = 0;
             for (Element tableElement : tableElements) {
-                tableIndex++;
-                List<List<String>> rows = new ArrayList<>();
-                for (Element tr : tableElement.select("tr")) {
-                    List<String> row = new ArrayList<>();
-                    for (Element td : tr.select("th,td")) {
-                        row.add(td.text());
-                    }
-                    rows.add(row);
+                if (guard.isExhausted() || !guard.allowBlock(1, blocks.size())) {
+                    break;
                 }
-                Table table = new Table("html-table-" + tableIndex, 1, rows);
+                tableIndex++;
+                Table table = new Table("html-table-" + tableIndex, 1, toRows(tableElement, guard));
                 tables.add(table);
                 blocks.add(new TableBlock(table));
             }
@@ -76,6 +75,9 @@ public class HtmlDocumentParser implements DocumentParser {
             Elements imageElements = html.select("img");
             int imageIndex = 0;
             for (Element imageElement : imageElements) {
+                if (!guard.allowBlock(1, blocks.size())) {
+                    break;
+                }
                 imageIndex++;
                 int width = parseDimension(imageElement.attr("width"));
                 int height = parseDimension(imageElement.attr("height"));
@@ -98,7 +100,7 @@ public class HtmlDocumentParser implements DocumentParser {
                 .images(images)
                 .rawText(bodyText)
                 .build();
-            return ParseResult.of(document);
+            return new ParseResult(document, warnings);
         } catch (IOException e) {
             throw new ParseException("Failed to parse HTML document", e);
         }
@@ -113,7 +115,7 @@ public class HtmlDocumentParser implements DocumentParser {
     public Optional<Stream<BlockEvent>> parseStream(ParseRequest request) {
         try {
             org.jsoup.nodes.Document html = Jsoup.parse(request.getStream(), request.getOptions().getCharset().name(), "");
-            HtmlBlockEventIterator iterator = new HtmlBlockEventIterator(html);
+            HtmlBlockEventIterator iterator = new HtmlBlockEventIterator(html, ResourceGuard.of(request.getOptions(), new ArrayList<>()));
             Stream<BlockEvent> stream = StreamSupport.stream(
                 Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
                 false
@@ -128,14 +130,16 @@ public class HtmlDocumentParser implements DocumentParser {
         private final String bodyText;
         private final Iterator<Element> tableIterator;
         private final Iterator<Element> imageIterator;
+        private final ResourceGuard guard;
         private final Deque<BlockEvent> queue = new ArrayDeque<>();
 
         private int stage;
         private int tableIndex;
         private int imageIndex;
 
-        private HtmlBlockEventIterator(org.jsoup.nodes.Document html) {
-            this.bodyText = html.body() == null ? "" : html.body().text();
+        private HtmlBlockEventIterator(org.jsoup.nodes.Document html, ResourceGuard guard) {
+            this.guard = guard;
+            this.bodyText = guard.limitText(html.body() == null ? "" : html.body().text());
             this.tableIterator = html.select("table").iterator();
             this.imageIterator = html.select("img").iterator();
         }
@@ -170,24 +174,16 @@ public class HtmlDocumentParser implements DocumentParser {
                         }
                     }
                     case 2 -> {
-                        if (tableIterator.hasNext()) {
+                        if (tableIterator.hasNext() && !guard.isExhausted() && guard.allowBlock(1, blockCount())) {
                             tableIndex++;
-                            Element tableElement = tableIterator.next();
-                            List<List<String>> rows = new ArrayList<>();
-                            for (Element tr : tableElement.select("tr")) {
-                                List<String> row = new ArrayList<>();
-                                for (Element td : tr.select("th,td")) {
-                                    row.add(td.text());
-                                }
-                                rows.add(row);
-                            }
+                            List<List<String>> rows = toRows(tableIterator.next(), guard);
                             queue.addLast(BlockEvent.block(1, new TableBlock(new Table("html-table-" + tableIndex, 1, rows))));
                         } else {
                             stage = 3;
                         }
                     }
                     case 3 -> {
-                        if (imageIterator.hasNext()) {
+                        if (imageIterator.hasNext() && guard.allowBlock(1, blockCount())) {
                             imageIndex++;
                             Element imageElement = imageIterator.next();
                             ImageElement image = new ImageElement(
@@ -213,6 +209,28 @@ public class HtmlDocumentParser implements DocumentParser {
                 }
             }
         }
+
+        private int blockCount() {
+            return (bodyText.isBlank() ? 0 : 1) + tableIndex + imageIndex;
+        }
+    }
+
+    private List<List<String>> toRows(Element tableElement, ResourceGuard guard) {
+        List<List<String>> rows = new ArrayList<>();
+        for (Element tr : tableElement.select("tr")) {
+            if (!guard.allowRow()) {
+                break;
+            }
+            List<String> row = new ArrayList<>();
+            for (Element td : tr.select("th,td")) {
+                if (!guard.allowCell()) {
+                    break;
+                }
+                row.add(guard.limitText(td.text()));
+            }
+            rows.add(row);
+        }
+        return rows;
     }
 
     private int parseDimension(String dimension) {
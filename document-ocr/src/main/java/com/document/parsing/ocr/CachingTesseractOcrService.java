@@ -0,0 +1,53 @@
+package com.document.parsing.ocr;
+
+import com.document.parsing.core.model.ImageElement;
+import com.document.parsing.core.ocr.CachingOcrService;
+import com.document.parsing.core.ocr.OcrService;
+import com.document.parsing.core.ocr.PreprocessingOcrService;
+import com.document.parsing.core.parser.ParseOptions;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+// The OcrService registered for ServiceLoader. Every parser loads its own providers, so all instances share
+// one cache in front of Tesseract and identical images are recognised once per process. Preprocessing sits
+// behind the cache, so a hit skips it too. Its size follows ocrCacheMaxEntries of the calling request.
+public class CachingTesseractOcrService implements OcrService {
+    private static final CachingOcrService SHARED = new CachingOcrService(
+        new PreprocessingOcrService(new TesseractOcrService()));
+
+    public static CachingOcrService.Stats sharedStats() {
+        return SHARED.stats();
+    }
+
+    @Override
+    public String extractText(byte[] imageData, String mimeType, ParseOptions options) {
+        return SHARED.extractText(imageData, mimeType, options);
+    }
+
+    @Override
+    public String extractText(BufferedImage image, ParseOptions options) {
+        return SHARED.extractText(image, options);
+    }
+
+    @Override
+    public List<String> extractTextBatch(List<ImageElement> images, ParseOptions options) {
+        return SHARED.extractTextBatch(images, options);
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return SHARED.isAvailable();
+    }
+
+    @Override
+    public int getPriority() {
+        return SHARED.getPriority();
+    }
+
+    // The pool behind SHARED is process-wide, so this only ends idle Tesseract handles; it stays usable.
+    @Override
+    public void close() {
+        SHARED.close();
+    }
+}
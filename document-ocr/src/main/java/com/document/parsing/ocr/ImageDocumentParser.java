@@ -11,24 +11,31 @@ import com.document.parsing.core.model.Metadata;
 import com.document.parsing.core.model.Page;
 import com.document.parsing.core.model.ParseWarning;
 import com.document.parsing.core.model.TextBlock;
+import com.document.parsing.core.ocr.BlankImageDetector;
+import com.document.parsing.core.ocr.OcrDispatcher;
 import com.document.parsing.core.ocr.OcrService;
+import com.document.parsing.core.ocr.OcrTiling;
 import com.document.parsing.core.parser.DocumentParser;
 import com.document.parsing.core.parser.ParseOptions;
 import com.document.parsing.core.parser.ParseRequest;
 import com.document.parsing.core.parser.ParseResult;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
-public class ImageDocumentParser implements DocumentParser {
+public class ImageDocumentParser implements DocumentParser, AutoCloseable {
     private final List<OcrService> ocrServices;
 
     public ImageDocumentParser() {
@@ -38,6 +45,10 @@ public class ImageDocumentParser implements DocumentParser {
             .toList();
     }
 
+    ImageDocumentParser(List<OcrService> ocrServices) {
+        this.ocrServices = List.copyOf(ocrServices);
+    }
+
     @Override
     public boolean supports(DocumentType type) {
         return type == DocumentType.IMAGE;
@@ -47,9 +58,14 @@ public class ImageDocumentParser implements DocumentParser {
     public ParseResult parse(ParseRequest request) {
         try {
             byte[] data = request.getStream().readAllBytes();
-            BufferedImage image = ImageIO.read(new ByteArrayInputStream(data));
-            int width = image == null ? -1 : image.getWidth();
-            int height = image == null ? -1 : image.getHeight();
+            ParseOptions options = request.getOptions();
+            int[] size = readSize(data);
+            int width = size[0];
+            int height = size[1];
+            // Images past ocrTileThresholdPixels are never decoded whole; OCR reads them strip by strip.
+            BufferedImage image = options.isEnableOcr() && !OcrTiling.isTiled(width, height, options)
+                ? ImageIO.read(new ByteArrayInputStream(data))
+                : null;
 
             String mimeType = detectMimeType(request.getFileName());
             ImageElement imageElement = new ImageElement("image-1", 1, mimeType, width, height, data);
@@ -59,8 +75,10 @@ public class ImageDocumentParser implements DocumentParser {
 
             List<ParseWarning> warnings = new ArrayList<>();
             String ocrText = "";
-            if (request.getOptions().isEnableOcr()) {
-                ocrText = runOcr(data, mimeType, request.getOptions(), warnings);
+            // Blank sheets and flat backgrounds would only come back from OCR as empty text.
+            boolean blank = options.isEnableOcr() && BlankImageDetector.isBlank(image, options.getOcrBlankInkThreshold());
+            if (options.isEnableOcr() && !blank) {
+                ocrText = runOcr(image, imageElement, request.getOcrExecutor(), options, warnings);
                 if (!ocrText.isBlank()) {
                     blocks.add(new TextBlock(ocrText));
                 }
@@ -68,6 +86,9 @@ public class ImageDocumentParser implements DocumentParser {
 
             Metadata metadata = new Metadata();
             metadata.setPageCount(1);
+            if (blank) {
+                metadata.getCustomProperties().put("blankImages", List.of(imageElement.getId()));
+            }
 
             Document document = Document.builder()
                 .metadata(metadata)
@@ -88,6 +109,11 @@ public class ImageDocumentParser implements DocumentParser {
         return 25;
     }
 
+    @Override
+    public void close() {
+        ocrServices.forEach(OcrService::close);
+    }
+
     @Override
     public Optional<Stream<BlockEvent>> parseStream(ParseRequest request) {
         ParseResult result = parse(request);
@@ -100,7 +126,8 @@ public class ImageDocumentParser implements DocumentParser {
         return Optional.of(events.stream());
     }
 
-    private String runOcr(byte[] data, String mimeType, ParseOptions options, List<ParseWarning> warnings) {
+    private String runOcr(BufferedImage image, ImageElement imageElement, Executor ocrExecutor, ParseOptions options,
+                          List<ParseWarning> warnings) {
         OcrService service = ocrServices.stream().filter(OcrService::isAvailable).findFirst().orElse(null);
         if (service == null) {
             if (options.isFailOnOcrError()) {
@@ -110,14 +137,30 @@ public class ImageDocumentParser implements DocumentParser {
             return "";
         }
 
-        try {
-            return service.extractText(data, mimeType, options);
-        } catch (RuntimeException ex) {
-            if (options.isFailOnOcrError()) {
-                throw ex;
+        // A decoded image is handed on as is; bytes are only passed on when it was tiled or ImageIO could not read it.
+        ImageElement element = image == null ? imageElement
+            : ImageElement.lazy(imageElement.getId(), 1, imageElement.getMimeType(), image.getWidth(), image.getHeight(),
+                imageElement::getContent, () -> image);
+        String text = new OcrDispatcher(service, ocrExecutor).recognize(List.of(element), options, warnings).get(0);
+        return text == null ? "" : text;
+    }
+
+    // Reads the dimensions from the image header without decoding the pixels; -1 when no reader applies.
+    private int[] readSize(byte[] data) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return new int[] {-1, -1};
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                return new int[] {reader.getWidth(0), reader.getHeight(0)};
+            } catch (IOException | RuntimeException ex) {
+                return new int[] {-1, -1};
+            } finally {
+                reader.dispose();
             }
-            warnings.add(new ParseWarning("OCR_EXECUTION_FAILED", ex.getMessage()));
-            return "";
         }
     }
 
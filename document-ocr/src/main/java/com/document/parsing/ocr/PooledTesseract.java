@@ -0,0 +1,54 @@
+package com.document.parsing.ocr;
+
+import net.sourceforge.tess4j.Tesseract;
+
+// Tess4j creates and initialises a TessBaseAPI inside every doOCR call and ends it afterwards, reloading the
+// traineddata each time. This handle initialises once and stays open until it is closed by its pool.
+final class PooledTesseract extends Tesseract implements AutoCloseable {
+    private boolean initialized;
+    private int pageSegMode = -1;
+
+    PooledTesseract(TesseractHandlePool.Key key) {
+        if (key.dataPath() != null) {
+            setDatapath(key.dataPath());
+        }
+        setLanguage(key.language());
+        setOcrEngineMode(key.engineMode());
+        init();
+    }
+
+    @Override
+    protected void init() {
+        if (!initialized) {
+            try {
+                super.init();
+            } catch (RuntimeException | Error e) {
+                // super.init() may already have created the native API; dispose() is a no-op here, so end it now.
+                super.dispose();
+                throw e;
+            }
+            initialized = true;
+        }
+    }
+
+    @Override
+    protected void dispose() {
+        // Kept open between images; see close().
+    }
+
+    // The segmentation mode is only read by Init, so later changes go straight to the open handle.
+    void usePageSegMode(int mode) {
+        if (mode != pageSegMode) {
+            getAPI().TessBaseAPISetPageSegMode(getHandle(), mode);
+            pageSegMode = mode;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (initialized) {
+            initialized = false;
+            super.dispose();
+        }
+    }
+}
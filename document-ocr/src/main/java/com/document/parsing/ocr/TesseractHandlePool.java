@@ -0,0 +1,85 @@
+package com.document.parsing.ocr;
+
+import com.document.parsing.core.exception.OcrUnavailableException;
+import com.document.parsing.core.parser.ParseOptions;
+import net.sourceforge.tess4j.TesseractException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+
+// Initialised Tesseract handles per datapath / language / engine mode, since those are fixed at Init. Each
+// key holds at most ocrMaxConcurrency handles (taken from the options that first used it); callers beyond
+// that wait for a handle instead of loading another copy of the traineddata. A handle whose recognition
+// failed is closed rather than returned, in case the native state is broken; so is one that failed to
+// initialise, and its permit is released like any other.
+final class TesseractHandlePool {
+    private final Map<Key, Slots> pools = new ConcurrentHashMap<>();
+
+    String recognize(ParseOptions options, Recognition recognition) throws TesseractException {
+        Slots slots = pools.computeIfAbsent(Key.of(options), key -> new Slots(key, options.getOcrMaxConcurrency()));
+        try {
+            slots.permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OcrUnavailableException("Interrupted while waiting for a Tesseract handle", e);
+        }
+        try {
+            PooledTesseract handle = slots.idle.pollFirst();
+            if (handle == null) {
+                handle = new PooledTesseract(slots.key);
+            }
+            boolean healthy = false;
+            try {
+                handle.usePageSegMode(options.getOcrPageSegMode());
+                String text = recognition.run(handle);
+                healthy = true;
+                return text;
+            } finally {
+                if (healthy) {
+                    slots.idle.offerFirst(handle);
+                } else {
+                    handle.close();
+                }
+            }
+        } finally {
+            slots.permits.release();
+        }
+    }
+
+    // Ends the handles nobody is using. The pool stays usable: busy handles still come back to it and later
+    // callers initialise new ones.
+    void closeIdle() {
+        for (Slots slots : pools.values()) {
+            PooledTesseract handle;
+            while ((handle = slots.idle.pollFirst()) != null) {
+                handle.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Recognition {
+        String run(PooledTesseract tesseract) throws TesseractException;
+    }
+
+    record Key(String dataPath, String language, int engineMode) {
+        static Key of(ParseOptions options) {
+            String dataPath = options.getOcrDataPath();
+            return new Key(dataPath == null || dataPath.isBlank() ? null : dataPath,
+                options.getOcrLanguage(), options.getOcrEngineMode());
+        }
+    }
+
+    private static final class Slots {
+        private final Key key;
+        private final Semaphore permits;
+        private final ConcurrentLinkedDeque<PooledTesseract> idle = new ConcurrentLinkedDeque<>();
+
+        private Slots(Key key, int size) {
+            this.key = key;
+            this.permits = new Semaphore(size);
+        }
+    }
+}
@@ -3,16 +3,36 @@ package com.document.parsing.ocr;
 import com.document.parsing.core.exception.OcrUnavailableException;
 import com.document.parsing.core.ocr.OcrService;
 import com.document.parsing.core.parser.ParseOptions;
-import net.sourceforge.tess4j.ITesseract;
-import net.sourceforge.tess4j.Tesseract;
+import net.sourceforge.tess4j.TessAPI;
 import net.sourceforge.tess4j.TesseractException;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
 
 public class TesseractOcrService implements OcrService {
+    private static final Duration AVAILABILITY_REFRESH = Duration.ofMinutes(1);
+    // Shared by every service instance, since each parser loads its own OcrService providers.
+    private static final TesseractHandlePool SHARED_POOL = new TesseractHandlePool();
+
+    private final TesseractHandlePool pool;
+    private final BooleanSupplier availabilityProbe;
+    private final long refreshNanos;
+    private final AtomicReference<Availability> availability = new AtomicReference<>();
+
+    public TesseractOcrService() {
+        this(SHARED_POOL, TesseractOcrService::nativeLibraryLoads, AVAILABILITY_REFRESH);
+    }
+
+    TesseractOcrService(TesseractHandlePool pool, BooleanSupplier availabilityProbe, Duration refreshInterval) {
+        this.pool = pool;
+        this.availabilityProbe = availabilityProbe;
+        this.refreshNanos = refreshInterval.toNanos();
+    }
 
     @Override
     public String extractText(byte[] imageData, String mimeType, ParseOptions options) {
@@ -20,34 +40,58 @@ public class TesseractOcrService implements OcrService {
             return "";
         }
 
+        BufferedImage bufferedImage;
         try {
-            BufferedImage bufferedImage = ImageIO.read(new ByteArrayInputStream(imageData));
-            if (bufferedImage == null) {
-                return "";
-            }
-
-            ITesseract tesseract = new Tesseract();
-            if (options.getOcrDataPath() != null && !options.getOcrDataPath().isBlank()) {
-                tesseract.setDatapath(options.getOcrDataPath());
-            }
-            return tesseract.doOCR(bufferedImage);
-        } catch (IOException | TesseractException e) {
+            bufferedImage = ImageIO.read(new ByteArrayInputStream(imageData));
+        } catch (IOException e) {
             throw new OcrUnavailableException("OCR execution failed", e);
         }
+        return extractText(bufferedImage, options);
     }
 
     @Override
-    public boolean isAvailable() {
+    public String extractText(BufferedImage image, ParseOptions options) {
+        if (image == null) {
+            return "";
+        }
         try {
-            new Tesseract();
-            return true;
-        } catch (RuntimeException ex) {
-            return false;
+            return pool.recognize(options, tesseract -> tesseract.doOCR(image));
+        } catch (TesseractException e) {
+            throw new OcrUnavailableException("OCR execution failed", e);
         }
     }
 
+    // Parsers ask once per document; the answer is reused until the refresh interval has passed.
+    @Override
+    public boolean isAvailable() {
+        long now = System.nanoTime();
+        Availability current = availability.get();
+        if (current != null && now - current.checkedAt() < refreshNanos) {
+            return current.available();
+        }
+        Availability refreshed = new Availability(availabilityProbe.getAsBoolean(), now);
+        availability.set(refreshed);
+        return refreshed.available();
+    }
+
     @Override
     public int getPriority() {
         return 10;
     }
+
+    @Override
+    public void close() {
+        pool.closeIdle();
+    }
+
+    private static boolean nativeLibraryLoads() {
+        try {
+            return TessAPI.INSTANCE.TessVersion() != null;
+        } catch (RuntimeException | LinkageError ex) {
+            return false;
+        }
+    }
+
+    private record Availability(boolean available, long checkedAt) {
+    }
 }
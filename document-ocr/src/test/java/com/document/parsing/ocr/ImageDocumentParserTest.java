@@ -2,6 +2,7 @@ package com.document.parsing.ocr;
 
 import com.document.parsing.core.model.Document;
 import com.document.parsing.core.model.DocumentType;
+import com.document.parsing.core.ocr.OcrService;
 import com.document.parsing.core.parser.ParseOptions;
 import com.document.parsing.core.parser.ParseRequest;
 import org.junit.jupiter.api.Test;
@@ -12,6 +13,13 @@ import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -35,6 +43,89 @@ class ImageDocumentParserTest {
         assertThat(document.getRawText()).isBlank();
     }
 
+    @Test
+    void shouldSkipOcrForBlankImages() throws Exception {
+        BufferedImage sheet = new BufferedImage(300, 400, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = sheet.createGraphics();
+        g.setColor(new Color(250, 250, 245));
+        g.fillRect(0, 0, 300, 400);
+        g.dispose();
+        byte[] blank;
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            ImageIO.write(sheet, "png", out);
+            blank = out.toByteArray();
+        }
+        List<String> recognized = new ArrayList<>();
+        OcrService ocr = (imageData, mimeType, options) -> {
+            recognized.add(mimeType);
+            return "TEST";
+        };
+        ImageDocumentParser parser = new ImageDocumentParser(List.of(ocr));
+
+        Document skipped = parser.parse(imageRequest(blank)).getDocument();
+        Document recognised = parser.parse(imageRequest(createImage())).getDocument();
+
+        assertThat(skipped.getMetadata().getCustomProperties()).containsEntry("blankImages", List.of("image-1"));
+        assertThat(skipped.getRawText()).isEmpty();
+        assertThat(recognised.getMetadata().getCustomProperties()).doesNotContainKey("blankImages");
+        assertThat(recognised.getRawText()).isEqualTo("TEST");
+        assertThat(recognized).hasSize(1);
+    }
+
+    @Test
+    void shouldRecognizeVeryLargeImagesAsOverlappingStrips() throws Exception {
+        // Each row carries its own gray level, so a strip's first row tells where it was cut from.
+        BufferedImage poster = new BufferedImage(200, 2000, BufferedImage.TYPE_BYTE_GRAY);
+        for (int y = 0; y < poster.getHeight(); y++) {
+            for (int x = 0; x < poster.getWidth(); x++) {
+                poster.getRaster().setSample(x, y, 0, y / 10);
+            }
+        }
+        byte[] png;
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            ImageIO.write(poster, "png", out);
+            png = out.toByteArray();
+        }
+        List<Integer> stripHeights = Collections.synchronizedList(new ArrayList<>());
+        OcrService ocr = (imageData, mimeType, options) -> {
+            try {
+                BufferedImage strip = ImageIO.read(new ByteArrayInputStream(imageData));
+                stripHeights.add(strip.getHeight());
+                int index = strip.getRaster().getSample(0, 0, 0) * 10 / 480;
+                // Neighbouring strips both read the line around their shared boundary.
+                return index == 3 ? "line 3\nline 4" : "line " + index + "\n  line " + (index + 1) + " ";
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            ParseRequest request = ParseRequest.builder()
+                .stream(new ByteArrayInputStream(png))
+                .fileName("poster.png")
+                .hintedType(DocumentType.IMAGE)
+                .ocrExecutor(pool)
+                .options(ParseOptions.builder().ocrTileThresholdPixels(200_000).ocrMaxConcurrency(4).build())
+                .build();
+
+            Document document = new ImageDocumentParser(List.of(ocr)).parse(request).getDocument();
+
+            assertThat(document.getRawText()).isEqualTo("line 0\nline 1\nline 2\nline 3\nline 4");
+            assertThat(document.getImages().get(0).getHeight()).isEqualTo(2000);
+            assertThat(stripHeights).containsExactlyInAnyOrder(640, 640, 640, 560);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private ParseRequest imageRequest(byte[] png) {
+        return ParseRequest.builder()
+            .stream(new ByteArrayInputStream(png))
+            .fileName("scan.png")
+            .hintedType(DocumentType.IMAGE)
+            .build();
+    }
+
     private byte[] createImage() throws Exception {
         BufferedImage image = new BufferedImage(120, 40, BufferedImage.TYPE_INT_RGB);
         Graphics2D g = image.createGraphics();
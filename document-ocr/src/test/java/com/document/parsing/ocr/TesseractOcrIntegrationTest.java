@@ -37,6 +37,8 @@ class TesseractOcrIntegrationTest {
 
         String text = service.extractText(image, "image/png", options);
         assertThat(text).isNotBlank();
+        // The second call runs on the pooled handle initialised by the first.
+        assertThat(service.extractText(image, "image/png", options)).isEqualTo(text);
     }
 
     @Test
@@ -0,0 +1,53 @@
+package com.document.parsing.ocr;
+
+import com.document.parsing.core.parser.ParseOptions;
+import net.sourceforge.tess4j.TesseractException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class TesseractOcrServiceTest {
+
+    @Test
+    void shouldCacheAvailabilityProbeUntilRefreshInterval() throws Exception {
+        AtomicInteger probes = new AtomicInteger();
+        TesseractOcrService cached = new TesseractOcrService(new TesseractHandlePool(),
+            () -> probes.incrementAndGet() > 1, Duration.ofHours(1));
+
+        assertThat(cached.isAvailable()).isFalse();
+        assertThat(cached.isAvailable()).isFalse();
+        assertThat(probes).hasValue(1);
+
+        TesseractOcrService refreshing = new TesseractOcrService(new TesseractHandlePool(),
+            () -> probes.incrementAndGet() > 1, Duration.ZERO);
+
+        assertThat(refreshing.isAvailable()).isTrue();
+        assertThat(refreshing.isAvailable()).isTrue();
+        assertThat(probes).hasValue(3);
+    }
+
+    @Test
+    void shouldReturnPoolSlotWhenHandleFailsToInitialiseOrRecognise() {
+        TesseractHandlePool pool = new TesseractHandlePool();
+        ParseOptions options = ParseOptions.builder()
+            .ocrMaxConcurrency(1)
+            .ocrDataPath(System.getProperty("java.io.tmpdir"))
+            .build();
+
+        // Without a native Tesseract the handle fails in init; with one, the recognition below fails. Either way
+        // the single slot has to come back, or the later calls would wait forever.
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            for (int i = 0; i < 3; i++) {
+                assertThatThrownBy(() -> pool.recognize(options, tesseract -> {
+                    throw new TesseractException("broken");
+                })).isInstanceOfAny(TesseractException.class, LinkageError.class);
+            }
+        });
+        pool.closeIdle();
+    }
+}
@@ -0,0 +1,88 @@
+package com.document.parsing.ooxml;
+
+import com.document.parsing.core.model.Document;
+import com.document.parsing.core.model.ParseWarning;
+import com.document.parsing.core.parser.EmbeddedDocumentResolver;
+import com.document.parsing.core.parser.EmbeddedResource;
+import com.document.parsing.core.parser.ParseOptions;
+import com.document.parsing.core.parser.ParseRequest;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.poifs.filesystem.Ole10Native;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// Collects the embedded objects of an OOXML package whose part names match partNames, unwrapping OLE10
+// native packages, and hands them to the request's EmbeddedDocumentResolver.
+public final class EmbeddedPartExtractor {
+
+    private EmbeddedPartExtractor() {
+    }
+
+    public static List<Document> parseEmbedded(OPCPackage pkg, Pattern partNames, ParseRequest request,
+                                               List<ParseWarning> warnings) {
+        ParseOptions options = request.getOptions();
+        if (!options.isEmbeddedDocumentsEnabled() || request.getEmbeddedResolver() == null) {
+            return List.of();
+        }
+
+        List<EmbeddedResource> resources = new ArrayList<>();
+        for (PackagePart part : pkg.getPartsByName(partNames)) {
+            String name = fileName(part.getPartName().getName());
+            try (InputStream in = part.getInputStream()) {
+                byte[] data = readLimited(in, options.getMaxEmbeddedSize());
+                if (data == null) {
+                    warnings.add(new ParseWarning("EMBEDDED_TOO_LARGE",
+                        "Embedded object " + name + " exceeds " + options.getMaxEmbeddedSize() + " bytes"));
+                    continue;
+                }
+                resources.add(unwrapOle(name, part.getContentType(), data));
+            } catch (IOException e) {
+                warnings.add(new ParseWarning("EMBEDDED_READ_FAILED",
+                    "Failed to read embedded object " + name + ": " + e.getMessage()));
+            }
+        }
+        return request.getEmbeddedResolver().resolve(request, resources, warnings);
+    }
+
+    private static EmbeddedResource unwrapOle(String name, String contentType, byte[] data) {
+        if (FileMagic.valueOf(data) != FileMagic.OLE2) {
+            return new EmbeddedResource(name, contentType, data);
+        }
+        try (POIFSFileSystem fs = new POIFSFileSystem(new ByteArrayInputStream(data))) {
+            if (fs.getRoot().hasEntry(Ole10Native.OLE10_NATIVE)) {
+                Ole10Native nativeObject = Ole10Native.createFromEmbeddedOleObject(fs);
+                String nativeName = nativeObject.getFileName() == null || nativeObject.getFileName().isBlank()
+                    ? nativeObject.getLabel()
+                    : nativeObject.getFileName();
+                return new EmbeddedResource(fileName(nativeName), contentType, nativeObject.getDataBuffer());
+            }
+        } catch (Exception ignored) {
+            // Not an OLE package wrapper; hand the raw object to the registry.
+        }
+        return new EmbeddedResource(name, contentType, data);
+    }
+
+    private static byte[] readLimited(InputStream in, long maxSize) throws IOException {
+        if (maxSize <= 0) {
+            return in.readAllBytes();
+        }
+        byte[] data = in.readNBytes((int) Math.min(Integer.MAX_VALUE - 8L, maxSize + 1));
+        return data.length > maxSize ? null : data;
+    }
+
+    private static String fileName(String path) {
+        if (path == null) {
+            return null;
+        }
+        int slash = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+        return slash >= 0 ? path.substring(slash + 1) : path;
+    }
+}
@@ -0,0 +1,137 @@
+package com.document.parsing.ooxml;
+
+import com.document.parsing.core.exception.ResourceLimitExceededException;
+import com.document.parsing.core.parser.ResourceLimits;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.util.ZipArchiveThresholdInputStream;
+import org.apache.poi.openxml4j.util.ZipInputStreamZipEntrySource;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Enumeration;
+
+// Opens an OOXML package while guarding against ZIP bombs. The limits are checked against the bytes actually
+// inflated as POI reads each entry, not against the sizes an archive declares, so an understated or broken
+// central directory cannot slip past and a bomb is stopped before it is fully expanded. The entry count is
+// checked once the entries are read and before any part is parsed.
+public final class ZipArchiveInspector {
+    // Small entries compress extremely well (e.g. empty sheets), so the ratio only applies past this size.
+    private static final long RATIO_CHECK_THRESHOLD = 1024 * 1024;
+
+    private ZipArchiveInspector() {
+    }
+
+    public static OPCPackage open(InputStream in, ResourceLimits limits) throws IOException {
+        try {
+            if (limits.getMaxDecompressionRatio() <= 0 && limits.getMaxZipEntries() <= 0) {
+                return OPCPackage.open(in);
+            }
+            ZipArchiveThresholdInputStream entries =
+                new ZipArchiveThresholdInputStream(new GuardedZipInputStream(new CountingInputStream(in), limits));
+            // POI's guard applies the process-wide ZipSecureFile ratio to each entry. GuardedZipInputStream
+            // checks the same per-entry ratio against the request's limit, plus the whole archive, so leaving
+            // POI's on would only reject archives the request explicitly allows.
+            entries.setGuardState(false);
+            ZipInputStreamZipEntrySource source = new ZipInputStreamZipEntrySource(entries);
+            checkEntryCount(source, limits.getMaxZipEntries());
+            return OPCPackage.open(source);
+        } catch (InvalidFormatException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    // POI has buffered the entries by now, but their size is already bounded by the ratio check and the
+    // input itself; what the limit prevents is POI building and parsing a part for each of them.
+    private static void checkEntryCount(ZipInputStreamZipEntrySource source, int maxEntries) throws IOException {
+        if (maxEntries <= 0) {
+            return;
+        }
+        int count = 0;
+        for (Enumeration<? extends ZipArchiveEntry> e = source.getEntries(); e.hasMoreElements(); e.nextElement()) {
+            if (++count > maxEntries) {
+                source.close();
+                throw new ResourceLimitExceededException("maxZipEntries", maxEntries,
+                    "ZIP archive has more than " + maxEntries + " entries");
+            }
+        }
+    }
+
+    // POI advances entries through the deprecated getNextZipEntry(), so nothing is hooked there; inflated bytes
+    // are counted as they are read.
+    private static final class GuardedZipInputStream extends ZipArchiveInputStream {
+        private final CountingInputStream raw;
+        private final double maxRatio;
+        private long inflatedTotal;
+
+        private GuardedZipInputStream(CountingInputStream raw, ResourceLimits limits) {
+            super(raw);
+            this.raw = raw;
+            this.maxRatio = limits.getMaxDecompressionRatio();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                inflatedTotal += count;
+                if (maxRatio > 0) {
+                    checkRatio();
+                }
+            }
+            return count;
+        }
+
+        private void checkRatio() {
+            long inflated = getUncompressedCount();
+            long compressed = getCompressedCount();
+            if (inflated > RATIO_CHECK_THRESHOLD && inflated > maxRatio * Math.max(1, compressed)) {
+                throw new ResourceLimitExceededException("maxDecompressionRatio", (long) maxRatio,
+                    "ZIP entry expands " + compressed + " bytes to more than " + inflated
+                        + " bytes, above the ratio limit of " + maxRatio);
+            }
+            long total = inflatedTotal;
+            if (total > RATIO_CHECK_THRESHOLD && total > maxRatio * Math.max(1, raw.count)) {
+                throw new ResourceLimitExceededException("maxDecompressionRatio", (long) maxRatio,
+                    "ZIP archive expands " + raw.count + " bytes to more than " + total
+                        + " bytes, above the ratio limit of " + maxRatio);
+            }
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
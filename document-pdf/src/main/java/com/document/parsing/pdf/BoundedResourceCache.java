@@ -0,0 +1,131 @@
+package com.document.parsing.pdf;
+
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.pdmodel.ResourceCache;
+import org.apache.pdfbox.pdmodel.documentinterchange.markedcontent.PDPropertyList;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
+import org.apache.pdfbox.pdmodel.graphics.pattern.PDAbstractPattern;
+import org.apache.pdfbox.pdmodel.graphics.shading.PDShading;
+import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// PDFBox's default cache holds every resource for the lifetime of the document. This one keeps at most
+// maxEntries of each resource kind and evicts the least recently used, so memory stays flat over long files.
+final class BoundedResourceCache implements ResourceCache {
+    private final Lru<PDFont> fonts;
+    private final Lru<PDColorSpace> colorSpaces;
+    private final Lru<PDExtendedGraphicsState> extGStates;
+    private final Lru<PDShading> shadings;
+    private final Lru<PDAbstractPattern> patterns;
+    private final Lru<PDPropertyList> properties;
+    private final Lru<PDXObject> xObjects;
+
+    BoundedResourceCache(int maxEntries) {
+        this.fonts = new Lru<>(maxEntries);
+        this.colorSpaces = new Lru<>(maxEntries);
+        this.extGStates = new Lru<>(maxEntries);
+        this.shadings = new Lru<>(maxEntries);
+        this.patterns = new Lru<>(maxEntries);
+        this.properties = new Lru<>(maxEntries);
+        this.xObjects = new Lru<>(maxEntries);
+    }
+
+    @Override
+    public PDFont getFont(COSObject indirect) {
+        return fonts.get(indirect);
+    }
+
+    @Override
+    public PDColorSpace getColorSpace(COSObject indirect) {
+        return colorSpaces.get(indirect);
+    }
+
+    @Override
+    public PDExtendedGraphicsState getExtGState(COSObject indirect) {
+        return extGStates.get(indirect);
+    }
+
+    @Override
+    public PDShading getShading(COSObject indirect) {
+        return shadings.get(indirect);
+    }
+
+    @Override
+    public PDAbstractPattern getPattern(COSObject indirect) {
+        return patterns.get(indirect);
+    }
+
+    @Override
+    public PDPropertyList getProperties(COSObject indirect) {
+        return properties.get(indirect);
+    }
+
+    @Override
+    public PDXObject getXObject(COSObject indirect) {
+        return xObjects.get(indirect);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDFont font) {
+        fonts.put(indirect, font);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDColorSpace colorSpace) {
+        colorSpaces.put(indirect, colorSpace);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDExtendedGraphicsState extGState) {
+        extGStates.put(indirect, extGState);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDShading shading) {
+        shadings.put(indirect, shading);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDAbstractPattern pattern) {
+        patterns.put(indirect, pattern);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDPropertyList propertyList) {
+        properties.put(indirect, propertyList);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDXObject xObject) {
+        xObjects.put(indirect, xObject);
+    }
+
+    private static final class Lru<V> {
+        private final int maxEntries;
+        private final Map<COSObject, V> entries;
+
+        private Lru(int maxEntries) {
+            this.maxEntries = maxEntries;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<COSObject, V> eldest) {
+                    return size() > Lru.this.maxEntries;
+                }
+            };
+        }
+
+        private synchronized V get(COSObject key) {
+            return key == null ? null : entries.get(key);
+        }
+
+        private synchronized void put(COSObject key, V value) {
+            if (key != null && maxEntries > 0) {
+                entries.put(key, value);
+            }
+        }
+    }
+}
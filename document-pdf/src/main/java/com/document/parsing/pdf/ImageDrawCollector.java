@@ -0,0 +1,118 @@
+package com.document.parsing.pdf;
+
+import org.apache.pdfbox.contentstream.PDFGraphicsStreamEngine;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.contentstream.operator.graphics.DrawObject;
+import org.apache.pdfbox.contentstream.operator.state.Concatenate;
+import org.apache.pdfbox.contentstream.operator.state.Restore;
+import org.apache.pdfbox.contentstream.operator.state.Save;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImage;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.util.Matrix;
+
+import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Walks a page interpreting only q/Q/cm/Do and records where each image XObject is painted. Images are
+// never decoded and paths, colours and text are ignored, so a pass costs little more than reading the stream.
+final class ImageDrawCollector extends PDFGraphicsStreamEngine {
+    private final List<ImageDraw> draws = new ArrayList<>();
+    private boolean showsText;
+
+    private ImageDrawCollector(PDPage page) {
+        super(page);
+        addOperator(new Save());
+        addOperator(new Restore());
+        addOperator(new Concatenate());
+        addOperator(new DrawObject());
+    }
+
+    static ImageDrawCollector collect(PDPage page) throws IOException {
+        ImageDrawCollector collector = new ImageDrawCollector(page);
+        collector.processPage(page);
+        return collector;
+    }
+
+    List<ImageDraw> draws() {
+        return draws;
+    }
+
+    boolean showsText() {
+        return showsText;
+    }
+
+    @Override
+    protected void unsupportedOperator(Operator operator, List<COSBase> operands) {
+        // Text can still hide in a form XObject with its own font resources.
+        if ("BT".equals(operator.getName())) {
+            showsText = true;
+        }
+    }
+
+    @Override
+    public void drawImage(PDImage pdImage) {
+        COSBase image = pdImage instanceof PDImageXObject xObject ? xObject.getCOSObject() : null;
+        draws.add(new ImageDraw(image, getGraphicsState().getCurrentTransformationMatrix().clone()));
+    }
+
+    @Override
+    public void appendRectangle(Point2D p0, Point2D p1, Point2D p2, Point2D p3) {
+    }
+
+    @Override
+    public void clip(int windingRule) {
+    }
+
+    @Override
+    public void moveTo(float x, float y) {
+    }
+
+    @Override
+    public void lineTo(float x, float y) {
+    }
+
+    @Override
+    public void curveTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+    }
+
+    @Override
+    public Point2D getCurrentPoint() {
+        return new Point2D.Float();
+    }
+
+    @Override
+    public void closePath() {
+    }
+
+    @Override
+    public void endPath() {
+    }
+
+    @Override
+    public void strokePath() {
+    }
+
+    @Override
+    public void fillPath(int windingRule) {
+    }
+
+    @Override
+    public void fillAndStrokePath(int windingRule) {
+    }
+
+    @Override
+    public void shadingFill(COSName shadingName) {
+    }
+
+    // The image fills the unit square, so the CTM alone gives its placement on the page.
+    record ImageDraw(COSBase image, Matrix ctm) {
+        double area() {
+            return Math.abs((double) ctm.getScaleX() * ctm.getScaleY() - (double) ctm.getShearX() * ctm.getShearY());
+        }
+    }
+}
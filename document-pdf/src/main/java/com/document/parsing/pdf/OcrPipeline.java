@@ -0,0 +1,112 @@
+package com.document.parsing.pdf;
+
+import com.document.parsing.core.model.ParseWarning;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Runs the image-encoding and OCR stage of a page on the worker executor while the parse thread moves on to
+// the next page. At most `depth` stages are in flight; when the pipeline is full the parse thread runs the
+// stage itself, which doubles as back-pressure. A stage still queued when its page is joined is claimed and
+// run by the joining thread, so waiting on a busy or saturated executor can never deadlock. Within a stage,
+// the images of a page are spread over the recognition executor (see OcrDispatcher).
+final class OcrPipeline {
+    static final OcrPipeline DIRECT = new OcrPipeline(null, 0, null);
+
+    private final Executor executor;
+    private final Semaphore permits;
+    private final Executor recognitionExecutor;
+
+    OcrPipeline(Executor executor, int depth, Executor recognitionExecutor) {
+        this.executor = depth > 0 ? executor : null;
+        this.permits = new Semaphore(Math.max(0, depth));
+        this.recognitionExecutor = recognitionExecutor;
+    }
+
+    boolean isConcurrent() {
+        return executor != null;
+    }
+
+    Executor recognitionExecutor() {
+        return recognitionExecutor;
+    }
+
+    Stage submit(Work work) {
+        Stage stage = new Stage(work);
+        if (work == null) {
+            return stage;
+        }
+        if (executor != null && permits.tryAcquire()) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        stage.run();
+                    } finally {
+                        permits.release();
+                    }
+                });
+                return stage;
+            } catch (RejectedExecutionException ex) {
+                permits.release();
+            }
+        }
+        stage.run();
+        return stage;
+    }
+
+    @FunctionalInterface
+    interface Work {
+        String run(List<ParseWarning> warnings);
+    }
+
+    static final class Stage {
+        private final Work work;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        // Written only by the thread that claimed the stage and read after the result completes.
+        private final List<ParseWarning> warnings = new ArrayList<>();
+
+        private Stage(Work work) {
+            this.work = work;
+        }
+
+        private void run() {
+            if (work == null || !claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                result.complete(work.run(warnings));
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        }
+
+        String join(List<ParseWarning> target) {
+            if (work == null) {
+                return "";
+            }
+            run();
+            String text;
+            try {
+                text = result.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (ex.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw ex;
+            }
+            // One warning per failed image, as in serial parsing; OCR_SERVICE_UNAVAILABLE is deduplicated where it is raised.
+            target.addAll(warnings);
+            return text == null ? "" : text;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.document.parsing.pdf;
+
+import com.document.parsing.core.model.Table;
+import org.apache.pdfbox.text.TextPosition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Builds tables from glyph coordinates while PDFTextStripper writes a page. A line becomes a row candidate
+// when it splits into two or more cells, either at an explicit '|' or at a horizontal gap wider than
+// COLUMN_GAP_FACTOR glyph widths. Runs of two or more candidate rows form a table; columns are the
+// overlapping x-ranges of all its cells, so right-aligned numbers still land in one column.
+final class PageTableDetector {
+    private static final float COLUMN_GAP_FACTOR = 2.0f;
+
+    private final List<Row> block = new ArrayList<>();
+    private final List<Table> tables = new ArrayList<>();
+    private final List<Cell> cells = new ArrayList<>();
+
+    private int pageNumber;
+    private StringBuilder cellText;
+    private float cellStart;
+    private float cellEnd;
+    private boolean delimited;
+    private boolean pendingSpace;
+    private float lastEnd = Float.NaN;
+    private float lastWidth;
+
+    void startPage(int pageNumber) {
+        this.pageNumber = pageNumber;
+        block.clear();
+        tables.clear();
+        cells.clear();
+        cellText = null;
+        delimited = false;
+        pendingSpace = false;
+        lastEnd = Float.NaN;
+    }
+
+    void addWord(List<TextPosition> positions) {
+        for (TextPosition position : positions) {
+            addGlyph(position);
+        }
+        pendingSpace = true;
+    }
+
+    void endLine() {
+        closeCell();
+        if (cells.size() >= 2) {
+            if (!isSeparatorRow()) {
+                block.add(new Row(List.copyOf(cells), delimited));
+            }
+        } else {
+            flushBlock();
+        }
+        cells.clear();
+        delimited = false;
+        pendingSpace = false;
+        lastEnd = Float.NaN;
+    }
+
+    List<Table> finishPage() {
+        endLine();
+        flushBlock();
+        List<Table> detected = List.copyOf(tables);
+        tables.clear();
+        return detected;
+    }
+
+    private void addGlyph(TextPosition position) {
+        String unicode = position.getUnicode();
+        if (unicode == null || unicode.isBlank()) {
+            pendingSpace = true;
+            return;
+        }
+        if ("|".equals(unicode)) {
+            closeCell();
+            delimited = true;
+            return;
+        }
+
+        float x = position.getXDirAdj();
+        float width = position.getWidthDirAdj();
+        if (cellText != null && !Float.isNaN(lastEnd) && x - lastEnd > COLUMN_GAP_FACTOR * Math.max(width, lastWidth)) {
+            closeCell();
+        }
+        if (cellText == null) {
+            cellText = new StringBuilder();
+            cellStart = x;
+        } else if (pendingSpace) {
+            cellText.append(' ');
+        }
+        cellText.append(unicode);
+        cellEnd = x + width;
+        lastEnd = cellEnd;
+        lastWidth = width;
+        pendingSpace = false;
+    }
+
+    private void closeCell() {
+        if (cellText != null && !cellText.isEmpty()) {
+            cells.add(new Cell(cellText.toString().trim(), cellStart, cellEnd));
+        }
+        cellText = null;
+        pendingSpace = false;
+    }
+
+    private boolean isSeparatorRow() {
+        for (Cell cell : cells) {
+            for (int i = 0; i < cell.text().length(); i++) {
+                char ch = cell.text().charAt(i);
+                if (ch != '-' && ch != ':') {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void flushBlock() {
+        if (block.size() >= 2) {
+            List<List<String>> rows = block.stream().allMatch(Row::delimited) ? ordinalRows() : alignedRows();
+            if (!rows.isEmpty()) {
+                tables.add(new Table("pdf-table-" + pageNumber + "-" + (tables.size() + 1), pageNumber, rows));
+            }
+        }
+        block.clear();
+    }
+
+    private List<List<String>> ordinalRows() {
+        return block.stream()
+            .map(row -> row.cells().stream().map(Cell::text).toList())
+            .toList();
+    }
+
+    private List<List<String>> alignedRows() {
+        List<Cell> all = new ArrayList<>();
+        block.forEach(row -> all.addAll(row.cells()));
+        all.sort((left, right) -> Float.compare(left.start(), right.start()));
+
+        List<float[]> columns = new ArrayList<>();
+        for (Cell cell : all) {
+            float[] last = columns.isEmpty() ? null : columns.get(columns.size() - 1);
+            if (last != null && cell.start() <= last[1]) {
+                last[1] = Math.max(last[1], cell.end());
+            } else {
+                columns.add(new float[] {cell.start(), cell.end()});
+            }
+        }
+        if (columns.size() < 2) {
+            return List.of();
+        }
+
+        List<List<String>> rows = new ArrayList<>(block.size());
+        for (Row row : block) {
+            String[] values = new String[columns.size()];
+            Arrays.fill(values, "");
+            for (Cell cell : row.cells()) {
+                int column = columnOf(columns, cell.start());
+                values[column] = values[column].isEmpty() ? cell.text() : values[column] + " " + cell.text();
+            }
+            rows.add(List.of(values));
+        }
+        return rows;
+    }
+
+    private int columnOf(List<float[]> columns, float x) {
+        for (int i = columns.size() - 1; i > 0; i--) {
+            if (x >= columns.get(i)[0]) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private record Cell(String text, float start, float end) {
+    }
+
+    private record Row(List<Cell> cells, boolean delimited) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.document.parsing.pdf;
+
+import com.document.parsing.core.model.BlockLayout;
+import com.document.parsing.core.model.Table;
+
+import java.util.List;
+
+record PageText(String text, List<Table> tables, BlockLayout layout) {
+    static final PageText EMPTY = new PageText("", List.of(), null);
+
+    // Layout offsets index into text, so a shortened text drops the boxes past its end.
+    BlockLayout layoutFor(String limitedText) {
+        if (layout == null || limitedText.length() == text.length()) {
+            return layout;
+        }
+        return layout.truncate(limitedText.length());
+    }
+}
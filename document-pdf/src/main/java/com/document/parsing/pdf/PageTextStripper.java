@@ -0,0 +1,191 @@
+package com.document.parsing.pdf;
+
+import com.document.parsing.core.model.BlockLayout;
+import com.document.parsing.core.parser.ParseOptions.LayoutCapture;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+// Collects text per page from a single traversal instead of one getText() call per page,
+// each of which would walk the whole page tree again. Table detection rides on the same pass.
+final class PageTextStripper extends PDFTextStripper {
+    private final StringWriter buffer = new StringWriter();
+    private final PageTableDetector tableDetector = new PageTableDetector();
+    private final LayoutCapture layoutCapture;
+    private BlockLayout.Builder layout;
+    private float lineX0;
+    private float lineY0;
+    private float lineX1;
+    private float lineY1;
+    private int lineStart = -1;
+    private int lineEnd;
+    private PageText[] pageTexts;
+    private int firstPage;
+    private IntPredicate skipPage = pageNum -> false;
+
+    PageTextStripper(LayoutCapture layoutCapture) throws IOException {
+        super();
+        this.layoutCapture = layoutCapture;
+    }
+
+    List<PageText> extract(PDDocument document, int startPage, int endPage, IntPredicate skipPage) throws IOException {
+        this.skipPage = skipPage;
+        setStartPage(startPage);
+        setEndPage(endPage);
+        firstPage = startPage;
+        pageTexts = new PageText[Math.max(0, endPage - startPage + 1)];
+        Arrays.fill(pageTexts, PageText.EMPTY);
+        buffer.getBuffer().setLength(0);
+        try {
+            // Pages without a content stream never reach startPage/endPage and keep their empty slot.
+            writeText(document, buffer);
+            return Arrays.asList(pageTexts);
+        } finally {
+            pageTexts = null;
+        }
+    }
+
+    @Override
+    public void processPage(PDPage page) throws IOException {
+        // processPages hands over every page of the document; only pages inside the range may be skipped.
+        int pageNum = getCurrentPageNo();
+        if (pageNum < getStartPage() || pageNum > getEndPage() || !skipPage.test(pageNum)) {
+            super.processPage(page);
+        }
+    }
+
+    @Override
+    protected void startPage(PDPage page) throws IOException {
+        buffer.getBuffer().setLength(0);
+        tableDetector.startPage(getCurrentPageNo());
+        layout = layoutCapture == LayoutCapture.NONE ? null : BlockLayout.builder();
+        lineStart = -1;
+        super.startPage(page);
+    }
+
+    @Override
+    protected void writeString(String text, List<TextPosition> textPositions) throws IOException {
+        int start = buffer.getBuffer().length();
+        super.writeString(text, textPositions);
+        tableDetector.addWord(textPositions);
+        if (layout != null && !textPositions.isEmpty()) {
+            if (layoutCapture == LayoutCapture.WORD && splitsIntoWords(text, textPositions)) {
+                recordWords(textPositions, start);
+            } else {
+                recordWord(textPositions, start, buffer.getBuffer().length());
+            }
+        }
+    }
+
+    @Override
+    protected void writeLineSeparator() throws IOException {
+        tableDetector.endLine();
+        flushLine();
+        super.writeLineSeparator();
+    }
+
+    // Literal spaces stay inside one stripper "word"; they can be split only while glyphs map 1:1 onto the text.
+    private boolean splitsIntoWords(String text, List<TextPosition> positions) {
+        int length = 0;
+        for (TextPosition position : positions) {
+            length += position.getUnicode() == null ? 0 : position.getUnicode().length();
+        }
+        return length == text.length();
+    }
+
+    private void recordWords(List<TextPosition> positions, int start) {
+        int offset = start;
+        int wordStart = -1;
+        int wordOffset = 0;
+        for (int i = 0; i <= positions.size(); i++) {
+            TextPosition position = i < positions.size() ? positions.get(i) : null;
+            boolean space = position == null || position.getUnicode() == null || position.getUnicode().isBlank();
+            if (space && wordStart >= 0) {
+                recordWord(positions.subList(wordStart, i), wordOffset, offset);
+                wordStart = -1;
+            } else if (!space && wordStart < 0) {
+                wordStart = i;
+                wordOffset = offset;
+            }
+            if (position != null && position.getUnicode() != null) {
+                offset += position.getUnicode().length();
+            }
+        }
+    }
+
+    // Boxes use the stripper's direction-adjusted coordinates: points, origin at the top-left of the page.
+    private void recordWord(List<TextPosition> positions, int start, int end) {
+        float x0 = Float.MAX_VALUE;
+        float y0 = Float.MAX_VALUE;
+        float x1 = -Float.MAX_VALUE;
+        float y1 = -Float.MAX_VALUE;
+        for (TextPosition position : positions) {
+            x0 = Math.min(x0, position.getXDirAdj());
+            x1 = Math.max(x1, position.getXDirAdj() + position.getWidthDirAdj());
+            y0 = Math.min(y0, position.getYDirAdj() - position.getHeightDir());
+            y1 = Math.max(y1, position.getYDirAdj());
+        }
+        if (layoutCapture == LayoutCapture.WORD) {
+            layout.add(x0, y0, x1, y1, start, end);
+            return;
+        }
+        if (lineStart < 0) {
+            lineX0 = x0;
+            lineY0 = y0;
+            lineX1 = x1;
+            lineY1 = y1;
+            lineStart = start;
+        } else {
+            lineX0 = Math.min(lineX0, x0);
+            lineY0 = Math.min(lineY0, y0);
+            lineX1 = Math.max(lineX1, x1);
+            lineY1 = Math.max(lineY1, y1);
+        }
+        lineEnd = end;
+    }
+
+    private void flushLine() {
+        if (layout != null && lineStart >= 0) {
+            layout.add(lineX0, lineY0, lineX1, lineY1, lineStart, lineEnd);
+        }
+        lineStart = -1;
+    }
+
+    // Offsets were taken against the untrimmed buffer; shift them onto the trimmed page text.
+    private BlockLayout pageLayout(int leading, int length) {
+        if (layout == null) {
+            return null;
+        }
+        BlockLayout built = layout.build();
+        if (leading > 0) {
+            BlockLayout.Builder shifted = BlockLayout.builder();
+            BlockLayout.Cursor cursor = built.cursor();
+            while (cursor.next()) {
+                shifted.add(cursor.x0(), cursor.y0(), cursor.x1(), cursor.y1(),
+                    Math.max(0, cursor.textStart() - leading), Math.max(0, cursor.textEnd() - leading));
+            }
+            built = shifted.build();
+        }
+        return built.truncate(length);
+    }
+
+    @Override
+    protected void endPage(PDPage page) throws IOException {
+        super.endPage(page);
+        int index = getCurrentPageNo() - firstPage;
+        if (index >= 0 && index < pageTexts.length) {
+            flushLine();
+            String raw = buffer.toString();
+            String text = raw.trim();
+            pageTexts[index] = new PageText(text, tableDetector.finishPage(), pageLayout(raw.indexOf(text), text.length()));
+        }
+        buffer.getBuffer().setLength(0);
+    }
+}
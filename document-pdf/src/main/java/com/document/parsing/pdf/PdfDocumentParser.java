@@ -2,8 +2,10 @@ package com.document.parsing.pdf;
 
 import com.document.parsing.core.event.BlockEvent;
 import com.document.parsing.core.exception.CorruptedDocumentException;
+import com.document.parsing.core.exception.ResourceLimitExceededException;
 import com.document.parsing.core.exception.OcrUnavailableException;
 import com.document.parsing.core.model.Block;
+import com.document.parsing.core.model.BlockLayout;
 import com.document.parsing.core.model.Document;
 import com.document.parsing.core.model.DocumentType;
 import com.document.parsing.core.model.ImageBlock;
@@ -14,41 +16,68 @@ import com.document.parsing.core.model.ParseWarning;
 import com.document.parsing.core.model.Table;
 import com.document.parsing.core.model.TableBlock;
 import com.document.parsing.core.model.TextBlock;
+import com.document.parsing.core.ocr.BlankImageDetector;
+import com.document.parsing.core.ocr.OcrDispatcher;
+import com.document.parsing.core.ocr.OcrTiling;
 import com.document.parsing.core.ocr.OcrService;
 import com.document.parsing.core.parser.DocumentParser;
 import com.document.parsing.core.parser.ParseOptions;
 import com.document.parsing.core.parser.ParseRequest;
 import com.document.parsing.core.parser.ParseResult;
+import com.document.parsing.core.parser.ResourceGuard;
+import com.document.parsing.core.render.RenderOptions;
 import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDDocumentInformation;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.encryption.InvalidPasswordException;
 import org.apache.pdfbox.pdmodel.graphics.PDXObject;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
-import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
 
 import javax.imageio.ImageIO;
-import java.io.ByteArrayOutputStream;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Comparator;
 import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
-public class PdfDocumentParser implements DocumentParser {
+public class PdfDocumentParser implements DocumentParser, AutoCloseable {
+    private static final int TEXT_WINDOW = 32;
+    private static final int STREAM_IMAGE_CACHE_SIZE = 64;
+
     private final List<OcrService> ocrServices;
 
     public PdfDocumentParser() {
@@ -58,6 +87,10 @@ public class PdfDocumentParser implements DocumentParser {
             .toList();
     }
 
+    PdfDocumentParser(List<OcrService> ocrServices) {
+        this.ocrServices = List.copyOf(ocrServices);
+    }
+
     @Override
     public boolean supports(DocumentType type) {
         return type == DocumentType.PDF;
@@ -65,64 +98,245 @@ public class PdfDocumentParser implements DocumentParser {
 
     @Override
     public ParseResult parse(ParseRequest request) {
+        ParseOptions options = request.getOptions();
         List<ParseWarning> warnings = new ArrayList<>();
-        try (PDDocument pdDocument = PDDocument.load(request.getStream())) {
-            int totalPages = pdDocument.getNumberOfPages();
-            int pageLimit = resolvePageLimit(totalPages, request.getOptions());
-            PDFTextStripper stripper = new PDFTextStripper();
+        ResourceGuard guard = ResourceGuard.of(options, warnings);
+        try {
+            DocumentLoader loader = resolveLoader(request);
+            try (PDDocument pdDocument = loader == null
+                ? withResourceCache(PDDocument.load(request.getStream()), options)
+                : loader.load()) {
+                int totalPages = pdDocument.getNumberOfPages();
+                int pageLimit = resolvePageLimit(totalPages, options);
+                Metadata metadata = readMetadata(pdDocument, pageLimit);
+
+                OcrPipeline pipeline = ocrPipeline(request);
+                PageBatch batch = loader != null && pageLimit > options.getPageChunkSize()
+                    ? parsePagesInParallel(pdDocument, loader, pageLimit, options.getPageChunkSize(),
+                        request.getWorkerExecutor(), options, guard, pipeline)
+                    : parsePages(pdDocument, 1, pageLimit, options, guard, pipeline);
+                warnings.addAll(batch.warnings);
+                if (routesScannedPages(options)) {
+                    metadata.getCustomProperties().put("scannedPages", List.copyOf(batch.scannedPages));
+                    metadata.getCustomProperties().put("scannedPageCount", batch.scannedPages.size());
+                }
+                if (!batch.blankImages.isEmpty()) {
+                    metadata.getCustomProperties().put("blankImages", List.copyOf(batch.blankImages));
+                }
 
-            Metadata metadata = readMetadata(pdDocument, pageLimit);
-            List<Page> pages = new ArrayList<>();
-            List<ImageElement> images = new ArrayList<>();
-            List<Table> tables = new ArrayList<>();
-            StringBuilder rawText = new StringBuilder();
-            int tableCounter = 0;
+                StringBuilder rawText = batch.rawText;
+
+                Document document = Document.builder()
+                    .metadata(metadata)
+                    .pages(batch.pages)
+                    .tables(batch.tables)
+                    .images(batch.images)
+                    .rawText(rawText.toString().trim())
+                    .warnings(warnings)
+                    .build();
+                return new ParseResult(document, warnings);
+            }
+        } catch (IOException e) {
+            throw new CorruptedDocumentException("Failed to parse PDF document", e);
+        }
+    }
+
+    // Page stages prefer the dedicated OCR pool; the images of one page fan out to it as well.
+    private OcrPipeline ocrPipeline(ParseRequest request) {
+        ParseOptions options = request.getOptions();
+        if (!options.isEnableOcr() || options.isTextOnly()) {
+            return OcrPipeline.DIRECT;
+        }
+        Executor ocrExecutor = request.getOcrExecutor();
+        Executor stageExecutor = ocrExecutor != null ? ocrExecutor : request.getWorkerExecutor();
+        return new OcrPipeline(stageExecutor, options.getOcrPipelineDepth(), ocrExecutor);
+    }
+
+    // Parallel mode needs a source every worker can reopen, since a PDDocument must not be shared across threads.
+    private DocumentLoader resolveLoader(ParseRequest request) throws IOException {
+        if (!request.getOptions().isParallelPagesEnabled() || request.getWorkerExecutor() == null) {
+            return null;
+        }
+        Path sourceFile = request.getSourceFile();
+        if (sourceFile != null && Files.isRegularFile(sourceFile)) {
+            return () -> withResourceCache(PDDocument.load(sourceFile.toFile()), request.getOptions());
+        }
+        byte[] content = request.getStream().readAllBytes();
+        return () -> withResourceCache(PDDocument.load(content), request.getOptions());
+    }
 
-            for (int pageNum = 1; pageNum <= pageLimit; pageNum++) {
-                String text = extractPageText(stripper, pdDocument, pageNum);
+    private PDDocument withResourceCache(PDDocument document, ParseOptions options) {
+        int cacheSize = options.getPdfResourceCacheSize();
+        if (cacheSize >= 0) {
+            document.setResourceCache(new BoundedResourceCache(cacheSize));
+        }
+        return document;
+    }
+
+    private PageBatch parsePagesInParallel(PDDocument firstDocument,
+                                           DocumentLoader loader,
+                                           int pageLimit,
+                                           int chunkSize,
+                                           Executor executor,
+                                           ParseOptions options,
+                                           ResourceGuard guard,
+                                           OcrPipeline pipeline) throws IOException {
+        // Later chunks count characters on a fork of the guard and are charged to it in page order on merge, so
+        // the text kept under maxCharacters does not depend on which chunk finishes first.
+        List<CompletableFuture<PageBatch>> chunks = new ArrayList<>();
+        for (int start = chunkSize + 1; start <= pageLimit; start += chunkSize) {
+            int from = start;
+            int to = Math.min(pageLimit, start + chunkSize - 1);
+            ResourceGuard chunkGuard = guard.fork();
+            chunks.add(CompletableFuture.supplyAsync(
+                () -> parseChunk(loader, from, to, options, chunkGuard, pipeline), executor));
+        }
+
+        PageBatch merged;
+        try {
+            // The calling thread takes the first chunk on the document it already opened.
+            merged = parsePages(firstDocument, 1, Math.min(chunkSize, pageLimit), options, guard, pipeline);
+            for (CompletableFuture<PageBatch> chunk : chunks) {
+                merged.append(chunk.join(), guard);
+            }
+        } catch (CompletionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw e;
+        }
+        return merged;
+    }
+
+    private PageBatch parseChunk(DocumentLoader loader, int from, int to, ParseOptions options, ResourceGuard guard,
+                                 OcrPipeline pipeline) {
+        try (PDDocument document = loader.load()) {
+            return parsePages(document, from, to, options, guard, pipeline);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // With a concurrent OCR pipeline, text is stripped a window at a time so OCR of early pages overlaps text
+    // extraction of later ones; pages are assembled in page order once their OCR stage has been joined.
+    private PageBatch parsePages(PDDocument pdDocument, int from, int to, ParseOptions options, ResourceGuard guard,
+                                 OcrPipeline pipeline) throws IOException {
+        boolean textOnly = options.isTextOnly();
+        PageBatch batch = new PageBatch();
+        Map<COSStream, PdfImageContent> imageCache = new IdentityHashMap<>();
+        PDFRenderer renderer = options.isPageRenderingEnabled() ? new PDFRenderer(pdDocument) : null;
+        int window = pipeline.isConcurrent() ? TEXT_WINDOW : to - from + 1;
+        List<PendingPage> pending = new ArrayList<>(to - from + 1);
+
+        for (int windowStart = from; windowStart <= to && !guard.isExhausted(); windowStart += window) {
+            int windowEnd = Math.min(to, windowStart + window - 1);
+            boolean[] scanned = classifyScannedPages(pdDocument, windowStart, windowEnd, options);
+            List<PageText> pageTexts = extractPageTexts(pdDocument, windowStart, windowEnd, options, scanned);
+
+            for (int pageNum = windowStart; pageNum <= windowEnd && !guard.isExhausted(); pageNum++) {
+                boolean scannedPage = scanned[pageNum - windowStart];
+                if (scannedPage) {
+                    batch.scannedPages.add(pageNum);
+                }
+                renderToSink(renderer, pdDocument, pageNum, options, batch.warnings, guard);
+                PageText pageText = pageTexts.get(pageNum - windowStart);
+                String text = guard.limitText(pageText.text());
 
                 List<Block> blocks = new ArrayList<>();
                 if (!text.isBlank()) {
-                    blocks.add(new TextBlock(text));
-                    rawText.append(text).append(System.lineSeparator());
+                    blocks.add(new TextBlock(text, pageText.layoutFor(text)));
+                }
+                if (textOnly) {
+                    pending.add(new PendingPage(pageNum, text, blocks, List.of(), pipeline.submit(null)));
+                    continue;
                 }
 
-                List<Table> pageTables = extractTablesFromText(text, pageNum, tableCounter);
-                tableCounter += pageTables.size();
-                for (Table table : pageTables) {
-                    tables.add(table);
+                for (Table table : pageText.tables()) {
+                    if (!guard.allowBlock(pageNum, blocks.size())) {
+                        break;
+                    }
+                    batch.tables.add(table);
                     blocks.add(new TableBlock(table));
                 }
 
                 PDPage page = pdDocument.getPage(pageNum - 1);
-                extractImages(page, pageNum, images, blocks, warnings);
-                pages.add(new Page(pageNum, blocks));
+                List<ImageElement> pageImages = new ArrayList<>();
+                extractImages(page, pageNum, pageImages, blocks, batch.warnings, guard, imageCache, options);
+                batch.images.addAll(pageImages);
+
+                List<String> blankImages = new ArrayList<>();
+                OcrPipeline.Work ocr = scannedPage
+                    ? renderedPageOcr(pdDocument, pageNum, pageImages, options, batch.warnings, blankImages,
+                        pipeline.recognitionExecutor(), guard)
+                    : imageOcr(text, pageImages, options, batch.warnings, blankImages, pipeline.recognitionExecutor());
+                pending.add(new PendingPage(pageNum, text, blocks, blankImages, pipeline.submit(ocr)));
             }
+        }
 
-            maybeRunOcr(rawText, images, request.getOptions(), warnings);
+        for (PendingPage page : pending) {
+            if (!page.text().isBlank()) {
+                batch.rawText.append(page.text()).append(System.lineSeparator());
+            }
+            String ocrText = guard.limitText(page.ocr().join(batch.warnings));
+            batch.blankImages.addAll(page.blankImages());
+            if (!ocrText.isBlank()) {
+                page.blocks().add(new TextBlock(ocrText));
+                batch.rawText.append(ocrText).append(System.lineSeparator());
+            }
+            batch.pages.add(new Page(page.pageNumber(), page.blocks()));
+        }
+        return batch;
+    }
 
-            Document document = Document.builder()
-                .metadata(metadata)
-                .pages(pages)
-                .tables(tables)
-                .images(images)
-                .rawText(rawText.toString().trim())
-                .warnings(warnings)
-                .build();
-            return new ParseResult(document, warnings);
-        } catch (IOException e) {
-            throw new CorruptedDocumentException("Failed to parse PDF document", e);
+    // Scanned pages keep an empty text slot; their text comes from OCR of the rendered page instead.
+    private List<PageText> extractPageTexts(PDDocument pdDocument, int from, int to, ParseOptions options, boolean[] scanned) throws IOException {
+        if (!options.isTextOnly()) {
+            return new PageTextStripper(options.getLayoutCapture()).extract(pdDocument, from, to, pageNum -> scanned[pageNum - from]);
+        }
+        TextOnlyStreamEngine engine = new TextOnlyStreamEngine();
+        List<PageText> texts = new ArrayList<>(to - from + 1);
+        for (int pageNum = from; pageNum <= to; pageNum++) {
+            texts.add(scanned[pageNum - from]
+                ? PageText.EMPTY
+                : new PageText(engine.extract(pdDocument.getPage(pageNum - 1)), List.of(), null));
+        }
+        return texts;
+    }
+
+    private boolean routesScannedPages(ParseOptions options) {
+        return options.isScannedPageRoutingEnabled() && !options.isTextOnly();
+    }
+
+    private boolean[] classifyScannedPages(PDDocument pdDocument, int from, int to, ParseOptions options) {
+        boolean[] scanned = new boolean[to - from + 1];
+        if (!routesScannedPages(options)) {
+            return scanned;
         }
+        for (int pageNum = from; pageNum <= to; pageNum++) {
+            try {
+                scanned[pageNum - from] = ScannedPageClassifier.isScanned(pdDocument.getPage(pageNum - 1));
+            } catch (IOException | RuntimeException ex) {
+                // An unreadable content stream falls back to the regular extraction path.
+                scanned[pageNum - from] = false;
+            }
+        }
+        return scanned;
     }
 
     @Override
     public Optional<Stream<BlockEvent>> parseStream(ParseRequest request) {
         try {
-            PDDocument pdDocument = PDDocument.load(request.getStream());
+            PDDocument pdDocument = withResourceCache(PDDocument.load(request.getStream()), request.getOptions());
             int pageLimit = resolvePageLimit(pdDocument.getNumberOfPages(), request.getOptions());
-            PDFTextStripper stripper = new PDFTextStripper();
-
-            PdfBlockEventIterator iterator = new PdfBlockEventIterator(pdDocument, stripper, pageLimit, request.getOptions());
+            PdfBlockEventIterator iterator = new PdfBlockEventIterator(pdDocument, pageLimit, request.getOptions(),
+                new OcrPipeline(null, 0, request.getOcrExecutor()));
             Stream<BlockEvent> stream = StreamSupport.stream(
                     Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
                     false
@@ -134,14 +348,38 @@ public class PdfDocumentParser implements DocumentParser {
         }
     }
 
+    // Loading parses the trailer, cross-reference table and Info dictionary; pages are never walked. A document
+    // that needs a user password cannot be opened at all and is reported as encrypted without counts.
+    @Override
+    public Optional<Metadata> probe(ParseRequest request) {
+        Path sourceFile = request.getSourceFile();
+        try (PDDocument pdDocument = sourceFile != null && Files.isRegularFile(sourceFile)
+            ? PDDocument.load(sourceFile.toFile())
+            : PDDocument.load(request.getStream())) {
+            return Optional.of(readMetadata(pdDocument, pdDocument.getNumberOfPages()));
+        } catch (InvalidPasswordException e) {
+            Metadata metadata = new Metadata();
+            metadata.setEncrypted(true);
+            return Optional.of(metadata);
+        } catch (IOException e) {
+            throw new CorruptedDocumentException("Failed to probe PDF document", e);
+        }
+    }
+
     @Override
     public int getPriority() {
         return 20;
     }
 
+    @Override
+    public void close() {
+        ocrServices.forEach(OcrService::close);
+    }
+
     private Metadata readMetadata(PDDocument pdDocument, int pageCount) {
         Metadata metadata = new Metadata();
         metadata.setPageCount(pageCount);
+        metadata.setEncrypted(pdDocument.isEncrypted());
 
         PDDocumentInformation info = pdDocument.getDocumentInformation();
         if (info != null) {
@@ -159,39 +397,51 @@ public class PdfDocumentParser implements DocumentParser {
         return metadata;
     }
 
-    private String extractPageText(PDFTextStripper stripper, PDDocument pdDocument, int pageNum) throws IOException {
-        stripper.setStartPage(pageNum);
-        stripper.setEndPage(pageNum);
-        return Optional.ofNullable(stripper.getText(pdDocument)).orElse("").trim();
-    }
-
     private void extractImages(PDPage page,
                                int pageNum,
                                List<ImageElement> images,
                                List<Block> blocks,
-                               List<ParseWarning> warnings) {
+                               List<ParseWarning> warnings,
+                               ResourceGuard guard,
+                               Map<COSStream, PdfImageContent> imageCache,
+                               ParseOptions options) {
         try {
             PDResources resources = page.getResources();
             if (resources == null) {
                 return;
             }
+            List<ImageDrawCollector.ImageDraw> draws = options.getLayoutCapture() == ParseOptions.LayoutCapture.NONE
+                ? List.of()
+                : ImageDrawCollector.collect(page).draws();
 
             int imageCounter = 0;
             for (COSName xObjectName : resources.getXObjectNames()) {
                 PDXObject xObject = resources.getXObject(xObjectName);
                 if (xObject instanceof PDImageXObject imageObject) {
                     imageCounter++;
-                    byte[] content = toPngBytes(imageObject);
-                    ImageElement image = new ImageElement(
-                        "pdf-page-" + pageNum + "-img-" + imageCounter,
+                    String imageId = "pdf-page-" + pageNum + "-img-" + imageCounter;
+                    // Dimensions come from the image dictionary, so oversized images are rejected before copying.
+                    // Images OCR reads as strips are exempt: the tiler decodes them one strip region at a time.
+                    if (!isOcrTiled(imageObject.getWidth(), imageObject.getHeight(), options)
+                        && !guard.allowImage(imageId, imageObject.getWidth(), imageObject.getHeight())) {
+                        continue;
+                    }
+                    if (!guard.allowBlock(pageNum, blocks.size())) {
+                        break;
+                    }
+                    PdfImageContent content = PdfImageContent.of(imageObject, imageCache);
+                    ImageElement image = ImageElement.lazy(
+                        imageId,
                         pageNum,
-                        "image/png",
+                        content.mimeType(),
                         imageObject.getWidth(),
                         imageObject.getHeight(),
-                        content
+                        content.loader(),
+                        content.rasterLoader(),
+                        content.regionLoader()
                     );
                     images.add(image);
-                    blocks.add(new ImageBlock(image));
+                    blocks.add(new ImageBlock(image, draws.isEmpty() ? null : placements(page, imageObject, draws)));
                 }
             }
         } catch (IOException e) {
@@ -200,173 +450,246 @@ public class PdfDocumentParser implements DocumentParser {
         }
     }
 
-    private byte[] toPngBytes(PDImageXObject imageObject) throws IOException {
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            ImageIO.write(imageObject.getImage(), "png", out);
-            return out.toByteArray();
+    private boolean isOcrTiled(long width, long height, ParseOptions options) {
+        return options.isEnableOcr() && !options.isTextOnly() && OcrTiling.isTiled(width, height, options);
+    }
+
+    private BlockLayout placements(PDPage page, PDImageXObject imageObject, List<ImageDrawCollector.ImageDraw> draws) {
+        PDRectangle cropBox = page.getCropBox();
+        BlockLayout.Builder layout = BlockLayout.builder();
+        for (ImageDrawCollector.ImageDraw draw : draws) {
+            if (draw.image() != imageObject.getCOSObject()) {
+                continue;
+            }
+            float minX = Float.MAX_VALUE;
+            float minY = Float.MAX_VALUE;
+            float maxX = -Float.MAX_VALUE;
+            float maxY = -Float.MAX_VALUE;
+            for (int corner = 0; corner < 4; corner++) {
+                Point2D.Float point = draw.ctm().transformPoint(corner & 1, corner >> 1);
+                minX = Math.min(minX, point.x);
+                minY = Math.min(minY, point.y);
+                maxX = Math.max(maxX, point.x);
+                maxY = Math.max(maxY, point.y);
+            }
+            // Flip onto the top-left origin used for text boxes.
+            layout.add(minX - cropBox.getLowerLeftX(), cropBox.getUpperRightY() - maxY,
+                maxX - cropBox.getLowerLeftX(), cropBox.getUpperRightY() - minY, -1, -1);
         }
+        return layout.size() == 0 ? null : layout.build();
     }
 
-    private List<Table> extractTablesFromText(String pageText, int pageNum, int startIndex) {
-        if (pageText == null || pageText.isBlank()) {
-            return List.of();
+    // Decides on the parse thread whether the page needs OCR; the returned work decodes and recognises the
+    // candidate images and may run on another thread, since image content is detached from the document.
+    private OcrPipeline.Work imageOcr(String pageText,
+                                      List<ImageElement> images,
+                                      ParseOptions options,
+                                      List<ParseWarning> warnings,
+                                      List<String> blankImages,
+                                      Executor recognitionExecutor) {
+        if (!options.isEnableOcr() || images.isEmpty()) {
+            return null;
         }
 
-        String[] lines = pageText.split("\\R");
-        List<Table> tables = new ArrayList<>();
-        List<List<String>> currentRows = new ArrayList<>();
-        int localCounter = 0;
+        int textLength = pageText == null ? 0 : pageText.trim().length();
+        if (textLength >= options.getLowTextDensityThreshold()) {
+            return null;
+        }
 
-        for (String line : lines) {
-            Optional<List<String>> maybeRow = parsePotentialTableRow(line);
-            if (maybeRow.isPresent()) {
-                currentRows.add(maybeRow.get());
-            } else {
-                if (currentRows.size() >= 2) {
-                    localCounter++;
-                    tables.add(new Table(
-                        "pdf-table-" + pageNum + "-" + (startIndex + localCounter),
-                        pageNum,
-                        new ArrayList<>(currentRows)
-                    ));
-                }
-                currentRows.clear();
-            }
+        List<ImageElement> candidates = selectOcrCandidates(images, options);
+        if (candidates.isEmpty()) {
+            return null;
         }
 
-        if (currentRows.size() >= 2) {
-            localCounter++;
-            tables.add(new Table(
-                "pdf-table-" + pageNum + "-" + (startIndex + localCounter),
-                pageNum,
-                new ArrayList<>(currentRows)
-            ));
+        OcrService ocrService = requireOcrService(options, warnings);
+        if (ocrService == null) {
+            return null;
         }
 
-        return tables;
+        OcrDispatcher dispatcher = new OcrDispatcher(ocrService, recognitionExecutor);
+        return stageWarnings -> {
+            StringBuilder builder = new StringBuilder();
+            for (String text : dispatcher.recognize(skipBlankImages(candidates, options, blankImages), options, stageWarnings)) {
+                if (text != null && !text.isBlank()) {
+                    builder.append(text.trim()).append(System.lineSeparator());
+                }
+            }
+            return builder.toString().trim();
+        };
     }
 
-    private Optional<List<String>> parsePotentialTableRow(String line) {
-        if (line == null) {
-            return Optional.empty();
+    // A scanned page is rendered once at ocrRenderDpi instead of decoding its image XObject, which also
+    // honours the page rotation, crop box and image transform the scanner produced. Rendering needs the
+    // document and stays on the parse thread; the returned work hands the raster straight to the OcrService.
+    private OcrPipeline.Work renderedPageOcr(PDDocument pdDocument,
+                                             int pageNum,
+                                             List<ImageElement> pageImages,
+                                             ParseOptions options,
+                                             List<ParseWarning> warnings,
+                                             List<String> blankImages,
+                                             Executor recognitionExecutor,
+                                             ResourceGuard guard) {
+        if (!options.isEnableOcr()) {
+            return null;
         }
-
-        String normalized = line.trim();
-        if (normalized.isBlank()) {
-            return Optional.empty();
+        OcrService ocrService = requireOcrService(options, warnings);
+        if (ocrService == null) {
+            return null;
         }
 
-        String[] rawCells;
-        if (normalized.contains("|") && normalized.chars().filter(ch -> ch == '|').count() >= 2) {
-            rawCells = normalized.split("\\|");
-        } else if (normalized.contains("\t")) {
-            rawCells = normalized.split("\\t");
-        } else if (normalized.matches(".*\\S\\s{2,}\\S.*")) {
-            rawCells = normalized.split("\\s{2,}");
-        } else {
-            return Optional.empty();
+        float scale = options.getOcrRenderDpi() / 72f;
+        PDRectangle box = pdDocument.getPage(pageNum - 1).getCropBox();
+        long width = Math.round(box.getWidth() * scale);
+        long height = Math.round(box.getHeight() * scale);
+        if (!guard.allowImage("pdf-page-" + pageNum + "-render", width, height)) {
+            return null;
         }
 
-        List<String> cells = Arrays.stream(rawCells)
-            .map(String::trim)
-            .filter(cell -> !cell.isBlank())
-            .toList();
-
-        if (cells.size() < 2 || isSeparatorRow(cells)) {
-            return Optional.empty();
+        BufferedImage rendered;
+        try {
+            rendered = new PDFRenderer(pdDocument).renderImage(pageNum - 1, scale, ImageType.GRAY);
+        } catch (IOException ex) {
+            String message = "Failed to render PDF page " + pageNum + " for OCR";
+            if (options.isFailOnOcrError()) {
+                throw new CorruptedDocumentException(message, ex);
+            }
+            warnings.add(new ParseWarning("OCR_EXECUTION_FAILED", message + ": " + ex.getMessage()));
+            return null;
         }
 
-        return Optional.of(cells);
-    }
-
-    private boolean isSeparatorRow(List<String> cells) {
-        return cells.stream().allMatch(cell -> cell.matches("[-:]+"));
+        // Large-format pages above ocrTileThresholdPixels are split into strips by the dispatcher.
+        ImageElement page = ImageElement.lazy("pdf-page-" + pageNum + "-render", pageNum, "image/png",
+            rendered.getWidth(), rendered.getHeight(), () -> PdfPageRenderer.toPng(rendered), () -> rendered);
+        OcrDispatcher dispatcher = new OcrDispatcher(ocrService, recognitionExecutor);
+        return stageWarnings -> {
+            if (BlankImageDetector.isBlank(rendered, options.getOcrBlankInkThreshold())) {
+                pageImages.forEach(image -> blankImages.add(image.getId()));
+                return "";
+            }
+            String text = dispatcher.recognize(List.of(page), options, stageWarnings).get(0);
+            return text == null ? "" : text.trim();
+        };
     }
 
-    private void maybeRunOcr(StringBuilder rawText,
-                             List<ImageElement> images,
-                             ParseOptions options,
-                             List<ParseWarning> warnings) {
-        if (!options.isEnableOcr() || images.isEmpty()) {
+    private void renderToSink(PDFRenderer renderer,
+                              PDDocument pdDocument,
+                              int pageNum,
+                              ParseOptions options,
+                              List<ParseWarning> warnings,
+                              ResourceGuard guard) {
+        if (renderer == null || !options.getPageRenderOptions().includes(pageNum)) {
             return;
         }
-
-        int textLength = rawText.toString().trim().length();
-        int densityThreshold = options.getLowTextDensityThreshold();
-        if (textLength >= densityThreshold) {
+        RenderOptions renderOptions = options.getPageRenderOptions();
+        float scale = renderOptions.getDpi() / 72f;
+        PDRectangle box = pdDocument.getPage(pageNum - 1).getCropBox();
+        if (!guard.allowImage("pdf-page-" + pageNum + "-render",
+            Math.round(box.getWidth() * scale), Math.round(box.getHeight() * scale))) {
             return;
         }
+        try {
+            options.getPageImageSink().accept(PdfPageRenderer.renderPage(renderer, pageNum, renderOptions));
+        } catch (IOException | UncheckedIOException ex) {
+            warnings.add(new ParseWarning("PDF_PAGE_RENDER_FAILED",
+                "Failed to render page " + pageNum + ": " + ex.getMessage()));
+        }
+    }
 
+    private OcrService requireOcrService(ParseOptions options, List<ParseWarning> warnings) {
         OcrService ocrService = selectAvailableOcrService();
         if (ocrService == null) {
             String message = "OCR enabled but no OcrService implementation is available";
             if (options.isFailOnOcrError()) {
                 throw new OcrUnavailableException(message, null);
             }
-            warnings.add(new ParseWarning("OCR_SERVICE_UNAVAILABLE", message));
-            return;
+            addWarningOnce(warnings, new ParseWarning("OCR_SERVICE_UNAVAILABLE", message));
         }
+        return ocrService;
+    }
 
-        StringBuilder ocrTextBuilder = new StringBuilder();
-        for (ImageElement image : images) {
-            try {
-                String ocrText = ocrService.extractText(image.getContent(), image.getMimeType(), options);
-                if (ocrText != null && !ocrText.isBlank()) {
-                    ocrTextBuilder.append(ocrText.trim()).append(System.lineSeparator());
-                }
-            } catch (RuntimeException ex) {
-                if (options.isFailOnOcrError()) {
-                    throw ex;
-                }
-                warnings.add(new ParseWarning("OCR_EXECUTION_FAILED", ex.getMessage()));
+    // Runs inside the OCR work. Each image is decoded once here and its raster travels on with the element, so
+    // recognition does not decode it again; images that cannot be decoded are left for the OcrService to judge.
+    private List<ImageElement> skipBlankImages(List<ImageElement> candidates, ParseOptions options, List<String> blankImages) {
+        if (options.getOcrBlankInkThreshold() <= 0) {
+            return candidates;
+        }
+        List<ImageElement> inked = new ArrayList<>(candidates.size());
+        for (ImageElement image : candidates) {
+            // Too large to decode whole; the dispatcher reads it strip by strip instead.
+            if (OcrTiling.isTiled(image.getWidth(), image.getHeight(), options)) {
+                inked.add(image);
+                continue;
+            }
+            BufferedImage raster = decode(image);
+            if (raster == null) {
+                inked.add(image);
+            } else if (BlankImageDetector.isBlank(raster, options.getOcrBlankInkThreshold())) {
+                blankImages.add(image.getId());
+            } else {
+                inked.add(ImageElement.lazy(image.getId(), image.getPageNumber(), image.getMimeType(),
+                    image.getWidth(), image.getHeight(), image::getContent, () -> raster));
             }
         }
+        return inked;
+    }
 
-        if (ocrTextBuilder.length() > 0) {
-            if (rawText.length() > 0) {
-                rawText.append(System.lineSeparator());
+    private BufferedImage decode(ImageElement image) {
+        try {
+            if (image.prefersRaster()) {
+                return image.getRaster();
             }
-            rawText.append(ocrTextBuilder.toString().trim());
+            byte[] content = image.getContent();
+            return content == null ? null : ImageIO.read(new ByteArrayInputStream(content));
+        } catch (IOException | UncheckedIOException ex) {
+            return null;
         }
     }
 
-    private String maybeRunOcrForPage(String pageText,
-                                      List<ImageElement> images,
-                                      ParseOptions options,
-                                      List<ParseWarning> warnings) {
-        if (!options.isEnableOcr() || images.isEmpty()) {
-            return "";
+    // Logos, rules and decorations are dropped before OCR; when a page still has too many images the largest win.
+    private List<ImageElement> selectOcrCandidates(List<ImageElement> images, ParseOptions options) {
+        List<ImageElement> candidates = new ArrayList<>();
+        for (ImageElement image : images) {
+            long width = image.getWidth();
+            long height = image.getHeight();
+            if (width <= 0 || height <= 0) {
+                candidates.add(image);
+                continue;
+            }
+            if (width * height < options.getOcrMinImageArea()) {
+                continue;
+            }
+            double aspect = (double) Math.max(width, height) / Math.min(width, height);
+            if (options.getOcrMaxAspectRatio() > 0 && aspect > options.getOcrMaxAspectRatio()) {
+                continue;
+            }
+            candidates.add(image);
         }
 
-        int textLength = pageText == null ? 0 : pageText.trim().length();
-        if (textLength >= options.getLowTextDensityThreshold()) {
-            return "";
+        int maxImages = options.getOcrMaxImagesPerPage();
+        if (maxImages <= 0 || candidates.size() <= maxImages) {
+            return candidates;
         }
-
-        OcrService ocrService = selectAvailableOcrService();
-        if (ocrService == null) {
-            if (options.isFailOnOcrError()) {
-                throw new OcrUnavailableException("OCR enabled but no OcrService implementation is available", null);
-            }
-            warnings.add(new ParseWarning("OCR_SERVICE_UNAVAILABLE", "OCR service is unavailable for streaming"));
-            return "";
+        // Picked by index so page order is kept and equal elements are not confused.
+        BitSet largest = new BitSet(candidates.size());
+        IntStream.range(0, candidates.size()).boxed()
+            .sorted(Comparator.comparingLong((Integer i) -> area(candidates.get(i))).reversed())
+            .limit(maxImages)
+            .forEach(largest::set);
+        List<ImageElement> selected = new ArrayList<>(maxImages);
+        for (int i = largest.nextSetBit(0); i >= 0; i = largest.nextSetBit(i + 1)) {
+            selected.add(candidates.get(i));
         }
+        return selected;
+    }
 
-        StringBuilder builder = new StringBuilder();
-        for (ImageElement image : images) {
-            try {
-                String text = ocrService.extractText(image.getContent(), image.getMimeType(), options);
-                if (text != null && !text.isBlank()) {
-                    builder.append(text.trim()).append(System.lineSeparator());
-                }
-            } catch (RuntimeException ex) {
-                if (options.isFailOnOcrError()) {
-                    throw ex;
-                }
-                warnings.add(new ParseWarning("OCR_EXECUTION_FAILED", ex.getMessage()));
-            }
+    private static long area(ImageElement image) {
+        return (long) image.getWidth() * image.getHeight();
+    }
+
+    private void addWarningOnce(List<ParseWarning> warnings, ParseWarning warning) {
+        if (!warnings.contains(warning)) {
+            warnings.add(warning);
         }
-        return builder.toString().trim();
     }
 
     private OcrService selectAvailableOcrService() {
@@ -383,20 +706,32 @@ public class PdfDocumentParser implements DocumentParser {
 
     private final class PdfBlockEventIterator implements Iterator<BlockEvent>, AutoCloseable {
         private final PDDocument document;
-        private final PDFTextStripper stripper;
         private final int pageLimit;
         private final ParseOptions options;
+        private final ResourceGuard guard;
         private final Deque<BlockEvent> queue = new ArrayDeque<>();
+        private final Deque<PageText> pageTexts = new ArrayDeque<>();
+        private final Deque<Boolean> scannedPages = new ArrayDeque<>();
+        private final PDFRenderer renderer;
+        private final OcrPipeline ocrPipeline;
+        // Bounded so a long stream does not keep every decoded image alive; COS objects use identity equality.
+        private final Map<COSStream, PdfImageContent> imageCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<COSStream, PdfImageContent> eldest) {
+                return size() > STREAM_IMAGE_CACHE_SIZE;
+            }
+        };
 
         private int currentPage = 1;
-        private int tableCounter = 0;
         private boolean closed;
 
-        private PdfBlockEventIterator(PDDocument document, PDFTextStripper stripper, int pageLimit, ParseOptions options) {
+        private PdfBlockEventIterator(PDDocument document, int pageLimit, ParseOptions options, OcrPipeline ocrPipeline) {
             this.document = document;
-            this.stripper = stripper;
+            this.ocrPipeline = ocrPipeline;
             this.pageLimit = pageLimit;
             this.options = options;
+            this.guard = ResourceGuard.of(options, new ArrayList<>());
+            this.renderer = options.isPageRenderingEnabled() ? new PDFRenderer(document) : null;
         }
 
         @Override
@@ -433,36 +768,55 @@ public class PdfDocumentParser implements DocumentParser {
                 return;
             }
 
-            while (queue.isEmpty() && currentPage <= pageLimit) {
+            while (queue.isEmpty() && currentPage <= pageLimit && !guard.isExhausted()) {
                 int pageNum = currentPage++;
                 try {
-                    String pageText = extractPageText(stripper, document, pageNum);
+                    PageText extracted = nextPageText(pageNum);
+                    String pageText = guard.limitText(extracted.text());
+                    boolean scannedPage = scannedPages.removeFirst();
+                    renderToSink(renderer, document, pageNum, options, new ArrayList<>(), guard);
                     queue.addLast(BlockEvent.pageStart(pageNum));
 
+                    List<Block> blocks = new ArrayList<>();
                     if (!pageText.isBlank()) {
-                        queue.addLast(BlockEvent.block(pageNum, new TextBlock(pageText)));
+                        blocks.add(new TextBlock(pageText, extracted.layoutFor(pageText)));
+                    }
+                    if (options.isTextOnly()) {
+                        blocks.forEach(block -> queue.addLast(BlockEvent.block(pageNum, block)));
+                        queue.addLast(BlockEvent.pageEnd(pageNum));
+                        continue;
                     }
 
-                    List<Table> tables = extractTablesFromText(pageText, pageNum, tableCounter);
-                    tableCounter += tables.size();
+                    List<Table> tables = extracted.tables();
                     for (Table table : tables) {
-                        queue.addLast(BlockEvent.block(pageNum, new TableBlock(table)));
+                        if (!guard.allowBlock(pageNum, blocks.size())) {
+                            break;
+                        }
+                        blocks.add(new TableBlock(table));
                     }
 
                     List<ImageElement> images = new ArrayList<>();
-                    List<Block> blocks = new ArrayList<>();
                     List<ParseWarning> warnings = new ArrayList<>();
-                    extractImages(document.getPage(pageNum - 1), pageNum, images, blocks, warnings);
+                    extractImages(document.getPage(pageNum - 1), pageNum, images, blocks, warnings, guard, imageCache,
+                        options);
                     for (Block block : blocks) {
                         queue.addLast(BlockEvent.block(pageNum, block));
                     }
 
-                    String ocrText = maybeRunOcrForPage(pageText, images, options, warnings);
+                    // Streams have no document metadata to report blank images in.
+                    OcrPipeline.Work ocr = scannedPage
+                        ? renderedPageOcr(document, pageNum, images, options, warnings, new ArrayList<>(),
+                            ocrPipeline.recognitionExecutor(), guard)
+                        : imageOcr(pageText, images, options, warnings, new ArrayList<>(), ocrPipeline.recognitionExecutor());
+                    String ocrText = guard.limitText(ocrPipeline.submit(ocr).join(warnings));
                     if (!ocrText.isBlank()) {
                         queue.addLast(BlockEvent.block(pageNum, new TextBlock(ocrText)));
                     }
 
                     queue.addLast(BlockEvent.pageEnd(pageNum));
+                } catch (ResourceLimitExceededException ex) {
+                    close();
+                    throw ex;
                 } catch (RuntimeException | IOException ex) {
                     close();
                     throw new CorruptedDocumentException("Failed to stream parse PDF page " + pageNum, ex);
@@ -473,5 +827,78 @@ public class PdfDocumentParser implements DocumentParser {
                 close();
             }
         }
+
+        // Text is stripped a window of pages at a time so laziness costs one traversal per window, not per page.
+        private PageText nextPageText(int pageNum) throws IOException {
+            if (pageTexts.isEmpty()) {
+                int windowEnd = Math.min(pageLimit, pageNum + TEXT_WINDOW - 1);
+                boolean[] scanned = classifyScannedPages(document, pageNum, windowEnd, options);
+                pageTexts.addAll(extractPageTexts(document, pageNum, windowEnd, options, scanned));
+                for (boolean flag : scanned) {
+                    scannedPages.addLast(flag);
+                }
+            }
+            return pageTexts.removeFirst();
+        }
+    }
+
+    @FunctionalInterface
+    private interface DocumentLoader {
+        PDDocument load() throws IOException;
+    }
+
+    private record PendingPage(int pageNumber, String text, List<Block> blocks, List<String> blankImages,
+                               OcrPipeline.Stage ocr) {
+    }
+
+    private static final class PageBatch {
+        private final List<Page> pages = new ArrayList<>();
+        private final List<Table> tables = new ArrayList<>();
+        private final List<ImageElement> images = new ArrayList<>();
+        private final List<ParseWarning> warnings = new ArrayList<>();
+        private final List<Integer> scannedPages = new ArrayList<>();
+        private final List<String> blankImages = new ArrayList<>();
+        private final StringBuilder rawText = new StringBuilder();
+
+        // Charges the text of each page to the guard as if the pages had been parsed in order: text past the
+        // character budget is cut, and pages after the one that used it up are dropped.
+        private void append(PageBatch next, ResourceGuard guard) {
+            Set<String> keptImages = new HashSet<>();
+            int lastPage = 0;
+            for (Page page : next.pages) {
+                if (guard.isExhausted()) {
+                    break;
+                }
+                List<Block> blocks = new ArrayList<>(page.getBlocks().size());
+                for (Block block : page.getBlocks()) {
+                    if (block instanceof TextBlock textBlock) {
+                        String text = guard.limitText(textBlock.getText());
+                        if (text.isBlank()) {
+                            continue;
+                        }
+                        if (text.length() < textBlock.getText().length()) {
+                            BlockLayout layout = textBlock.getLayout();
+                            block = new TextBlock(text, layout == null ? null : layout.truncate(text.length()));
+                        }
+                        rawText.append(text).append(System.lineSeparator());
+                    } else if (block instanceof TableBlock tableBlock) {
+                        tables.add(tableBlock.getTable());
+                    } else if (block instanceof ImageBlock imageBlock) {
+                        images.add(imageBlock.getImage());
+                        keptImages.add(imageBlock.getImage().getId());
+                    }
+                    blocks.add(block);
+                }
+                pages.add(new Page(page.getPageNumber(), blocks));
+                lastPage = page.getPageNumber();
+            }
+            warnings.addAll(next.warnings);
+            for (Integer scannedPage : next.scannedPages) {
+                if (scannedPage <= lastPage) {
+                    scannedPages.add(scannedPage);
+                }
+            }
+            next.blankImages.stream().filter(keptImages::contains).forEach(blankImages::add);
+        }
     }
 }
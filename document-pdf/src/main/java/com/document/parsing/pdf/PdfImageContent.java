@@ -0,0 +1,177 @@
+package com.document.parsing.pdf;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import javax.imageio.ImageIO;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Image bytes have to outlive the PDDocument they came from, so every image is either copied out in its
+// original encoding or detached as raw (still compressed) stream data and decoded only when asked for.
+final class PdfImageContent {
+    static final String JPEG = "image/jpeg";
+    static final String PNG = "image/png";
+
+    private final String mimeType;
+    private final Supplier<byte[]> loader;
+    private final COSStream detached;
+    private volatile byte[] content;
+
+    private PdfImageContent(String mimeType, Supplier<byte[]> loader, COSStream detached) {
+        this.mimeType = mimeType;
+        this.loader = loader;
+        this.detached = detached;
+    }
+
+    // One instance per image stream per document: pages that reference the same XObject share it, so the
+    // image is copied once and decoded at most once no matter how many pages draw it.
+    static PdfImageContent of(PDImageXObject image, Map<COSStream, PdfImageContent> cache) throws IOException {
+        COSStream stream = image.getCOSObject();
+        PdfImageContent cached = cache.get(stream);
+        if (cached == null) {
+            cached = of(image);
+            cache.put(stream, cached);
+        }
+        return cached;
+    }
+
+    static PdfImageContent of(PDImageXObject image) throws IOException {
+        COSStream stream = image.getCOSObject();
+        if (isPlainJpeg(stream)) {
+            byte[] jpeg;
+            try (InputStream in = stream.createRawInputStream()) {
+                jpeg = in.readAllBytes();
+            }
+            return new PdfImageContent(JPEG, () -> jpeg, null);
+        }
+
+        COSStream detached = (COSStream) detach(stream, new IdentityHashMap<>());
+        return new PdfImageContent(PNG, () -> encodePng(decode(detached)), detached);
+    }
+
+    String mimeType() {
+        return mimeType;
+    }
+
+    Supplier<byte[]> loader() {
+        return this::content;
+    }
+
+    // Only detached images have a raster worth offering: a plain JPEG is already its own compact encoding.
+    Supplier<BufferedImage> rasterLoader() {
+        return detached == null ? null : this::raster;
+    }
+
+    // Strips of very large images are decoded straight from the detached stream without the full raster.
+    Function<Rectangle, BufferedImage> regionLoader() {
+        return detached == null ? null : this::region;
+    }
+
+    // The detached stream's buffer is not safe for concurrent reads, so decoding shares the content lock.
+    private synchronized BufferedImage raster() {
+        return decode(detached);
+    }
+
+    private synchronized BufferedImage region(Rectangle region) {
+        try {
+            return new PDImageXObject(new PDStream(detached), null).getImage(region, 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode PDF image region", e);
+        }
+    }
+
+    private byte[] content() {
+        byte[] current = content;
+        if (current == null) {
+            synchronized (this) {
+                if (content == null) {
+                    content = loader.get();
+                }
+                current = content;
+            }
+        }
+        return current;
+    }
+
+    // A DCT stream is a complete JPEG file; it is only copied as-is when no PDF-side decoding would change it.
+    private static boolean isPlainJpeg(COSStream stream) {
+        COSBase filters = stream.getFilters();
+        boolean dctOnly = COSName.DCT_DECODE.equals(filters)
+            || filters instanceof COSArray array && array.size() == 1 && COSName.DCT_DECODE.equals(array.getObject(0));
+        if (!dctOnly || stream.getDictionaryObject(COSName.DECODE) != null
+            || stream.getDictionaryObject(COSName.SMASK) != null || stream.getDictionaryObject(COSName.MASK) != null) {
+            return false;
+        }
+        COSBase colorSpace = stream.getDictionaryObject(COSName.COLORSPACE, COSName.CS);
+        return COSName.DEVICERGB.equals(colorSpace) || COSName.DEVICEGRAY.equals(colorSpace);
+    }
+
+    private static BufferedImage decode(COSStream detached) {
+        try {
+            return new PDImageXObject(new PDStream(detached), null).getImage();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode PDF image", e);
+        }
+    }
+
+    private static byte[] encodePng(BufferedImage image) {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode PDF image", e);
+        }
+    }
+
+    private static COSBase detach(COSBase base, Map<COSBase, COSBase> copies) throws IOException {
+        if (base instanceof COSObject object) {
+            return detach(object.getObject(), copies);
+        }
+        if (base == null || !(base instanceof COSDictionary || base instanceof COSArray)) {
+            return base;
+        }
+        COSBase existing = copies.get(base);
+        if (existing != null) {
+            return existing;
+        }
+
+        if (base instanceof COSArray array) {
+            COSArray copy = new COSArray();
+            copies.put(base, copy);
+            for (int i = 0; i < array.size(); i++) {
+                copy.add(detach(array.get(i), copies));
+            }
+            return copy;
+        }
+
+        COSDictionary dictionary = (COSDictionary) base;
+        COSDictionary copy = dictionary instanceof COSStream ? new COSStream() : new COSDictionary();
+        copies.put(base, copy);
+        for (Map.Entry<COSName, COSBase> entry : dictionary.entrySet()) {
+            copy.setItem(entry.getKey(), detach(entry.getValue(), copies));
+        }
+        if (dictionary instanceof COSStream source) {
+            try (InputStream in = source.createRawInputStream();
+                 OutputStream out = ((COSStream) copy).createRawOutputStream()) {
+                in.transferTo(out);
+            }
+        }
+        return copy;
+    }
+}
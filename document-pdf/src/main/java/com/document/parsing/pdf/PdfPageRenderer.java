@@ -0,0 +1,135 @@
+package com.document.parsing.pdf;
+
+import com.document.parsing.core.exception.CorruptedDocumentException;
+import com.document.parsing.core.model.ImageElement;
+import com.document.parsing.core.render.PageImageSink;
+import com.document.parsing.core.render.RenderOptions;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
+
+public class PdfPageRenderer {
+
+    public List<ImageElement> render(Path file, RenderOptions options) {
+        return collect(() -> PDDocument.load(file.toFile()), options);
+    }
+
+    public List<ImageElement> render(byte[] pdf, RenderOptions options) {
+        return collect(() -> PDDocument.load(pdf), options);
+    }
+
+    public void render(Path file, RenderOptions options, PageImageSink sink, Executor executor) {
+        render(() -> PDDocument.load(file.toFile()), options, sink, executor);
+    }
+
+    public void render(byte[] pdf, RenderOptions options, PageImageSink sink, Executor executor) {
+        render(() -> PDDocument.load(pdf), options, sink, executor);
+    }
+
+    private List<ImageElement> collect(DocumentSource source, RenderOptions options) {
+        List<ImageElement> images = Collections.synchronizedList(new ArrayList<>());
+        render(source, options, images::add, null);
+        List<ImageElement> ordered = new ArrayList<>(images);
+        ordered.sort(Comparator.comparingInt(ImageElement::getPageNumber));
+        return ordered;
+    }
+
+    // Each task opens its own PDDocument: PDFBox documents and renderers must not be shared across threads.
+    private void render(DocumentSource source, RenderOptions options, PageImageSink sink, Executor executor) {
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        try (PDDocument document = source.load()) {
+            List<Integer> pages = IntStream.rangeClosed(1, document.getNumberOfPages())
+                .filter(options::includes)
+                .boxed()
+                .toList();
+            int perTask = options.getPagesPerTask();
+            if (executor != null) {
+                for (int start = perTask; start < pages.size(); start += perTask) {
+                    List<Integer> slice = pages.subList(start, Math.min(pages.size(), start + perTask));
+                    tasks.add(CompletableFuture.runAsync(() -> renderSlice(source, slice, options, sink), executor));
+                }
+            }
+            List<Integer> ownSlice = executor == null ? pages : pages.subList(0, Math.min(pages.size(), perTask));
+            renderPages(document, ownSlice, options, sink);
+            tasks.forEach(CompletableFuture::join);
+        } catch (IOException e) {
+            tasks.forEach(task -> task.cancel(true));
+            throw new CorruptedDocumentException("Failed to render PDF pages", e);
+        } catch (CompletionException e) {
+            tasks.forEach(task -> task.cancel(true));
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw new CorruptedDocumentException("Failed to render PDF pages", io.getCause());
+            }
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        } catch (RuntimeException e) {
+            tasks.forEach(task -> task.cancel(true));
+            throw e;
+        }
+    }
+
+    private void renderSlice(DocumentSource source, List<Integer> pages, RenderOptions options, PageImageSink sink) {
+        try (PDDocument document = source.load()) {
+            renderPages(document, pages, options, sink);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void renderPages(PDDocument document, List<Integer> pages, RenderOptions options, PageImageSink sink) throws IOException {
+        PDFRenderer renderer = new PDFRenderer(document);
+        for (int pageNumber : pages) {
+            sink.accept(renderPage(renderer, pageNumber, options));
+        }
+    }
+
+    static ImageElement renderPage(PDFRenderer renderer, int pageNumber, RenderOptions options) throws IOException {
+        BufferedImage image = renderer.renderImage(pageNumber - 1, options.getDpi() / 72f, imageType(options.getColorMode()));
+        // PNG encoding is deferred so sinks that only need dimensions or drop pages pay nothing for it.
+        return ImageElement.lazy(
+            "pdf-page-" + pageNumber + "-render",
+            pageNumber,
+            "image/png",
+            image.getWidth(),
+            image.getHeight(),
+            () -> toPng(image),
+            () -> image
+        );
+    }
+
+    private static ImageType imageType(RenderOptions.ColorMode colorMode) {
+        return switch (colorMode) {
+            case GRAY -> ImageType.GRAY;
+            case BINARY -> ImageType.BINARY;
+            case RGB -> ImageType.RGB;
+        };
+    }
+
+    static byte[] toPng(BufferedImage image) {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface DocumentSource {
+        PDDocument load() throws IOException;
+    }
+}
@@ -0,0 +1,33 @@
+package com.document.parsing.pdf;
+
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+
+import java.io.IOException;
+
+// A page counts as scanned when it uses no fonts, shows no text and paints exactly one image over most of
+// the crop box. The resource dictionary rules out most pages before the content stream is read at all.
+final class ScannedPageClassifier {
+    private static final double FULL_PAGE_COVERAGE = 0.85;
+
+    private ScannedPageClassifier() {
+    }
+
+    static boolean isScanned(PDPage page) throws IOException {
+        PDResources resources = page.getResources();
+        if (resources == null || !page.hasContents()
+            || resources.getFontNames().iterator().hasNext()
+            || !resources.getXObjectNames().iterator().hasNext()) {
+            return false;
+        }
+
+        ImageDrawCollector collector = ImageDrawCollector.collect(page);
+        PDRectangle box = page.getCropBox();
+        double pageArea = (double) box.getWidth() * box.getHeight();
+        return !collector.showsText()
+            && collector.draws().size() == 1
+            && pageArea > 0
+            && collector.draws().get(0).area() >= pageArea * FULL_PAGE_COVERAGE;
+    }
+}
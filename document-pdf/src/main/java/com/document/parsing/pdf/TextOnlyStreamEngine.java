@@ -0,0 +1,106 @@
+package com.document.parsing.pdf;
+
+import org.apache.pdfbox.contentstream.PDFStreamEngine;
+import org.apache.pdfbox.contentstream.operator.DrawObject;
+import org.apache.pdfbox.contentstream.operator.state.Concatenate;
+import org.apache.pdfbox.contentstream.operator.state.Restore;
+import org.apache.pdfbox.contentstream.operator.state.Save;
+import org.apache.pdfbox.contentstream.operator.state.SetGraphicsStateParameters;
+import org.apache.pdfbox.contentstream.operator.state.SetMatrix;
+import org.apache.pdfbox.contentstream.operator.text.BeginText;
+import org.apache.pdfbox.contentstream.operator.text.EndText;
+import org.apache.pdfbox.contentstream.operator.text.MoveText;
+import org.apache.pdfbox.contentstream.operator.text.MoveTextSetLeading;
+import org.apache.pdfbox.contentstream.operator.text.NextLine;
+import org.apache.pdfbox.contentstream.operator.text.SetCharSpacing;
+import org.apache.pdfbox.contentstream.operator.text.SetFontAndSize;
+import org.apache.pdfbox.contentstream.operator.text.SetTextHorizontalScaling;
+import org.apache.pdfbox.contentstream.operator.text.SetTextLeading;
+import org.apache.pdfbox.contentstream.operator.text.SetTextRise;
+import org.apache.pdfbox.contentstream.operator.text.SetWordSpacing;
+import org.apache.pdfbox.contentstream.operator.text.ShowText;
+import org.apache.pdfbox.contentstream.operator.text.ShowTextAdjusted;
+import org.apache.pdfbox.contentstream.operator.text.ShowTextLine;
+import org.apache.pdfbox.contentstream.operator.text.ShowTextLineAndSpace;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.util.Matrix;
+import org.apache.pdfbox.util.Vector;
+
+import java.io.IOException;
+
+// Registers only text, graphics-state and form operators, so paths, colours, shading and images are never
+// processed. Glyphs are written in content-stream order; line and word breaks come from glyph positions
+// rather than PDFTextStripper's sorting and bead analysis.
+final class TextOnlyStreamEngine extends PDFStreamEngine {
+    private final StringBuilder text = new StringBuilder();
+
+    private boolean hasLast;
+    private float lastX;
+    private float lastY;
+    private float lastEndX;
+
+    TextOnlyStreamEngine() {
+        addOperator(new BeginText());
+        addOperator(new EndText());
+        addOperator(new MoveText());
+        addOperator(new MoveTextSetLeading());
+        addOperator(new NextLine());
+        addOperator(new SetCharSpacing());
+        addOperator(new SetFontAndSize());
+        addOperator(new SetTextHorizontalScaling());
+        addOperator(new SetTextLeading());
+        addOperator(new SetTextRise());
+        addOperator(new SetWordSpacing());
+        addOperator(new SetMatrix());
+        addOperator(new ShowText());
+        addOperator(new ShowTextAdjusted());
+        addOperator(new ShowTextLine());
+        addOperator(new ShowTextLineAndSpace());
+        addOperator(new Save());
+        addOperator(new Restore());
+        addOperator(new Concatenate());
+        addOperator(new SetGraphicsStateParameters());
+        // Forms can carry text; image XObjects are skipped by DrawObject itself.
+        addOperator(new DrawObject());
+    }
+
+    String extract(PDPage page) throws IOException {
+        text.setLength(0);
+        hasLast = false;
+        processPage(page);
+        return text.toString().trim();
+    }
+
+    @Override
+    protected void showGlyph(Matrix textRenderingMatrix, PDFont font, int code, Vector displacement) throws IOException {
+        String unicode = font.toUnicode(code);
+        if (unicode == null || unicode.isEmpty()) {
+            return;
+        }
+
+        float x = textRenderingMatrix.getTranslateX();
+        float y = textRenderingMatrix.getTranslateY();
+        float fontSize = Math.max(1f, Math.abs(textRenderingMatrix.getScalingFactorY()));
+        if (hasLast) {
+            if (Math.abs(y - lastY) > fontSize * 0.5f) {
+                text.append('\n');
+            } else if (x - lastEndX > fontSize * 0.2f || x < lastX) {
+                appendSpace();
+            }
+        }
+
+        text.append(unicode);
+        hasLast = true;
+        lastX = x;
+        lastY = y;
+        lastEndX = x + displacement.getX() * textRenderingMatrix.getScalingFactorX();
+    }
+
+    private void appendSpace() {
+        int length = text.length();
+        if (length > 0 && !Character.isWhitespace(text.charAt(length - 1))) {
+            text.append(' ');
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.document.parsing.pdf;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedResourceCacheTest {
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntries() throws Exception {
+        BoundedResourceCache cache = new BoundedResourceCache(2);
+        COSObject first = new COSObject(new COSDictionary());
+        COSObject second = new COSObject(new COSDictionary());
+        COSObject third = new COSObject(new COSDictionary());
+
+        cache.put(first, new PDExtendedGraphicsState());
+        cache.put(second, new PDExtendedGraphicsState());
+        cache.getExtGState(first);
+        cache.put(third, new PDExtendedGraphicsState());
+
+        assertThat(cache.getExtGState(first)).isNotNull();
+        assertThat(cache.getExtGState(second)).isNull();
+        assertThat(cache.getExtGState(third)).isNotNull();
+    }
+
+    @Test
+    void shouldNotCacheWhenSizeIsZero() throws Exception {
+        BoundedResourceCache cache = new BoundedResourceCache(0);
+        COSObject key = new COSObject(new COSDictionary());
+
+        cache.put(key, new PDExtendedGraphicsState());
+
+        assertThat(cache.getExtGState(key)).isNull();
+    }
+}
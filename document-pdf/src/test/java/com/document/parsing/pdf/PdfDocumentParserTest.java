@@ -1,21 +1,52 @@
 package com.document.parsing.pdf;
 
 import com.document.parsing.core.event.BlockEventType;
+import com.document.parsing.core.model.BlockLayout;
 import com.document.parsing.core.model.Document;
 import com.document.parsing.core.model.DocumentType;
+import com.document.parsing.core.model.ImageBlock;
+import com.document.parsing.core.model.ImageElement;
+import com.document.parsing.core.model.Metadata;
+import com.document.parsing.core.model.Page;
+import com.document.parsing.core.model.ParseWarning;
+import com.document.parsing.core.model.Table;
+import com.document.parsing.core.model.TextBlock;
+import com.document.parsing.core.ocr.OcrService;
 import com.document.parsing.core.parser.ParseOptions;
 import com.document.parsing.core.parser.ParseRequest;
+import com.document.parsing.core.parser.ParseResult;
+import com.document.parsing.core.parser.ResourceGuard;
+import com.document.parsing.core.parser.ResourceLimits;
+import com.document.parsing.core.render.RenderOptions;
+import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.encryption.AccessPermission;
+import org.apache.pdfbox.pdmodel.encryption.StandardProtectionPolicy;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceGray;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 import org.junit.jupiter.api.Test;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 class PdfDocumentParserTest {
 
@@ -56,6 +87,100 @@ class PdfDocumentParserTest {
         assertThat(document.getTables().get(0).getRows()).hasSize(3);
     }
 
+    @Test
+    void shouldDetectColumnsFromGlyphPositions() throws Exception {
+        String[][] statement = {
+            {"Item", "2024", "2023"},
+            {"Revenue", "1,200", "980"},
+            {"Net income", "75", "60"}
+        };
+        byte[] pdfBytes;
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage();
+            doc.addPage(page);
+            try (PDPageContentStream stream = new PDPageContentStream(doc, page)) {
+                showAt(stream, "Consolidated statement of income", 50, 720);
+                float y = 690;
+                for (String[] row : statement) {
+                    showAt(stream, row[0], 50, y);
+                    // Numbers are right-aligned, so their left edges differ from row to row.
+                    showAt(stream, row[1], 300 - PDType1Font.HELVETICA.getStringWidth(row[1]) / 1000 * 12, y);
+                    showAt(stream, row[2], 400 - PDType1Font.HELVETICA.getStringWidth(row[2]) / 1000 * 12, y);
+                    y -= 16;
+                }
+                showAt(stream, "Figures are unaudited and shown in thousands.", 50, y - 16);
+            }
+            doc.save(output);
+            pdfBytes = output.toByteArray();
+        }
+
+        Document document = new PdfDocumentParser().parse(ParseRequest.builder()
+            .stream(new ByteArrayInputStream(pdfBytes))
+            .fileName("statement.pdf")
+            .options(ParseOptions.builder().enableOcr(false).build())
+            .build()).getDocument();
+
+        assertThat(document.getTables()).hasSize(1);
+        assertThat(document.getTables().get(0).getId()).isEqualTo("pdf-table-1-1");
+        assertThat(document.getTables().get(0).getRows()).containsExactly(
+            List.of("Item", "2024", "2023"),
+            List.of("Revenue", "1,200", "980"),
+            List.of("Net income", "75", "60")
+        );
+    }
+
+    @Test
+    void shouldCaptureWordBoxesAndImagePlacement() throws Exception {
+        byte[] pdfBytes;
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage();
+            doc.addPage(page);
+            try (PDPageContentStream stream = new PDPageContentStream(doc, page)) {
+                showAt(stream, "Redact this word", 50, 700);
+                showAt(stream, "Second line", 50, 680);
+                stream.drawImage(LosslessFactory.createFromImage(doc, new BufferedImage(20, 10, BufferedImage.TYPE_INT_RGB)),
+                    50, 500, 100, 50);
+            }
+            doc.save(output);
+            pdfBytes = output.toByteArray();
+        }
+
+        Page words = parseWithLayout(pdfBytes, ParseOptions.LayoutCapture.WORD).getPages().get(0);
+        TextBlock text = (TextBlock) words.getBlocks().get(0);
+        BlockLayout layout = text.getLayout();
+        List<String> spans = new ArrayList<>();
+        BlockLayout.Cursor cursor = layout.cursor();
+        while (cursor.next()) {
+            spans.add(text.getText().substring(cursor.textStart(), cursor.textEnd()));
+        }
+        assertThat(spans).containsExactly("Redact", "this", "word", "Second", "line");
+        assertThat(layout.x0(0)).isCloseTo(50f, within(0.5f));
+        assertThat(layout.y1(0)).isCloseTo(92f, within(0.5f));
+        assertThat(layout.y1(3)).isCloseTo(112f, within(0.5f));
+
+        BlockLayout image = words.getBlocks().stream()
+            .filter(ImageBlock.class::isInstance)
+            .map(block -> ((ImageBlock) block).getLayout())
+            .findFirst().orElseThrow();
+        assertThat(image.size()).isEqualTo(1);
+        assertThat(new float[] {image.x0(0), image.y0(0), image.x1(0), image.y1(0)})
+            .containsExactly(new float[] {50f, 242f, 150f, 292f}, within(0.01f));
+
+        TextBlock lines = (TextBlock) parseWithLayout(pdfBytes, ParseOptions.LayoutCapture.LINE).getPages().get(0).getBlocks().get(0);
+        assertThat(lines.getLayout().size()).isEqualTo(2);
+        assertThat(lines.getText().substring(lines.getLayout().textStart(1), lines.getLayout().textEnd(1))).isEqualTo("Second line");
+        assertThat(((TextBlock) parseWithLayout(pdfBytes, ParseOptions.LayoutCapture.NONE).getPages().get(0).getBlocks().get(0))
+            .getLayout()).isNull();
+    }
+
+    private Document parseWithLayout(byte[] pdfBytes, ParseOptions.LayoutCapture capture) {
+        return new PdfDocumentParser().parse(ParseRequest.builder()
+            .stream(new ByteArrayInputStream(pdfBytes))
+            .fileName("layout.pdf")
+            .options(ParseOptions.builder().enableOcr(false).layoutCapture(capture).build())
+            .build()).getDocument();
+    }
+
     @Test
     void shouldStreamParsePdfIntoEvents() throws Exception {
         byte[] pdfBytes = createPdf("Streaming parser line");
@@ -75,6 +200,694 @@ class PdfDocumentParserTest {
         assertThat(types).doesNotContain(BlockEventType.DONE);
     }
 
+    @Test
+    void shouldKeepPageTextOnItsOwnPageAcrossStreamWindows() throws Exception {
+        byte[] pdfBytes = createPagedPdf(40, 5, false);
+        PdfDocumentParser parser = new PdfDocumentParser();
+        ParseOptions options = ParseOptions.builder().enableOcr(false).build();
+
+        Document document = parser.parse(ParseRequest.builder()
+            .stream(new ByteArrayInputStream(pdfBytes))
+            .fileName("pages.pdf")
+            .hintedType(DocumentType.PDF)
+            .options(options)
+            .build()).getDocument();
+
+        assertThat(document.getPages()).hasSize(40);
+        assertThat(document.getPages().get(4).getBlocks()).isEmpty();
+        assertThat(((TextBlock) document.getPages().get(39).getBlocks().get(0)).getText()).isEqualTo("page marker 40");
+
+        List<String> streamed = parser.parseStream(ParseRequest.builder()
+                .stream(new ByteArrayInputStream(pdfBytes))
+                .fileName("pages.pdf")
+                .hintedType(DocumentType.PDF)
+                .options(options)
+                .build())
+            .orElseThrow()
+            .filter(event -> event.getType() == BlockEventType.BLOCK)
+            .map(event -> event.getPageNumber() + ":" + ((TextBlock) event.getBlock()).getText())
+            .toList();
+
+        assertThat(streamed).hasSize(39);
+        assertThat(streamed).contains("33:page marker 33", "40:page marker 40");
+        assertThat(streamed).noneMatch(line -> line.startsWith("5:"));
+    }
+
+    @Test
+    void shouldParsePageChunksInParallelInPageOrder() throws Exception {
+        byte[] pdfBytes = createPagedPdf(30, 7, true);
+        PdfDocumentParser parser = new PdfDocumentParser();
+        ParseOptions sequentialOptions = ParseOptions.builder().enableOcr(false).build();
+        ParseOptions parallelOptions = ParseOptions.builder().enableOcr(false).parallelPagesEnabled(true).pageChunkSize(4).build();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Document sequential = parser.parse(ParseRequest.builder()
+                .stream(new ByteArrayInputStream(pdfBytes))
+                .fileName("chunks.pdf")
+                .options(sequentialOptions)
+                .build()).getDocument();
+            Document parallel = parser.parse(ParseRequest.builder()
+                .stream(new ByteArrayInputStream(pdfBytes))
+                .fileName("chunks.pdf")
+                .options(parallelOptions)
+                .workerExecutor(executor)
+                .build()).getDocument();
+
+            assertThat(parallel.getPages()).extracting(Page::getPageNumber)
+                .containsExactlyElementsOf(IntStream.rangeClosed(1, 30).boxed().toList());
+            assertThat(parallel.getRawText()).isEqualTo(sequential.getRawText());
+            assertThat(parallel.getTables()).extracting(Table::getId)
+                .containsExactlyElementsOf(sequential.getTables().stream().map(Table::getId).toList())
+                .contains("pdf-table-1-1", "pdf-table-30-1");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldChargeCharacterLimitInPageOrderAcrossParallelChunks() throws Exception {
+        byte[] pdfBytes = createPagedPdf(30, 0, true);
+        PdfDocumentParser parser = new PdfDocumentParser();
+        ResourceLimits limits = ResourceLimits.builder().maxCharacters(300).action(ResourceLimits.Action.TRUNCATE).build();
+        ParseOptions sequentialOptions = ParseOptions.builder().enableOcr(false).resourceLimits(limits).build();
+        ParseOptions parallelOptions = ParseOptions.builder().enableOcr(false).resourceLimits(limits)
+            .parallelPagesEnabled(true).pageChunkSize(2).build();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ParseResult sequential = parser.parse(ParseRequest.builder()
+                .stream(new ByteArrayInputStream(pdfBytes))
+                .fileName("chunks.pdf")
+                .options(sequentialOptions)
+                .build());
+            assertThat(sequential.getDocument().getPages()).hasSizeBetween(3, 29);
+
+            for (int run = 0; run < 5; run++) {
+                ParseResult parallel = parser.parse(ParseRequest.builder()
+                    .stream(new ByteArrayInputStream(pdfBytes))
+                    .fileName("chunks.pdf")
+                    .options(parallelOptions)
+                    .workerExecutor(executor)
+                    .build());
+
+                assertThat(parallel.getDocument().getPages()).extracting(Page::getPageNumber)
+                    .containsExactlyElementsOf(sequential.getDocument().getPages().stream().map(Page::getPageNumber).toList());
+                assertThat(parallel.getDocument().getRawText()).isEqualTo(sequential.getDocument().getRawText());
+                assertThat(parallel.getDocument().getTables()).extracting(Table::getId)
+                    .containsExactlyElementsOf(sequential.getDocument().getTables().stream().map(Table::getId).toList());
+                assertThat(parallel.getWarnings()).extracting(ParseWarning::code)
+                    .containsExactly(ResourceGuard.TRUNCATED_WARNING);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRenderSelectedPagesIntoSinkDuringParse() throws Exception {
+        byte[] pdfBytes = createPagedPdf(6, 0, false);
+        List<ImageElement> rendered = Collections.synchronizedList(new ArrayList<>());
+        ParseOptions options = ParseOptions.builder()
+            .enableOcr(false)
+            .parallelPagesEnabled(true)
+            .pageChunkSize(2)
+            .renderPages(RenderOptions.builder().dpi(36).colorMode(RenderOptions.ColorMode.GRAY).pageRange(2, 5).build(),
+                rendered::add)
+            .build();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Document document = new PdfDocumentParser().parse(ParseRequest.builder()
+                .stream(new ByteArrayInputStream(pdfBytes))
+                .fileName("preview.pdf")
+                .options(options)
+                .workerExecutor(executor)
+                .build()).getDocument();
+
+            assertThat(document.getPages()).hasSize(6);
+            assertThat(document.getImages()).isEmpty();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(rendered).extracting(ImageElement::getPageNumber).containsExactlyInAnyOrder(2, 3, 4, 5);
+        assertThat(rendered).extracting(ImageElement::getId).contains("pdf-page-2-render");
+        assertThat(rendered).allSatisfy(image -> assertThat(image.getWidth()).isEqualTo(306));
+    }
+
+    @Test
+    void shouldExtractOnlyTextInTextOnlyMode() throws Exception {
+        byte[] pdfBytes = createPagedPdf(3, 2, true);
+        PdfDocumentParser parser = new PdfDocumentParser();
+        ParseOptions options = ParseOptions.builder().textOnly(true).build();
+
+        Document document = parser.parse(ParseRequest.builder()
+            .stream(new ByteArrayInputStream(pdfBytes))
+            .fileName("text-only.pdf")
+            .options(options)
+            .build()).getDocument();
+
+        assertThat(document.getPages()).hasSize(3);
+        assertThat(document.getTables()).isEmpty();
+        assertThat(document.getImages()).isEmpty();
+        assertThat(document.getRawText().lines().toList())
+            .containsExactly("page marker 1", "Col|Value|Page", "p|1|1", "page marker 3", "Col|Value|Page", "p|3|3");
+
+        List<BlockEventType> types = parser.parseStream(ParseRequest.builder()
+                .stream(new ByteArrayInputStream(pdfBytes))
+                .fileName("text-only.pdf")
+                .options(options)
+                .build())
+            .orElseThrow()
+            .map(event -> event.getType())
+            .toList();
+        assertThat(types).filteredOn(type -> type == BlockEventType.BLOCK).hasSize(2);
+    }
+
+    @Test
+    void shouldPassJpegThroughAndEncodeOtherImagesLazily() throws Exception {
+        byte[] pdfBytes;
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage();
+            doc.addPage(page);
+            BufferedImage picture = new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB);
+            try (PDPageContentStream stream = new PDPageContentStream(doc, page)) {
+                stream.drawImage(JPEGFactory.createFromImage(doc, picture), 50, 500);
+                stream.drawImage(LosslessFactory.createFromImage(doc, picture), 150, 500);
+            }
+            doc.save(output);
+            pdfBytes = output.toByteArray();
+        }
+
+        Document document = new PdfDocumentParser().parse(ParseRequest.builder()
+            .stream(new ByteArrayInputStream(pdfBytes))
+            .fileName("images.pdf")
+            .options(ParseOptions.builder().enableOcr(false).build())
+            .build()).getDocument();
+
+        assertThat(document.getImages()).extracting(ImageElement::getMimeType)
+            .containsExactlyInAnyOrder("image/jpeg", "image/png");
+        ImageElement jpeg = document.getImages().stream().filter(image -> image.getMimeType().equals("image/jpeg")).findFirst().orElseThrow();
+        ImageElement png = document.getImages().stream().filter(image -> image.getMimeType().equals("image/png")).findFirst().orElseThrow();
+
+        assertThat(jpeg.getContent()).startsWith((byte) 0xFF, (byte) 0xD8);
+        assertThat(png.isContentLoaded()).isFalse();
+        assertThat(png.getContent()).startsWith((byte) 0x89, (byte) 'P', (byte) 'N', (byte) 'G');
+        assertThat(ImageIO.read(new ByteArrayInputStream(png.getContent())).getWidth()).isEqualTo(40);
+    }
+
+    @Test
+    void shouldShareContentOfImageReferencedFromEveryPage() throws Exception {
+        byte[] pdfBytes;
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            PDImageXObject logo = LosslessFactory.createFromImage(doc, new BufferedImage(20, 10, BufferedImage.TYPE_INT_RGB));
+            for (int i = 0; i < 5; i++) {
+                PDPage page = new PDPage();
+                doc.addPage(page);
+                try (PDPageContentStream stream = new PDPageContentStream(doc, page)) {
+                    stream.drawImage(logo, 20, 700);
+                }
+            }
+            doc.save(output);
+            pdfBytes = output.toByteArray();
+        }
+
+        Document document = new PdfDocumentParser().parse(ParseRequest.builder()
+            .stream(new ByteArrayInputStream(pdfBytes))
+            .fileName("logo.pdf")
+            .options(ParseOptions.builder().enableOcr(false).build())
+            .build()).getDocument();
+
+        assertThat(document.getImages()).hasSize(5);
+        assertThat(document.getImages()).extracting(ImageElement::getPageNumber).containsExactly(1, 2, 3, 4, 5);
+        assertThat(document.getImages().get(4).getContent()).isEqualTo(document.getImages().get(0).getContent());
+    }
+
+    @Test
+    void shouldOcrOnlyLowTextPagesAndSkipSmallOrThinImages() throws Exception {
+        byte[] pdfBytes;
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            PDImageXObject scan = LosslessFactory.createFromImage(doc, inked(200, 150));
+            PDImageXObject icon = LosslessFactory.createFromImage(doc, new BufferedImage(16, 16, BufferedImage.TYPE_INT_RGB));
+            PDImageXObject rule = LosslessFactory.createFromImage(doc, new BufferedImage(600, 4, BufferedImage.TYPE_INT_RGB));
+
+            PDPage scanned = new PDPage();
+            doc.addPage(scanned);
+            try (PDPageContentStream stream = new PDPageContentStream(doc, scanned)) {
+                stream.drawImage(scan, 50, 400);
+                stream.drawImage(icon, 20, 700);
+                stream.drawImage(rule, 0, 100);
+            }
+
+            PDPage textPage = new PDPage();
+            doc.addPage(textPage);
+            try (PDPageContentStream stream = new PDPageContentStream(doc, textPage)) {
+                stream.beginText();
+                stream.setFont(PDType1Font.HELVETICA, 12);
+                stream.newLineAtOffset(50, 700);
+                stream.showText("This page already carries plenty of extractable text content.");
+                stream.endText();
+                stream.drawImage(scan, 50, 400);
+            }
+            doc.save(output);
+            pdfBytes = output.toByteArray();
+        }
+
+        List<String> recognized = new ArrayList<>();
+        OcrService ocr = (imageData, mimeType, options) -> {
+            BufferedImage image = readImage(imageData);
+            recognized.add(image.getWidth() + "x" + image.getHeight());
+            return "scanned words";
+        };
+
+        Document document = new PdfDocumentParser(List.of(ocr)).parse(ParseRequest.builder()
+            .stream(new ByteArrayInputStream(pdfBytes))
+            .fileName("mixed.pdf")
+            .options(ParseOptions.builder().ocrMinImageArea(1_000).ocrMaxAspectRatio(20).build())
+            .build()).getDocument();
+
+        assertThat(recognized).containsExactly("200x150");
+        assertThat(document.getPages().get(0).getBlocks())
+            .filteredOn(TextBlock.class::isInstance)
+            .extracting(block -> ((TextBlock) block).getText())
+            .containsExactly("scanned words");
+        assertThat(document.getRawText()).containsOnlyOnce("scanned words");
+    }
+
+    @Test
+    void shouldRenderScannedPagesForOcrInsteadOfStrippingText() throws Exception {
+        byte[] pdfBytes;
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            PDPage scanned = new PDPage();
+            doc.addPage(scanned);
+            PDImageXObject scan = LosslessFactory.createFromImage(doc, inked(100, 130));
+            try (PDPageContentStream stream = new PDPageContentStream(doc, scanned)) {
+                stream.drawImage(scan, 0, 0, scanned.getMediaBox().getWidth(), scanned.getMediaBox().getHeight());
+            }
+
+            PDPage textPage = new PDPage();
+            doc.addPage(textPage);
+            try (PDPageContentStream stream = new PDPageContentStream(doc, textPage)) {
+                stream.beginText();
+                stream.setFont(PDType1Font.HELVETICA, 12);
+                stream.newLineAtOffset(50, 700);
+                stream.showText("Typed cover letter");
+                stream.endText();
+            }
+            doc.save(output);
+            pdfBytes = output.toByteArray();
+        }
+
+        List<String> recognized = new ArrayList<>();
+        OcrService ocr = (imageData, mimeType, options) -> {
+            BufferedImage image = readImage(imageData);
+            recognized.add(mimeType + " " + image.getWidth() + "x" + image.getHeight());
+            return "scanned letter";
+        };
+
+        Document document = new PdfDocumentParser(List.of(ocr)).parse(ParseRequest.builder()
+            .stream(new ByteArrayInputStream(pdfBytes))
+            .fileName("mailroom.pdf")
+            .options(ParseOptions.builder().ocrRenderDpi(36).build())
+            .build()).getDocument();
+
+        assertThat(recognized).containsExactly("image/png 306x396");
+        assertThat(document.getMetadata().getCustomProperties())
+            .containsEntry("scannedPages", List.of(1))
+            .containsEntry("scannedPageCount", 1);
+        assertThat(document.getPages().get(0).getBlocks())
+            .filteredOn(TextBlock.class::isInstance)
+            .extracting(block -> ((TextBlock) block).getText())
+            .containsExactly("scanned letter");
+        assertThat(document.getRawText()).contains("scanned letter", "Typed cover letter");
+    }
+
+    @Test
+    void shouldPipelineOcrOnWorkerThreadsAndJoinInPageOrder() throws Exception {
+        int pageCount = 40;
+        byte[] pdfBytes;
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            for (int i = 1; i <= pageCount; i++) {
+                PDPage page = new PDPage();
+                doc.addPage(page);
+                // The image width tells the OCR stub which page it is looking at.
+                PDImageXObject figure = LosslessFactory.createFromImage(doc, inked(100 + i, 120));
+                try (PDPageContentStream stream = new PDPageContentStream(doc, page)) {
+                    showAt(stream, "p" + i, 50, 700);
+                    stream.drawImage(figure, 50, 400);
+                }
+            }
+            doc.save(output);
+            pdfBytes = output.toByteArray();
+        }
+
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        OcrService ocr = (imageData, mimeType, options) -> {
+            threads.add(Thread.currentThread().getName());
+            return "ocr page " + (readImage(imageData).getWidth() - 100);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> new Thread(runnable, "ocr-worker"));
+        Document document;
+        try {
+            document = new PdfDocumentParser(List.of(ocr)).parse(ParseRequest.builder()
+                .stream(new ByteArrayInputStream(pdfBytes))
+                .fileName("figures.pdf")
+                .options(ParseOptions.builder().ocrMinImageArea(1_000).ocrPipelineDepth(2).build())
+                .workerExecutor(executor)
+                .build()).getDocument();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(threads).hasSize(pageCount).contains("ocr-worker");
+        assertThat(document.getPages()).extracting(Page::getPageNumber)
+            .containsExactlyElementsOf(IntStream.rangeClosed(1, pageCount).boxed().toList());
+        assertThat(document.getPages()).allSatisfy(page -> assertThat(page.getBlocks())
+            .filteredOn(TextBlock.class::isInstance)
+            .extracting(block -> ((TextBlock) block).getText())
+            .containsExactly("p" + page.getPageNumber(), "ocr page " + page.getPageNumber()));
+        assertThat(document.getRawText()).startsWith("p1" + System.lineSeparator() + "ocr page 1" + System.lineSeparator()
+            + "p2" + System.lineSeparator() + "ocr page 2");
+    }
+
+    @Test
+    void shouldKeepOneWarningPerPipelinedOcrFailure() throws Exception {
+        byte[] pdfBytes;
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            for (int i = 1; i <= 3; i++) {
+                PDPage page = new PDPage();
+                doc.addPage(page);
+                PDImageXObject figure = LosslessFactory.createFromImage(doc, inked(120, 120));
+                try (PDPageContentStream stream = new PDPageContentStream(doc, page)) {
+                    stream.drawImage(figure, 50, 400);
+                }
+            }
+            doc.save(output);
+            pdfBytes = output.toByteArray();
+        }
+
+        OcrService ocr = (imageData, mimeType, options) -> {
+            throw new IllegalStateException("engine crashed");
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ParseResult result;
+        try {
+            result = new PdfDocumentParser(List.of(ocr)).parse(ParseRequest.builder()
+                .stream(new ByteArrayInputStream(pdfBytes))
+                .fileName("failing.pdf")
+                .options(ParseOptions.builder().ocrMinImageArea(1_000).build())
+                .workerExecutor(executor)
+                .build());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(result.getWarnings()).extracting(ParseWarning::code)
+            .containsExactly("OCR_EXECUTION_FAILED", "OCR_EXECUTION_FAILED", "OCR_EXECUTION_FAILED");
+    }
+
+    @Test
+    void shouldTileOversizedPdfImagesUnderDefaultResourceLimits() throws Exception {
+        int width = 12_000;
+        int height = 9_000;
+        byte[] pdfBytes;
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            // A 1-bit drawing above the default maxImagePixels, small on disk once Flate-compressed.
+            PDStream pixels = new PDStream(doc, new ByteArrayInputStream(new byte[width / 8 * height]), COSName.FLATE_DECODE);
+            PDImageXObject drawing = new PDImageXObject(pixels, null);
+            drawing.setWidth(width);
+            drawing.setHeight(height);
+            drawing.setBitsPerComponent(1);
+            drawing.setColorSpace(PDDeviceGray.INSTANCE);
+            PDPage page = new PDPage();
+            doc.addPage(page);
+            try (PDPageContentStream stream = new PDPageContentStream(doc, page)) {
+                stream.drawImage(drawing, 50, 400, 240, 180);
+            }
+            doc.save(output);
+            pdfBytes = output.toByteArray();
+        }
+
+        List<String> strips = Collections.synchronizedList(new ArrayList<>());
+        OcrService ocr = new OcrService() {
+            @Override
+            public String extractText(byte[] imageData, String mimeType, ParseOptions options) {
+                throw new AssertionError("expected strips in a batch");
+            }
+
+            @Override
+            public List<String> extractTextBatch(List<ImageElement> images, ParseOptions options) {
+                for (ImageElement image : images) {
+                    BufferedImage raster = image.getRaster();
+                    strips.add(raster.getWidth() + "x" + raster.getHeight());
+                }
+                return images.stream().map(image -> "row of " + image.getId()).toList();
+            }
+        };
+
+        Document document = new PdfDocumentParser(List.of(ocr)).parse(ParseRequest.builder()
+            .stream(new ByteArrayInputStream(pdfBytes))
+            .fileName("site-plan.pdf")
+            .options(ParseOptions.defaultOptions())
+            .build()).getDocument();
+
+        assertThat(ParseOptions.defaultOptions().getResourceLimits().getMaxImagePixels()).isLessThan((long) width * height);
+        assertThat(document.getImages()).extracting(ImageElement::getId).containsExactly("pdf-page-1-img-1");
+        assertThat(strips).hasSizeGreaterThan(1).allSatisfy(strip -> assertThat(strip).startsWith(width + "x"));
+        assertThat(document.getRawText()).contains("row of pdf-page-1-img-1-strip-1", "row of pdf-page-1-img-1-strip-" + strips.size());
+    }
+
+    @Test
+    void shouldOcrPageImagesInParallelAndKeepImageOrder() throws Exception {
+        byte[] pdfBytes;
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage();
+            doc.addPage(page);
+            try (PDPageContentStream stream = new PDPageContentStream(doc, page)) {
+                for (int i = 1; i <= 6; i++) {
+                    PDImageXObject figure = LosslessFactory.createFromImage(doc, inked(100 + i, 110));
+                    stream.drawImage(figure, 20 + (i - 1) * 95, 400);
+                }
+            }
+            doc.save(output);
+            pdfBytes = output.toByteArray();
+        }
+
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        OcrService ocr = (imageData, mimeType, options) -> {
+            threads.add(Thread.currentThread().getName());
+            int figure = readImage(imageData).getWidth() - 100;
+            if (figure == 4) {
+                throw new IllegalStateException("figure 4 unreadable");
+            }
+            return "figure " + figure;
+        };
+        ExecutorService ocrPool = Executors.newFixedThreadPool(2, runnable -> new Thread(runnable, "ocr-pool"));
+        ParseResult result;
+        try {
+            result = new PdfDocumentParser(List.of(ocr)).parse(ParseRequest.builder()
+                .stream(new ByteArrayInputStream(pdfBytes))
+                .fileName("figures.pdf")
+                .options(ParseOptions.builder().ocrMinImageArea(1_000).ocrMaxImagesPerPage(0).ocrMaxConcurrency(3).build())
+                .ocrExecutor(ocrPool)
+                .build());
+        } finally {
+            ocrPool.shutdownNow();
+        }
+
+        assertThat(threads).contains("ocr-pool");
+        assertThat(result.getDocument().getPages().get(0).getBlocks())
+            .filteredOn(TextBlock.class::isInstance)
+            .extracting(block -> ((TextBlock) block).getText())
+            .containsExactly(String.join(System.lineSeparator(), "figure 1", "figure 2", "figure 3", "figure 5", "figure 6"));
+        assertThat(result.getWarnings()).extracting(ParseWarning::code).containsExactly("OCR_EXECUTION_FAILED");
+    }
+
+    @Test
+    void shouldHandDecodedRastersToOcrWithoutEncodingPng() throws Exception {
+        byte[] pdfBytes;
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            PDPage scanned = new PDPage();
+            doc.addPage(scanned);
+            PDImageXObject scan = LosslessFactory.createFromImage(doc, inked(100, 130));
+            try (PDPageContentStream stream = new PDPageContentStream(doc, scanned)) {
+                stream.drawImage(scan, 0, 0, scanned.getMediaBox().getWidth(), scanned.getMediaBox().getHeight());
+            }
+
+            PDPage figurePage = new PDPage();
+            doc.addPage(figurePage);
+            PDImageXObject figure = LosslessFactory.createFromImage(doc, inked(200, 150));
+            try (PDPageContentStream stream = new PDPageContentStream(doc, figurePage)) {
+                stream.drawImage(figure, 50, 400);
+            }
+            doc.save(output);
+            pdfBytes = output.toByteArray();
+        }
+
+        List<String> recognized = Collections.synchronizedList(new ArrayList<>());
+        OcrService ocr = new OcrService() {
+            @Override
+            public String extractText(byte[] imageData, String mimeType, ParseOptions options) {
+                throw new AssertionError("expected a raster");
+            }
+
+            @Override
+            public String extractText(BufferedImage image, ParseOptions options) {
+                recognized.add(image.getWidth() + "x" + image.getHeight());
+                return "raster text";
+            }
+        };
+
+        Document document = new PdfDocumentParser(List.of(ocr)).parse(ParseRequest.builder()
+            .stream(new ByteArrayInputStream(pdfBytes))
+            .fileName("rasters.pdf")
+            .options(ParseOptions.builder().ocrRenderDpi(36).ocrMinImageArea(1_000).build())
+            .build()).getDocument();
+
+        assertThat(recognized).containsExactly("306x396", "200x150");
+        assertThat(document.getImages()).extracting(ImageElement::isContentLoaded).containsOnly(false);
+        assertThat(document.getRawText()).containsOnlyOnce("raster text" + System.lineSeparator() + "raster text");
+    }
+
+    @Test
+    void shouldSkipBlankImagesAndBlankScannedPages() throws Exception {
+        byte[] pdfBytes;
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            PDPage separator = new PDPage();
+            doc.addPage(separator);
+            BufferedImage white = new BufferedImage(100, 130, BufferedImage.TYPE_INT_RGB);
+            for (int y = 0; y < white.getHeight(); y++) {
+                for (int x = 0; x < white.getWidth(); x++) {
+                    white.setRGB(x, y, 0xFFFFFF);
+                }
+            }
+            PDImageXObject sheet = LosslessFactory.createFromImage(doc, white);
+            try (PDPageContentStream stream = new PDPageContentStream(doc, separator)) {
+                stream.drawImage(sheet, 0, 0, separator.getMediaBox().getWidth(), separator.getMediaBox().getHeight());
+            }
+
+            PDPage figures = new PDPage();
+            doc.addPage(figures);
+            PDImageXObject background = LosslessFactory.createFromImage(doc, new BufferedImage(200, 150, BufferedImage.TYPE_INT_RGB));
+            PDImageXObject chart = LosslessFactory.createFromImage(doc, inked(210, 150));
+            try (PDPageContentStream stream = new PDPageContentStream(doc, figures)) {
+                stream.drawImage(background, 50, 500);
+                stream.drawImage(chart, 50, 200);
+            }
+            doc.save(output);
+            pdfBytes = output.toByteArray();
+        }
+
+        List<Integer> recognized = Collections.synchronizedList(new ArrayList<>());
+        OcrService ocr = (imageData, mimeType, options) -> {
+            recognized.add(readImage(imageData).getWidth());
+            return "chart labels";
+        };
+
+        Document document = new PdfDocumentParser(List.of(ocr)).parse(ParseRequest.builder()
+            .stream(new ByteArrayInputStream(pdfBytes))
+            .fileName("duplex.pdf")
+            .options(ParseOptions.builder().ocrRenderDpi(36).ocrMinImageArea(1_000).build())
+            .build()).getDocument();
+
+        assertThat(recognized).containsExactly(210);
+        assertThat(document.getMetadata().getCustomProperties())
+            .containsEntry("scannedPages", List.of(1))
+            .containsEntry("blankImages", List.of("pdf-page-1-img-1", "pdf-page-2-img-1"));
+        assertThat(document.getRawText()).isEqualTo("chart labels");
+    }
+
+    @Test
+    void shouldProbePageCountInfoAndEncryption() throws Exception {
+        byte[] plain;
+        byte[] locked;
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            for (int i = 0; i < 3; i++) {
+                doc.addPage(new PDPage());
+            }
+            doc.getDocumentInformation().setTitle("Annual report");
+            doc.getDocumentInformation().setAuthor("Finance");
+            doc.save(output);
+            plain = output.toByteArray();
+
+            output.reset();
+            StandardProtectionPolicy policy = new StandardProtectionPolicy("owner", "user", new AccessPermission());
+            policy.setEncryptionKeyLength(128);
+            doc.protect(policy);
+            doc.save(output);
+            locked = output.toByteArray();
+        }
+
+        PdfDocumentParser parser = new PdfDocumentParser();
+        Metadata metadata = parser.probe(ParseRequest.builder()
+            .stream(new ByteArrayInputStream(plain))
+            .fileName("report.pdf")
+            .build()).orElseThrow();
+        Metadata encrypted = parser.probe(ParseRequest.builder()
+            .stream(new ByteArrayInputStream(locked))
+            .fileName("locked.pdf")
+            .build()).orElseThrow();
+
+        assertThat(metadata.getPageCount()).isEqualTo(3);
+        assertThat(metadata.getTitle()).isEqualTo("Annual report");
+        assertThat(metadata.getAuthor()).isEqualTo("Finance");
+        assertThat(metadata.getEncrypted()).isFalse();
+        assertThat(encrypted.getEncrypted()).isTrue();
+        assertThat(encrypted.getPageCount()).isNull();
+    }
+
+    private void showAt(PDPageContentStream stream, String text, float x, float y) throws IOException {
+        stream.beginText();
+        stream.setFont(PDType1Font.HELVETICA, 12);
+        stream.newLineAtOffset(x, y);
+        stream.showText(text);
+        stream.endText();
+    }
+
+    // OCR skips blank images, so fixtures that expect recognition carry a few dark lines.
+    private BufferedImage inked(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, y % 8 < 2 ? 0x202020 : 0xFFFFFF);
+            }
+        }
+        return image;
+    }
+
+    private BufferedImage readImage(byte[] data) {
+        try {
+            return ImageIO.read(new ByteArrayInputStream(data));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] createPagedPdf(int pageCount, int blankPage, boolean withTable) throws Exception {
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            for (int i = 1; i <= pageCount; i++) {
+                PDPage page = new PDPage();
+                doc.addPage(page);
+                if (i == blankPage) {
+                    continue;
+                }
+                try (PDPageContentStream stream = new PDPageContentStream(doc, page)) {
+                    stream.beginText();
+                    stream.setFont(PDType1Font.HELVETICA, 12);
+                    stream.newLineAtOffset(50, 700);
+                    stream.showText("page marker " + i);
+                    if (withTable) {
+                        stream.newLineAtOffset(0, -16);
+                        stream.showText("Col|Value|Page");
+                        stream.newLineAtOffset(0, -16);
+                        stream.showText("p|" + i + "|" + i);
+                    }
+                    stream.endText();
+                }
+            }
+            doc.save(output);
+            return output.toByteArray();
+        }
+    }
+
     private byte[] createPdf(String text) throws Exception {
         try (PDDocument doc = new PDDocument(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
             PDPage page = new PDPage();
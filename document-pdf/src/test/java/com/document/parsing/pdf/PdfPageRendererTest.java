@@ -0,0 +1,64 @@
+package com.document.parsing.pdf;
+
+import com.document.parsing.core.model.ImageElement;
+import com.document.parsing.core.render.RenderOptions;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PdfPageRendererTest {
+
+    @Test
+    void shouldRenderSelectedPagesAtRequestedDpi() throws Exception {
+        List<ImageElement> images = new PdfPageRenderer().render(createPdf(5), RenderOptions.builder()
+            .dpi(36)
+            .colorMode(RenderOptions.ColorMode.BINARY)
+            .pages(2, 4)
+            .build());
+
+        assertThat(images).extracting(ImageElement::getPageNumber).containsExactly(2, 4);
+        assertThat(images).extracting(ImageElement::getWidth).containsOnly(100);
+        assertThat(images).extracting(ImageElement::getHeight).containsOnly(50);
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(images.get(0).getContent()));
+        assertThat(decoded.getColorModel().getPixelSize()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRenderPagesOnWorkersIntoSink() throws Exception {
+        ConcurrentLinkedQueue<String> received = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            new PdfPageRenderer().render(createPdf(10), RenderOptions.builder().dpi(18).pagesPerTask(3).build(),
+                image -> received.add(image.getPageNumber() + ":" + Thread.currentThread().getName()), executor);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(received).hasSize(10);
+        assertThat(received).extracting(entry -> entry.substring(0, entry.indexOf(':')))
+            .containsExactlyInAnyOrder("1", "2", "3", "4", "5", "6", "7", "8", "9", "10");
+        assertThat(received).filteredOn(entry -> entry.contains("pool")).hasSize(7);
+    }
+
+    private byte[] createPdf(int pageCount) throws Exception {
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            for (int i = 0; i < pageCount; i++) {
+                doc.addPage(new PDPage(new PDRectangle(200, 100)));
+            }
+            doc.save(output);
+            return output.toByteArray();
+        }
+    }
+}
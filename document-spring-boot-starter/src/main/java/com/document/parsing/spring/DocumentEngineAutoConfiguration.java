@@ -3,6 +3,7 @@ package com.document.parsing.spring;
 import com.document.parsing.core.engine.DocumentEngine;
 import com.document.parsing.core.parser.DocumentParser;
 import com.document.parsing.core.parser.ParseOptions;
+import com.document.parsing.core.parser.ResourceLimits;
 import com.document.parsing.core.pipeline.DocumentProcessor;
 import com.document.parsing.core.pipeline.WatermarkCleanupProcessor;
 import org.springframework.beans.factory.ObjectProvider;
@@ -46,16 +47,55 @@ public class DocumentEngineAutoConfiguration {
             .enableOcr(properties.getOcr().isEnabled())
             .failOnOcrError(properties.getOcr().isFailOnError())
             .ocrDataPath(properties.getOcr().getDataPath())
+            .ocrMinImageArea(properties.getOcr().getMinImageArea())
+            .ocrMaxAspectRatio(properties.getOcr().getMaxAspectRatio())
+            .ocrMaxImagesPerPage(properties.getOcr().getMaxImagesPerPage())
+            .ocrRenderDpi(properties.getOcr().getRenderDpi())
+            .ocrPipelineDepth(properties.getOcr().getPipelineDepth())
+            .ocrLanguage(properties.getOcr().getLanguage())
+            .ocrEngineMode(properties.getOcr().getEngineMode())
+            .ocrPageSegMode(properties.getOcr().getPageSegMode())
+            .ocrMaxConcurrency(properties.getOcr().getMaxConcurrency())
+            .ocrCacheEnabled(properties.getOcr().isCacheEnabled())
+            .ocrCacheDirectory(properties.getOcr().getCacheDirectory())
+            .ocrCacheMaxEntries(properties.getOcr().getCacheMaxEntries())
+            .ocrCacheMaxDiskBytes(properties.getOcr().getCacheMaxDiskBytes())
+            .ocrPreprocessEnabled(properties.getOcr().isPreprocessEnabled())
+            .ocrTargetDpi(properties.getOcr().getTargetDpi())
+            .ocrBinarize(properties.getOcr().isBinarize())
+            .ocrBlankInkThreshold(properties.getOcr().getBlankInkThreshold())
+            .ocrTileThresholdPixels(properties.getOcr().getTileThresholdPixels())
             .maxPages(properties.getParser().getMaxPages())
             .charset(properties.getParser().getCharset())
             .lowTextDensityThreshold(properties.getParser().getLowTextDensityThreshold())
+            .embeddedDocumentsEnabled(properties.getParser().isEmbeddedDocumentsEnabled())
+            .maxEmbeddedDepth(properties.getParser().getMaxEmbeddedDepth())
+            .maxEmbeddedSize(properties.getParser().getMaxEmbeddedSize())
+            .attachmentParsingEnabled(properties.getParser().isAttachmentParsingEnabled())
+            .parallelPagesEnabled(properties.getParser().isParallelPagesEnabled())
+            .pageChunkSize(properties.getParser().getPageChunkSize())
+            .textOnly(properties.getParser().isTextOnly())
+            .pdfResourceCacheSize(properties.getParser().getPdfResourceCacheSize())
+            .scannedPageRoutingEnabled(properties.getParser().isScannedPageRoutingEnabled())
+            .layoutCapture(properties.getParser().getLayoutCapture())
             .watermarkCleanupEnabled(properties.getPipeline().isWatermarkCleanupEnabled())
+            .resourceLimits(ResourceLimits.builder()
+                .maxDecompressionRatio(properties.getLimits().getMaxDecompressionRatio())
+                .maxZipEntries(properties.getLimits().getMaxZipEntries())
+                .maxCharacters(properties.getLimits().getMaxCharacters())
+                .maxRows(properties.getLimits().getMaxRows())
+                .maxCells(properties.getLimits().getMaxCells())
+                .maxImagePixels(properties.getLimits().getMaxImagePixels())
+                .maxBlocksPerPage(properties.getLimits().getMaxBlocksPerPage())
+                .action(properties.getLimits().getAction())
+                .build())
             .build();
 
         DocumentEngine.Builder builder = DocumentEngine.builder()
             .autoRegister()
             .defaultOptions(options)
             .executorService(executor, false)
+            .ocrParallelism(properties.getOcr().getPoolSize())
             .asyncPool(
                 properties.getAsync().getCorePoolSize(),
                 properties.getAsync().getMaxPoolSize(),
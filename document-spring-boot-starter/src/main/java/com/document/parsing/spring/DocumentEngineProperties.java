@@ -1,9 +1,12 @@
 package com.document.parsing.spring;
 
+import com.document.parsing.core.parser.ParseOptions;
+import com.document.parsing.core.parser.ResourceLimits;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 
 @ConfigurationProperties(prefix = "document.engine")
 public class DocumentEngineProperties {
@@ -11,6 +14,7 @@ public class DocumentEngineProperties {
     private final Ocr ocr = new Ocr();
     private final Parser parser = new Parser();
     private final Pipeline pipeline = new Pipeline();
+    private final Limits limits = new Limits();
 
     public Async getAsync() {
         return async;
@@ -28,6 +32,10 @@ public class DocumentEngineProperties {
         return pipeline;
     }
 
+    public Limits getLimits() {
+        return limits;
+    }
+
     public static class Async {
         private int corePoolSize = 4;
         private int maxPoolSize = 16;
@@ -62,6 +70,25 @@ public class DocumentEngineProperties {
         private boolean enabled = true;
         private boolean failOnError = false;
         private String dataPath;
+        private long minImageArea = 10_000;
+        private double maxAspectRatio = 20.0;
+        private int maxImagesPerPage = 10;
+        private int renderDpi = 300;
+        private int pipelineDepth = 4;
+        private String language = "eng";
+        private int engineMode = 3;
+        private int pageSegMode = 3;
+        private int maxConcurrency = Runtime.getRuntime().availableProcessors();
+        private int poolSize = Runtime.getRuntime().availableProcessors();
+        private boolean cacheEnabled = true;
+        private Path cacheDirectory;
+        private int cacheMaxEntries = 4096;
+        private long cacheMaxDiskBytes = 512L * 1024 * 1024;
+        private boolean preprocessEnabled = true;
+        private int targetDpi = 300;
+        private boolean binarize = false;
+        private double blankInkThreshold = 0.0001;
+        private long tileThresholdPixels = 50_000_000;
 
         public boolean isEnabled() {
             return enabled;
@@ -86,12 +113,174 @@ public class DocumentEngineProperties {
         public void setDataPath(String dataPath) {
             this.dataPath = dataPath;
         }
+
+        public long getMinImageArea() {
+            return minImageArea;
+        }
+
+        public void setMinImageArea(long minImageArea) {
+            this.minImageArea = minImageArea;
+        }
+
+        public double getMaxAspectRatio() {
+            return maxAspectRatio;
+        }
+
+        public void setMaxAspectRatio(double maxAspectRatio) {
+            this.maxAspectRatio = maxAspectRatio;
+        }
+
+        public int getMaxImagesPerPage() {
+            return maxImagesPerPage;
+        }
+
+        public void setMaxImagesPerPage(int maxImagesPerPage) {
+            this.maxImagesPerPage = maxImagesPerPage;
+        }
+
+        public int getRenderDpi() {
+            return renderDpi;
+        }
+
+        public void setRenderDpi(int renderDpi) {
+            this.renderDpi = renderDpi;
+        }
+
+        public int getPipelineDepth() {
+            return pipelineDepth;
+        }
+
+        public void setPipelineDepth(int pipelineDepth) {
+            this.pipelineDepth = pipelineDepth;
+        }
+
+        public String getLanguage() {
+            return language;
+        }
+
+        public void setLanguage(String language) {
+            this.language = language;
+        }
+
+        public int getEngineMode() {
+            return engineMode;
+        }
+
+        public void setEngineMode(int engineMode) {
+            this.engineMode = engineMode;
+        }
+
+        public int getPageSegMode() {
+            return pageSegMode;
+        }
+
+        public void setPageSegMode(int pageSegMode) {
+            this.pageSegMode = pageSegMode;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public boolean isCacheEnabled() {
+            return cacheEnabled;
+        }
+
+        public void setCacheEnabled(boolean cacheEnabled) {
+            this.cacheEnabled = cacheEnabled;
+        }
+
+        public Path getCacheDirectory() {
+            return cacheDirectory;
+        }
+
+        public void setCacheDirectory(Path cacheDirectory) {
+            this.cacheDirectory = cacheDirectory;
+        }
+
+        public int getCacheMaxEntries() {
+            return cacheMaxEntries;
+        }
+
+        public void setCacheMaxEntries(int cacheMaxEntries) {
+            this.cacheMaxEntries = cacheMaxEntries;
+        }
+
+        public long getCacheMaxDiskBytes() {
+            return cacheMaxDiskBytes;
+        }
+
+        public void setCacheMaxDiskBytes(long cacheMaxDiskBytes) {
+            this.cacheMaxDiskBytes = cacheMaxDiskBytes;
+        }
+
+        public boolean isPreprocessEnabled() {
+            return preprocessEnabled;
+        }
+
+        public void setPreprocessEnabled(boolean preprocessEnabled) {
+            this.preprocessEnabled = preprocessEnabled;
+        }
+
+        public int getTargetDpi() {
+            return targetDpi;
+        }
+
+        public void setTargetDpi(int targetDpi) {
+            this.targetDpi = targetDpi;
+        }
+
+        public boolean isBinarize() {
+            return binarize;
+        }
+
+        public void setBinarize(boolean binarize) {
+            this.binarize = binarize;
+        }
+
+        public double getBlankInkThreshold() {
+            return blankInkThreshold;
+        }
+
+        public void setBlankInkThreshold(double blankInkThreshold) {
+            this.blankInkThreshold = blankInkThreshold;
+        }
+
+        public long getTileThresholdPixels() {
+            return tileThresholdPixels;
+        }
+
+        public void setTileThresholdPixels(long tileThresholdPixels) {
+            this.tileThresholdPixels = tileThresholdPixels;
+        }
     }
 
     public static class Parser {
         private int maxPages = -1;
         private Charset charset = StandardCharsets.UTF_8;
         private int lowTextDensityThreshold = 40;
+        private boolean embeddedDocumentsEnabled = false;
+        private int maxEmbeddedDepth = 2;
+        private long maxEmbeddedSize = 32L * 1024 * 1024;
+        private boolean attachmentParsingEnabled = true;
+        private boolean parallelPagesEnabled = false;
+        private int pageChunkSize = 64;
+        private boolean textOnly = false;
+        private int pdfResourceCacheSize = 128;
+        private boolean scannedPageRoutingEnabled = true;
+        private ParseOptions.LayoutCapture layoutCapture = ParseOptions.LayoutCapture.NONE;
 
         public int getMaxPages() {
             return maxPages;
@@ -116,6 +305,86 @@ public class DocumentEngineProperties {
         public void setLowTextDensityThreshold(int lowTextDensityThreshold) {
             this.lowTextDensityThreshold = lowTextDensityThreshold;
         }
+
+        public boolean isEmbeddedDocumentsEnabled() {
+            return embeddedDocumentsEnabled;
+        }
+
+        public void setEmbeddedDocumentsEnabled(boolean embeddedDocumentsEnabled) {
+            this.embeddedDocumentsEnabled = embeddedDocumentsEnabled;
+        }
+
+        public int getMaxEmbeddedDepth() {
+            return maxEmbeddedDepth;
+        }
+
+        public void setMaxEmbeddedDepth(int maxEmbeddedDepth) {
+            this.maxEmbeddedDepth = maxEmbeddedDepth;
+        }
+
+        public long getMaxEmbeddedSize() {
+            return maxEmbeddedSize;
+        }
+
+        public void setMaxEmbeddedSize(long maxEmbeddedSize) {
+            this.maxEmbeddedSize = maxEmbeddedSize;
+        }
+
+        public boolean isAttachmentParsingEnabled() {
+            return attachmentParsingEnabled;
+        }
+
+        public void setAttachmentParsingEnabled(boolean attachmentParsingEnabled) {
+            this.attachmentParsingEnabled = attachmentParsingEnabled;
+        }
+
+        public boolean isParallelPagesEnabled() {
+            return parallelPagesEnabled;
+        }
+
+        public void setParallelPagesEnabled(boolean parallelPagesEnabled) {
+            this.parallelPagesEnabled = parallelPagesEnabled;
+        }
+
+        public int getPageChunkSize() {
+            return pageChunkSize;
+        }
+
+        public void setPageChunkSize(int pageChunkSize) {
+            this.pageChunkSize = pageChunkSize;
+        }
+
+        public boolean isTextOnly() {
+            return textOnly;
+        }
+
+        public void setTextOnly(boolean textOnly) {
+            this.textOnly = textOnly;
+        }
+
+        public int getPdfResourceCacheSize() {
+            return pdfResourceCacheSize;
+        }
+
+        public void setPdfResourceCacheSize(int pdfResourceCacheSize) {
+            this.pdfResourceCacheSize = pdfResourceCacheSize;
+        }
+
+        public boolean isScannedPageRoutingEnabled() {
+            return scannedPageRoutingEnabled;
+        }
+
+        public void setScannedPageRoutingEnabled(boolean scannedPageRoutingEnabled) {
+            this.scannedPageRoutingEnabled = scannedPageRoutingEnabled;
+        }
+
+        public ParseOptions.LayoutCapture getLayoutCapture() {
+            return layoutCapture;
+        }
+
+        public void setLayoutCapture(ParseOptions.LayoutCapture layoutCapture) {
+            this.layoutCapture = layoutCapture;
+        }
     }
 
     public static class Pipeline {
@@ -129,4 +398,79 @@ public class DocumentEngineProperties {
             this.watermarkCleanupEnabled = watermarkCleanupEnabled;
         }
     }
+
+    public static class Limits {
+        private double maxDecompressionRatio = 100;
+        private int maxZipEntries = 10_000;
+        private long maxCharacters = 100_000_000L;
+        private long maxRows = 5_000_000L;
+        private long maxCells = 50_000_000L;
+        private long maxImagePixels = 100_000_000L;
+        private int maxBlocksPerPage = 100_000;
+        private ResourceLimits.Action action = ResourceLimits.Action.FAIL;
+
+        public double getMaxDecompressionRatio() {
+            return maxDecompressionRatio;
+        }
+
+        public void setMaxDecompressionRatio(double maxDecompressionRatio) {
+            this.maxDecompressionRatio = maxDecompressionRatio;
+        }
+
+        public int getMaxZipEntries() {
+            return maxZipEntries;
+        }
+
+        public void setMaxZipEntries(int maxZipEntries) {
+            this.maxZipEntries = maxZipEntries;
+        }
+
+        public long getMaxCharacters() {
+            return maxCharacters;
+        }
+
+        public void setMaxCharacters(long maxCharacters) {
+            this.maxCharacters = maxCharacters;
+        }
+
+        public long getMaxRows() {
+            return maxRows;
+        }
+
+        public void setMaxRows(long maxRows) {
+            this.maxRows = maxRows;
+        }
+
+        public long getMaxCells() {
+            return maxCells;
+        }
+
+        public void setMaxCells(long maxCells) {
+            this.maxCells = maxCells;
+        }
+
+        public long getMaxImagePixels() {
+            return maxImagePixels;
+        }
+
+        public void setMaxImagePixels(long maxImagePixels) {
+            this.maxImagePixels = maxImagePixels;
+        }
+
+        public int getMaxBlocksPerPage() {
+            return maxBlocksPerPage;
+        }
+
+        public void setMaxBlocksPerPage(int maxBlocksPerPage) {
+            this.maxBlocksPerPage = maxBlocksPerPage;
+        }
+
+        public ResourceLimits.Action getAction() {
+            return action;
+        }
+
+        public void setAction(ResourceLimits.Action action) {
+            this.action = action;
+        }
+    }
 }
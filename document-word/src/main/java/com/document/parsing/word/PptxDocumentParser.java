@@ -2,6 +2,7 @@ package com.document.parsing.word;
 
 import com.document.parsing.core.event.BlockEvent;
 import com.document.parsing.core.exception.CorruptedDocumentException;
+import com.document.parsing.core.format.OoxmlProbe;
 import com.document.parsing.core.model.Block;
 import com.document.parsing.core.model.Document;
 import com.document.parsing.core.model.DocumentType;
@@ -9,6 +10,7 @@ import com.document.parsing.core.model.ImageBlock;
 import com.document.parsing.core.model.ImageElement;
 import com.document.parsing.core.model.Metadata;
 import com.document.parsing.core.model.Page;
+import com.document.parsing.core.model.ParseWarning;
 import com.document.parsing.core.model.Table;
 import com.document.parsing.core.model.TableBlock;
 import com.document.parsing.core.model.TextBlock;
@@ -16,6 +18,9 @@ import com.document.parsing.core.parser.DocumentParser;
 import com.document.parsing.core.parser.ParseOptions;
 import com.document.parsing.core.parser.ParseRequest;
 import com.document.parsing.core.parser.ParseResult;
+import com.document.parsing.core.parser.ResourceGuard;
+import com.document.parsing.ooxml.EmbeddedPartExtractor;
+import com.document.parsing.ooxml.ZipArchiveInspector;
 import org.apache.poi.ooxml.POIXMLProperties;
 import org.apache.poi.xslf.usermodel.XMLSlideShow;
 import org.apache.poi.xslf.usermodel.XSLFPictureData;
@@ -31,9 +36,11 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 public class PptxDocumentParser implements DocumentParser {
+    private static final Pattern EMBEDDED_PARTS = Pattern.compile("/ppt/embeddings/.*");
 
     @Override
     public boolean supports(DocumentType type) {
@@ -42,7 +49,10 @@ public class PptxDocumentParser implements DocumentParser {
 
     @Override
     public ParseResult parse(ParseRequest request) {
-        try (XMLSlideShow slideShow = new XMLSlideShow(request.getStream())) {
+        ParseOptions options = request.getOptions();
+        try (XMLSlideShow slideShow = new XMLSlideShow(ZipArchiveInspector.open(request.getStream(), options.getResourceLimits()))) {
+            List<ParseWarning> warnings = new ArrayList<>();
+            ResourceGuard guard = ResourceGuard.of(options, warnings);
             Metadata metadata = readMetadata(slideShow);
             List<Page> pages = new ArrayList<>();
             List<Table> tables = new ArrayList<>();
@@ -50,7 +60,7 @@ public class PptxDocumentParser implements DocumentParser {
             StringBuilder rawText = new StringBuilder();
 
             List<XSLFSlide> slides = slideShow.getSlides();
-            int slideLimit = resolveSlideLimit(slides.size(), request.getOptions());
+            int slideLimit = resolveSlideLimit(slides.size(), options);
             int tableIndex = 0;
             int imageIndex = 0;
 
@@ -60,15 +70,18 @@ public class PptxDocumentParser implements DocumentParser {
                 List<Block> blocks = new ArrayList<>();
 
                 for (XSLFShape shape : slide.getShapes()) {
+                    if (guard.isExhausted() || !guard.allowBlock(pageNumber, blocks.size())) {
+                        break;
+                    }
                     if (shape instanceof XSLFTextShape textShape) {
-                        String text = normalizeText(textShape.getText());
+                        String text = guard.limitText(normalizeText(textShape.getText()));
                         if (!text.isBlank()) {
                             blocks.add(new TextBlock(text));
                             rawText.append(text).append(System.lineSeparator());
                         }
                     } else if (shape instanceof XSLFTable tableShape) {
                         tableIndex++;
-                        Table table = toTable(tableShape, pageNumber, tableIndex);
+                        Table table = toTable(tableShape, pageNumber, tableIndex, guard);
                         tables.add(table);
                         blocks.add(new TableBlock(table));
                         appendTableText(rawText, table);
@@ -86,16 +99,20 @@ public class PptxDocumentParser implements DocumentParser {
             }
 
             metadata.setPageCount(slideLimit);
+            metadata.setSlideCount(slides.size());
             metadata.getCustomProperties().put("totalSlides", slides.size());
 
+            List<Document> embeddedDocuments = EmbeddedPartExtractor.parseEmbedded(slideShow.getPackage(), EMBEDDED_PARTS, request, warnings);
+
             Document document = Document.builder()
                 .metadata(metadata)
                 .pages(pages)
                 .tables(tables)
                 .images(images)
                 .rawText(rawText.toString().trim())
+                .embeddedDocuments(embeddedDocuments)
                 .build();
-            return ParseResult.of(document);
+            return new ParseResult(document, warnings);
         } catch (IOException e) {
             throw new CorruptedDocumentException("Failed to parse PPTX document", e);
         }
@@ -107,6 +124,15 @@ public class PptxDocumentParser implements DocumentParser {
         return Optional.of(toBlockEvents(document));
     }
 
+    @Override
+    public Optional<Metadata> probe(ParseRequest request) {
+        try {
+            return Optional.of(OoxmlProbe.probe(request));
+        } catch (IOException e) {
+            throw new CorruptedDocumentException("Failed to probe PPTX document", e);
+        }
+    }
+
     @Override
     public int getPriority() {
         return 30;
@@ -135,12 +161,18 @@ public class PptxDocumentParser implements DocumentParser {
         return Math.min(totalSlides, options.getMaxPages());
     }
 
-    private Table toTable(XSLFTable tableShape, int pageNumber, int tableIndex) {
+    private Table toTable(XSLFTable tableShape, int pageNumber, int tableIndex, ResourceGuard guard) {
         List<List<String>> rows = new ArrayList<>();
         for (XSLFTableRow row : tableShape.getRows()) {
+            if (!guard.allowRow()) {
+                break;
+            }
             List<String> cells = new ArrayList<>();
             for (XSLFTableCell cell : row.getCells()) {
-                cells.add(normalizeText(cell.getText()));
+                if (!guard.allowCell()) {
+                    break;
+                }
+                cells.add(guard.limitText(normalizeText(cell.getText())));
             }
             rows.add(cells);
         }
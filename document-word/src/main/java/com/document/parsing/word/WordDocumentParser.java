@@ -2,6 +2,7 @@ package com.document.parsing.word;
 
 import com.document.parsing.core.event.BlockEvent;
 import com.document.parsing.core.exception.CorruptedDocumentException;
+import com.document.parsing.core.format.OoxmlProbe;
 import com.document.parsing.core.model.Block;
 import com.document.parsing.core.model.Document;
 import com.document.parsing.core.model.DocumentType;
@@ -9,6 +10,7 @@ import com.document.parsing.core.model.ImageBlock;
 import com.document.parsing.core.model.ImageElement;
 import com.document.parsing.core.model.Metadata;
 import com.document.parsing.core.model.Page;
+import com.document.parsing.core.model.ParseWarning;
 import com.document.parsing.core.model.Table;
 import com.document.parsing.core.model.TableBlock;
 import com.document.parsing.core.model.TextBlock;
@@ -16,6 +18,9 @@ import com.document.parsing.core.parser.DocumentParser;
 import com.document.parsing.core.parser.ParseOptions;
 import com.document.parsing.core.parser.ParseRequest;
 import com.document.parsing.core.parser.ParseResult;
+import com.document.parsing.core.parser.ResourceGuard;
+import com.document.parsing.ooxml.EmbeddedPartExtractor;
+import com.document.parsing.ooxml.ZipArchiveInspector;
 import org.apache.poi.ooxml.POIXMLProperties;
 import org.apache.poi.xwpf.usermodel.IBodyElement;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
@@ -35,10 +40,12 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 public class WordDocumentParser implements DocumentParser {
+    private static final Pattern EMBEDDED_PARTS = Pattern.compile("/word/embeddings/.*");
 
     @Override
     public boolean supports(DocumentType type) {
@@ -47,8 +54,10 @@ public class WordDocumentParser implements DocumentParser {
 
     @Override
     public ParseResult parse(ParseRequest request) {
-        try (XWPFDocument word = new XWPFDocument(request.getStream())) {
-            ParseOptions options = request.getOptions();
+        ParseOptions options = request.getOptions();
+        try (XWPFDocument word = new XWPFDocument(ZipArchiveInspector.open(request.getStream(), options.getResourceLimits()))) {
+            List<ParseWarning> warnings = new ArrayList<>();
+            ResourceGuard guard = ResourceGuard.of(options, warnings);
             Metadata metadata = readMetadata(word);
             List<Block> blocks = new ArrayList<>();
             List<Table> tables = new ArrayList<>();
@@ -59,28 +68,31 @@ public class WordDocumentParser implements DocumentParser {
             int blockCount = 0;
 
             for (IBodyElement element : word.getBodyElements()) {
-                if (blockCount >= maxBlocks) {
+                if (blockCount >= maxBlocks || guard.isExhausted() || !guard.allowBlock(1, blocks.size())) {
                     break;
                 }
 
                 if (element instanceof XWPFParagraph paragraph) {
-                    String text = paragraph.getText();
+                    String text = guard.limitText(paragraph.getText());
                     if (text != null && !text.isBlank()) {
                         blocks.add(new TextBlock(text));
                         rawText.append(text).append(System.lineSeparator());
                         blockCount++;
                     }
                 } else if (element instanceof XWPFTable table) {
-                    Table parsedTable = toTable(table, tables.size() + 1);
+                    Table parsedTable = toTable(table, tables.size() + 1, guard);
                     tables.add(parsedTable);
                     blocks.add(new TableBlock(parsedTable));
-                    rawText.append(table.getText()).append(System.lineSeparator());
+                    rawText.append(tableText(parsedTable)).append(System.lineSeparator());
                     blockCount++;
                 }
             }
 
             int imageIndex = 0;
             for (var picData : word.getAllPictures()) {
+                if (!guard.allowBlock(1, blocks.size())) {
+                    break;
+                }
                 imageIndex++;
                 ImageElement image = new ImageElement(
                     "word-image-" + imageIndex,
@@ -97,19 +109,31 @@ public class WordDocumentParser implements DocumentParser {
             Page page = new Page(1, blocks);
             metadata.setPageCount(1);
 
+            List<Document> embeddedDocuments = EmbeddedPartExtractor.parseEmbedded(word.getPackage(), EMBEDDED_PARTS, request, warnings);
+
             Document document = Document.builder()
                 .metadata(metadata)
                 .pages(List.of(page))
                 .tables(tables)
                 .images(images)
                 .rawText(rawText.toString().trim())
+                .embeddedDocuments(embeddedDocuments)
                 .build();
-            return ParseResult.of(document);
+            return new ParseResult(document, warnings);
         } catch (IOException e) {
             throw new CorruptedDocumentException("Failed to parse DOCX document", e);
         }
     }
 
+    @Override
+    public Optional<Metadata> probe(ParseRequest request) {
+        try {
+            return Optional.of(OoxmlProbe.probe(request));
+        } catch (IOException e) {
+            throw new CorruptedDocumentException("Failed to probe DOCX document", e);
+        }
+    }
+
     @Override
     public int getPriority() {
         return 30;
@@ -118,7 +142,8 @@ public class WordDocumentParser implements DocumentParser {
     @Override
     public Optional<Stream<BlockEvent>> parseStream(ParseRequest request) {
         try {
-            XWPFDocument word = new XWPFDocument(request.getStream());
+            ParseOptions options = request.getOptions();
+            XWPFDocument word = new XWPFDocument(ZipArchiveInspector.open(request.getStream(), options.getResourceLimits()));
             WordBlockEventIterator iterator = new WordBlockEventIterator(word, request.getOptions());
             Stream<BlockEvent> stream = StreamSupport.stream(
                     Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
@@ -136,6 +161,7 @@ public class WordDocumentParser implements DocumentParser {
         private final Iterator<IBodyElement> bodyIterator;
         private final Iterator<XWPFPictureData> pictureIterator;
         private final int maxBlocks;
+        private final ResourceGuard guard;
         private final Deque<BlockEvent> queue = new ArrayDeque<>();
 
         private int blockCount;
@@ -150,6 +176,7 @@ public class WordDocumentParser implements DocumentParser {
             this.bodyIterator = document.getBodyElements().iterator();
             this.pictureIterator = document.getAllPictures().iterator();
             this.maxBlocks = options.getMaxPages() > 0 ? options.getMaxPages() * 200 : Integer.MAX_VALUE;
+            this.guard = ResourceGuard.of(options, new ArrayList<>());
         }
 
         @Override
@@ -192,10 +219,11 @@ public class WordDocumentParser implements DocumentParser {
                 return;
             }
 
-            while (queue.isEmpty() && blockCount < maxBlocks && bodyIterator.hasNext()) {
+            while (queue.isEmpty() && blockCount < maxBlocks && bodyIterator.hasNext()
+                && !guard.isExhausted() && guard.allowBlock(1, blockCount + imageIndex)) {
                 IBodyElement element = bodyIterator.next();
                 if (element instanceof XWPFParagraph paragraph) {
-                    String text = paragraph.getText();
+                    String text = guard.limitText(paragraph.getText());
                     if (text != null && !text.isBlank()) {
                         blockCount++;
                         queue.addLast(BlockEvent.block(1, new TextBlock(text)));
@@ -203,11 +231,11 @@ public class WordDocumentParser implements DocumentParser {
                 } else if (element instanceof XWPFTable table) {
                     blockCount++;
                     tableIndex++;
-                    queue.addLast(BlockEvent.block(1, new TableBlock(toTable(table, tableIndex))));
+                    queue.addLast(BlockEvent.block(1, new TableBlock(toTable(table, tableIndex, guard))));
                 }
             }
 
-            while (queue.isEmpty() && pictureIterator.hasNext()) {
+            while (queue.isEmpty() && pictureIterator.hasNext() && guard.allowBlock(1, blockCount + imageIndex)) {
                 XWPFPictureData picData = pictureIterator.next();
                 imageIndex++;
                 queue.addLast(BlockEvent.block(1, new ImageBlock(new ImageElement(
@@ -241,18 +269,33 @@ public class WordDocumentParser implements DocumentParser {
         return metadata;
     }
 
-    private Table toTable(XWPFTable table, int index) {
+    private Table toTable(XWPFTable table, int index, ResourceGuard guard) {
         List<List<String>> rows = new ArrayList<>();
         for (XWPFTableRow row : table.getRows()) {
+            if (!guard.allowRow()) {
+                break;
+            }
             List<String> cells = new ArrayList<>();
             for (XWPFTableCell cell : row.getTableCells()) {
-                cells.add(cell.getText());
+                if (!guard.allowCell()) {
+                    break;
+                }
+                cells.add(guard.limitText(cell.getText()));
             }
             rows.add(cells);
         }
         return new Table("word-table-" + index, 1, rows);
     }
 
+    // Built from the cells toTable already passed through the guard, so table text counts against maxCharacters once.
+    private String tableText(Table table) {
+        StringBuilder text = new StringBuilder();
+        for (List<String> row : table.getRows()) {
+            text.append(String.join("\t", row)).append('\n');
+        }
+        return text.toString();
+    }
+
     private String resolveMimeType(XWPFPictureData picData) {
         if (picData.getPackagePart() != null && picData.getPackagePart().getContentType() != null) {
             return picData.getPackagePart().getContentType();
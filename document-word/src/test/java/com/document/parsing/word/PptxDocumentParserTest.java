@@ -3,6 +3,7 @@ package com.document.parsing.word;
 import com.document.parsing.core.event.BlockEventType;
 import com.document.parsing.core.model.Document;
 import com.document.parsing.core.model.DocumentType;
+import com.document.parsing.core.model.Metadata;
 import com.document.parsing.core.parser.ParseOptions;
 import com.document.parsing.core.parser.ParseRequest;
 import org.apache.poi.sl.usermodel.PictureData;
@@ -14,13 +15,21 @@ import org.apache.poi.xslf.usermodel.XSLFTable;
 import org.apache.poi.xslf.usermodel.XSLFTableRow;
 import org.apache.poi.xslf.usermodel.XSLFTextBox;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import javax.imageio.ImageIO;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -79,6 +88,68 @@ class PptxDocumentParserTest {
         assertThat(eventTypes).contains(BlockEventType.PAGE_START, BlockEventType.BLOCK, BlockEventType.PAGE_END);
     }
 
+    @Test
+    void shouldProbeSlideCountAndCorePropertiesWithoutParsingSlides(@TempDir Path tempDir) throws Exception {
+        byte[] pptx = createPptx();
+        Path file = Files.write(tempDir.resolve("probe.pptx"), pptx);
+        PptxDocumentParser parser = new PptxDocumentParser();
+
+        Metadata fromStream = parser.probe(ParseRequest.builder()
+            .stream(new ByteArrayInputStream(pptx))
+            .fileName("probe.pptx")
+            .hintedType(DocumentType.PPTX)
+            .build()).orElseThrow();
+        Metadata fromFile = parser.probe(ParseRequest.builder()
+            .stream(new ByteArrayInputStream(new byte[0]))
+            .fileName("probe.pptx")
+            .hintedType(DocumentType.PPTX)
+            .sourceFile(file)
+            .build()).orElseThrow();
+
+        for (Metadata metadata : List.of(fromStream, fromFile)) {
+            assertThat(metadata.getSlideCount()).isEqualTo(2);
+            assertThat(metadata.getPageCount()).isEqualTo(2);
+            assertThat(metadata.getTitle()).isEqualTo("Quarterly review");
+            assertThat(metadata.getAuthor()).isEqualTo("Planning team");
+            assertThat(metadata.getEncrypted()).isFalse();
+        }
+    }
+
+    @Test
+    void shouldProbeStreamWithoutInflatingUnreadParts() throws Exception {
+        // The extra part fails its CRC check, so it must never be inflated for the probe to succeed.
+        byte[] media = new byte[64 * 1024];
+        CRC32 crc = new CRC32();
+        crc.update(media);
+        ByteArrayOutputStream repacked = new ByteArrayOutputStream();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(createPptx()));
+             ZipOutputStream out = new ZipOutputStream(repacked)) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                in.transferTo(out);
+            }
+            ZipEntry stored = new ZipEntry("ppt/media/corrupt.bin");
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(media.length);
+            stored.setCrc(crc.getValue());
+            out.putNextEntry(stored);
+            out.write(media);
+        }
+        byte[] pptx = repacked.toByteArray();
+        String name = "ppt/media/corrupt.bin";
+        int header = new String(pptx, StandardCharsets.ISO_8859_1).indexOf(name);
+        pptx[header + name.length() + 100] = 1;
+
+        Metadata metadata = new PptxDocumentParser().probe(ParseRequest.builder()
+            .stream(new ByteArrayInputStream(pptx))
+            .fileName("probe.pptx")
+            .hintedType(DocumentType.PPTX)
+            .build()).orElseThrow();
+
+        assertThat(metadata.getSlideCount()).isEqualTo(2);
+        assertThat(metadata.getTitle()).isEqualTo("Quarterly review");
+    }
+
     private byte[] createPptx() throws Exception {
         try (XMLSlideShow slideShow = new XMLSlideShow();
              ByteArrayOutputStream out = new ByteArrayOutputStream()) {
@@ -106,6 +177,9 @@ class PptxDocumentParserTest {
             secondText.setAnchor(new Rectangle(40, 40, 480, 60));
             secondText.setText("Second slide");
 
+            slideShow.getProperties().getCoreProperties().setTitle("Quarterly review");
+            slideShow.getProperties().getCoreProperties().setCreator("Planning team");
+
             slideShow.write(out);
             return out.toByteArray();
         }
@@ -1,18 +1,27 @@
 package com.document.parsing.word;
 
 import com.document.parsing.core.event.BlockEventType;
+import com.document.parsing.core.exception.ResourceLimitExceededException;
 import com.document.parsing.core.model.Document;
 import com.document.parsing.core.model.DocumentType;
+import com.document.parsing.core.parser.EmbeddedResource;
+import com.document.parsing.core.parser.ParseOptions;
 import com.document.parsing.core.parser.ParseRequest;
+import com.document.parsing.core.parser.ResourceLimits;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackagingURIHelper;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
 import org.apache.poi.xwpf.usermodel.XWPFTable;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class WordDocumentParserTest {
 
@@ -50,6 +59,100 @@ class WordDocumentParserTest {
         assertThat(types).contains(BlockEventType.PAGE_START, BlockEventType.BLOCK, BlockEventType.PAGE_END);
     }
 
+    @Test
+    void shouldHandEmbeddedPartsToResolver() throws Exception {
+        byte[] docx = createDocxWithEmbeddedPart("/word/embeddings/notes.txt", "embedded notes".getBytes());
+        List<EmbeddedResource> received = new ArrayList<>();
+
+        WordDocumentParser parser = new WordDocumentParser();
+        ParseRequest request = ParseRequest.builder()
+            .stream(new ByteArrayInputStream(docx))
+            .fileName("bundle.docx")
+            .hintedType(DocumentType.DOCX)
+            .options(ParseOptions.builder().embeddedDocumentsEnabled(true).build())
+            .embeddedResolver((parent, resources, warnings) -> {
+                received.addAll(resources);
+                return resources.stream()
+                    .map(resource -> Document.builder().rawText(new String(resource.data())).build())
+                    .toList();
+            })
+            .build();
+
+        Document document = parser.parse(request).getDocument();
+
+        assertThat(received).extracting(EmbeddedResource::name).containsExactly("notes.txt");
+        assertThat(document.getEmbeddedDocuments())
+            .extracting(Document::getRawText)
+            .containsExactly("embedded notes");
+    }
+
+    @Test
+    void shouldRejectArchiveWithTooManyEntries() throws Exception {
+        byte[] docx = createDocx();
+        ParseRequest request = ParseRequest.builder()
+            .stream(new ByteArrayInputStream(docx))
+            .fileName("entries.docx")
+            .hintedType(DocumentType.DOCX)
+            .options(ParseOptions.builder()
+                .resourceLimits(ResourceLimits.builder().maxZipEntries(2).build())
+                .build())
+            .build();
+
+        assertThatThrownBy(() -> new WordDocumentParser().parse(request))
+            .isInstanceOf(ResourceLimitExceededException.class)
+            .hasMessageContaining("entries");
+    }
+
+    @Test
+    void shouldStopInflatingHighlyCompressedEntries() throws Exception {
+        byte[] docx = createDocxWithEmbeddedPart("/word/media/zeros.bin", new byte[16 * 1024 * 1024]);
+        ParseRequest request = ParseRequest.builder()
+            .stream(new ByteArrayInputStream(docx))
+            .fileName("bomb.docx")
+            .hintedType(DocumentType.DOCX)
+            .build();
+
+        assertThatThrownBy(() -> new WordDocumentParser().parse(request))
+            .isInstanceOf(ResourceLimitExceededException.class)
+            .extracting(ex -> ((ResourceLimitExceededException) ex).getLimit())
+            .isEqualTo("maxDecompressionRatio");
+    }
+
+    @Test
+    void shouldCountTableTextAgainstCharacterLimit() throws Exception {
+        byte[] docx;
+        try (XWPFDocument doc = new XWPFDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            XWPFTable table = doc.createTable(1, 1);
+            table.getRow(0).getCell(0).setText("x".repeat(500));
+            doc.write(out);
+            docx = out.toByteArray();
+        }
+        ParseRequest request = ParseRequest.builder()
+            .stream(new ByteArrayInputStream(docx))
+            .fileName("table.docx")
+            .hintedType(DocumentType.DOCX)
+            .options(ParseOptions.builder()
+                .resourceLimits(ResourceLimits.builder().maxCharacters(100).action(ResourceLimits.Action.TRUNCATE).build())
+                .build())
+            .build();
+
+        Document document = new WordDocumentParser().parse(request).getDocument();
+
+        assertThat(document.getRawText().strip()).hasSize(100);
+    }
+
+    private byte[] createDocxWithEmbeddedPart(String partName, byte[] content) throws Exception {
+        try (XWPFDocument doc = new XWPFDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            doc.createParagraph().createRun().setText("Container");
+            PackagePart part = doc.getPackage().createPart(PackagingURIHelper.createPartName(partName), "text/plain");
+            try (OutputStream partOut = part.getOutputStream()) {
+                partOut.write(content);
+            }
+            doc.write(out);
+            return out.toByteArray();
+        }
+    }
+
     private byte[] createDocx() throws Exception {
         try (XWPFDocument doc = new XWPFDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
             doc.createParagraph().createRun().setText("Hello DOCX");